@@ -0,0 +1,46 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.ArenaSkipList;
+import taojava.util.SkipList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty analysis of ArenaSkipLists.  Runs the standard
+ * analysis and then compares heap bytes per element against SkipLists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class ArenaSkipListAnalyzer
+{
+  /**
+   * Estimate the heap bytes per element of sl after adding n random
+   * values to it.  The values themselves are counted, too.
+   */
+  static long bytesPerElement(SortedList<Integer> sl, int n)
+  {
+    Random random = new Random();
+    long before = SortedListAnalyzer.usedMemory();
+    for (int i = 0; i < n; i++)
+      sl.add(random.nextInt(4 * n));
+    long bytes = SortedListAnalyzer.usedMemory() - before;
+    return bytes / Math.max(1, sl.length());
+  } // bytesPerElement(SortedList<Integer>, int)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    SortedListAnalyzer.analyze(pen, new ArenaSkipList<Integer>(), 32000, 20);
+
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    pen.println();
+    pen.printf("Heap bytes per element for %d random adds\n", n);
+    pen.printf("%8s%8s\n", "skip", "arena");
+    pen.printf("%8d%8d\n", bytesPerElement(new SkipList<Integer>(), n),
+               bytesPerElement(new ArenaSkipList<Integer>(), n));
+    pen.close();
+  } // main(String[])
+} // ArenaSkipListAnalyzer
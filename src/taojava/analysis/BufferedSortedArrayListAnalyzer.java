@@ -0,0 +1,94 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.BufferedSortedArrayList;
+import taojava.util.SortedArrayList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty analysis of BufferedSortedArrayLists with several
+ * buffer sizes, next to a SortedArrayList.  For each list, times a
+ * burst of N random adds, then N calls to contains and N calls to get
+ * (with whatever is left in the buffers), then N calls to contains
+ * after a flush, then a burst of N random removes.  The same keys go
+ * to every list.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class BufferedSortedArrayListAnalyzer
+{
+  /**
+   * The buffer sizes we try.
+   */
+  static final int[] BUFFER_SIZES = { 16, 64, 256, 1024, 4096 };
+
+  /**
+   * Run the phases on sl and print a row of times.
+   */
+  static void analyze(PrintWriter pen, String name, SortedList<Integer> sl,
+                      int[] keys, int[] probes)
+  {
+    SimpleTimer[] timers = new SimpleTimer[5];
+    for (int t = 0; t < timers.length; t++)
+      timers[t] = new SimpleTimer();
+
+    timers[0].start();
+    for (int key : keys)
+      sl.add(key);
+    timers[0].stop();
+    int len = sl.length();
+    timers[1].start();
+    for (int probe : probes)
+      sl.contains(probe);
+    timers[1].stop();
+    timers[2].start();
+    for (int probe : probes)
+      sl.get(probe % len);
+    timers[2].stop();
+    if (sl instanceof BufferedSortedArrayList)
+      ((BufferedSortedArrayList<Integer>) sl).flush();
+    timers[3].start();
+    for (int probe : probes)
+      sl.contains(probe);
+    timers[3].stop();
+    timers[4].start();
+    for (int probe : probes)
+      sl.remove(probe);
+    timers[4].stop();
+
+    pen.printf("%-12s", name);
+    for (SimpleTimer timer : timers)
+      pen.printf("%10d", timer.elapsed());
+    pen.println();
+  } // analyze(PrintWriter, String, SortedList<Integer>, int[], int[])
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+    Random random = new Random();
+    int[] keys = new int[n];
+    int[] probes = new int[n];
+    for (int i = 0; i < n; i++)
+      {
+        keys[i] = random.nextInt(4 * n);
+        probes[i] = random.nextInt(4 * n);
+      } // for
+
+    pen.printf("%-12s%10s%10s%10s%10s%10s\n", "buffer", "add", "contains",
+               "get", "flushed", "remove");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        analyze(pen, "array", new SortedArrayList<Integer>(), keys, probes);
+        for (int size : BUFFER_SIZES)
+          analyze(pen, Integer.toString(size),
+                  new BufferedSortedArrayList<Integer>(size), keys, probes);
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // BufferedSortedArrayListAnalyzer
@@ -0,0 +1,75 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import taojava.util.SkipList;
+
+/**
+ * Quick and dirty comparison of ways to load a SkipList.  Times
+ * loading N sorted keys with repeated add and with fromSorted, and
+ * N unsorted keys with repeated add and with fromUnsorted.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class BulkLoadAnalyzer
+{
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+    Random random = new Random();
+    Integer[] unsorted = new Integer[n];
+    for (int i = 0; i < n; i++)
+      unsorted[i] = random.nextInt(4 * n);
+    Integer[] sorted = Arrays.copyOf(unsorted, n);
+    Arrays.sort(sorted);
+
+    pen.printf("Load times for %d keys (ms)\n", n);
+    pen.printf("%8s%12s%8s%14s\n", "add", "fromSorted", "add", "fromUnsorted");
+    pen.printf("%8s%12s%8s%14s\n", "(sorted)", "", "(random)", "");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        long[] times = new long[4];
+        SimpleTimer timer = new SimpleTimer();
+
+        SkipList<Integer> sl = new SkipList<Integer>();
+        timer.start();
+        for (Integer key : sorted)
+          sl.add(key);
+        timer.stop();
+        times[0] = timer.elapsed();
+        timer.reset();
+        sl = null;
+
+        timer.start();
+        sl = SkipList.fromSorted(Arrays.asList(sorted).iterator());
+        timer.stop();
+        times[1] = timer.elapsed();
+        timer.reset();
+        sl = null;
+
+        sl = new SkipList<Integer>();
+        timer.start();
+        for (Integer key : unsorted)
+          sl.add(key);
+        timer.stop();
+        times[2] = timer.elapsed();
+        timer.reset();
+        sl = null;
+
+        timer.start();
+        sl = SkipList.fromUnsorted(unsorted);
+        timer.stop();
+        times[3] = timer.elapsed();
+        sl = null;
+
+        pen.printf("%8d%12d%8d%14d\n", times[0], times[1], times[2], times[3]);
+      } // for
+    pen.close();
+  } // main(String[])
+} // BulkLoadAnalyzer
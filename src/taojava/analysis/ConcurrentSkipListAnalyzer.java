@@ -0,0 +1,125 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import taojava.util.ConcurrentSkipList;
+import taojava.util.SkipList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty analysis of ConcurrentSkipLists.  Runs the standard
+ * (single-threaded) analysis and then compares multi-threaded
+ * throughput against a SkipList guarded by a single lock.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class ConcurrentSkipListAnalyzer
+{
+  /**
+   * The range of keys used in the throughput test.
+   */
+  static final int KEYS = 1 << 20;
+
+  /**
+   * The number of operations each thread performs.
+   */
+  static final int OPS = 1000000;
+
+  /**
+   * Perform OPS operations on sl: 80% contains, 10% add, and 10%
+   * remove, at random keys.  If lock is set, each operation holds the
+   * lock on sl.
+   */
+  static void work(SortedList<Integer> sl, boolean lock)
+  {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < OPS; i++)
+      {
+        int key = random.nextInt(KEYS);
+        int op = random.nextInt(10);
+        if (lock)
+          {
+            synchronized (sl)
+              {
+                operate(sl, op, key);
+              } // synchronized
+          } // if we need the lock
+        else
+          {
+            operate(sl, op, key);
+          } // if we don't need the lock
+      } // for
+  } // work(SortedList<Integer>, boolean)
+
+  /**
+   * Perform one operation.
+   */
+  static void operate(SortedList<Integer> sl, int op, int key)
+  {
+    if (op == 0)
+      sl.add(key);
+    else if (op == 1)
+      sl.remove(key);
+    else
+      sl.contains(key);
+  } // operate(SortedList<Integer>, int, int)
+
+  /**
+   * Fill sl with half of the keys and then time the given number of
+   * threads working on it.  Returns operations per millisecond.
+   */
+  static long throughput(final SortedList<Integer> sl, final boolean lock,
+                         int threads)
+    throws InterruptedException
+  {
+    for (int i = 0; i < KEYS; i += 2)
+      sl.add(i);
+
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++)
+      {
+        workers[t] = new Thread()
+          {
+            public void run()
+            {
+              work(sl, lock);
+            } // run()
+          }; // new Thread
+      } // for
+    SimpleTimer timer = new SimpleTimer();
+    timer.start();
+    for (Thread worker : workers)
+      worker.start();
+    for (Thread worker : workers)
+      worker.join();
+    timer.stop();
+    return ((long) threads * OPS) / Math.max(1, timer.elapsed());
+  } // throughput(SortedList<Integer>, boolean, int)
+
+  public static void main(String[] args)
+    throws Exception
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    SortedListAnalyzer.analyze(pen, new ConcurrentSkipList<Integer>(), 32000,
+                               20);
+
+    // Thread counts come from the command line; by default we double
+    // up to the number of available processors.
+    int cores = Runtime.getRuntime().availableProcessors();
+    int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : cores;
+
+    pen.println();
+    pen.printf("Operations per ms (80%% contains, 10%% add, 10%% remove)\n");
+    pen.printf("%8s%14s%14s\n", "threads", "locked skip", "concurrent");
+    for (int threads = 1; threads <= maxThreads; threads *= 2)
+      {
+        long locked = throughput(new SkipList<Integer>(), true, threads);
+        long concurrent =
+            throughput(new ConcurrentSkipList<Integer>(), false, threads);
+        pen.printf("%8d%14d%14d\n", threads, locked, concurrent);
+      } // for
+    pen.close();
+  } // main(String[])
+} // ConcurrentSkipListAnalyzer
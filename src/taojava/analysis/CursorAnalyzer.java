@@ -0,0 +1,87 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.SkipList;
+
+/**
+ * Quick and dirty comparison of SkipList operations with and without
+ * a cursor.  For sequential, near-sequential, and random key streams,
+ * times N adds, then N lookups of the same stream, first through add
+ * and contains, then through a cursor's insertHere and seek.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class CursorAnalyzer
+{
+  /**
+   * Build a stream of n keys.  Sequential keys ascend by one;
+   * near-sequential keys are within 32 of their position; random keys
+   * are anywhere.
+   */
+  static int[] stream(String kind, int n, Random random)
+  {
+    int[] keys = new int[n];
+    for (int i = 0; i < n; i++)
+      {
+        if (kind.equals("sequential"))
+          keys[i] = i;
+        else if (kind.equals("near"))
+          keys[i] = i + random.nextInt(64) - 32;
+        else
+          keys[i] = random.nextInt(4 * n);
+      } // for
+    return keys;
+  } // stream(String, int, Random)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+    Random random = new Random();
+
+    pen.printf("%-12s%8s%10s%12s%8s\n", "", "add", "contains", "insertHere",
+               "seek");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        for (String kind : new String[] { "sequential", "near", "random" })
+          {
+            int[] keys = stream(kind, n, random);
+            SimpleTimer adds = new SimpleTimer();
+            SimpleTimer finds = new SimpleTimer();
+            SimpleTimer inserts = new SimpleTimer();
+            SimpleTimer seeks = new SimpleTimer();
+
+            SkipList<Integer> plain = new SkipList<Integer>();
+            adds.start();
+            for (int key : keys)
+              plain.add(key);
+            adds.stop();
+            finds.start();
+            for (int key : keys)
+              plain.contains(key);
+            finds.stop();
+            plain = null;
+
+            SkipList<Integer> fingered = new SkipList<Integer>();
+            SkipList<Integer>.Cursor cursor = fingered.cursor();
+            inserts.start();
+            for (int key : keys)
+              cursor.insertHere(key);
+            inserts.stop();
+            seeks.start();
+            for (int key : keys)
+              cursor.seek(key);
+            seeks.stop();
+
+            pen.printf("%-12s%8d%10d%12d%8d\n", kind, adds.elapsed(),
+                       finds.elapsed(), inserts.elapsed(), seeks.elapsed());
+          } // for each kind of stream
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // CursorAnalyzer
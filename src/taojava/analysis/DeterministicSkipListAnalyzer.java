@@ -0,0 +1,152 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import taojava.util.DeterministicSkipList;
+import taojava.util.SkipList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty comparison of the tail latency of SkipList and
+ * DeterministicSkipList.  We time each operation on its own and print
+ * percentiles of the times, in nanoseconds, for two streams.
+ *
+ * The random stream adds, removes, and looks up random values in a
+ * list of about N values.
+ *
+ * The adversarial stream fills a SkipList with N values, then removes
+ * every value whose node reaches above the bottom level (which an
+ * adversary who can see the levels, or time the searches, could do).
+ * What is left is a plain linked list, so each lookup walks about half
+ * of it.  We remove the same values from the DeterministicSkipList,
+ * and then look up random values that remain in both.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class DeterministicSkipListAnalyzer
+{
+  /**
+   * The percentiles we print.
+   */
+  static final double[] PERCENTILES = { 50, 99, 99.9, 99.99, 100 };
+
+  /**
+   * The names of the percentiles, for the heading.
+   */
+  static final String[] NAMES = { "p50", "p99", "p99.9", "p99.99", "max" };
+
+  /**
+   * Print a row with the percentiles of times.
+   */
+  static void report(PrintWriter pen, String name, long[] times)
+  {
+    Arrays.sort(times);
+    pen.printf("%-28s", name);
+    for (double p : PERCENTILES)
+      {
+        int i = (int) Math.ceil(p / 100 * times.length) - 1;
+        pen.printf("%12d", times[Math.max(0, i)]);
+      } // for
+    pen.println();
+  } // report(PrintWriter, String, long[])
+
+  /**
+   * Time ops random operations on sl, whose values are below bound.
+   */
+  static long[] randomStream(SortedList<Integer> sl, int ops, int bound,
+                             Random random)
+  {
+    long[] times = new long[ops];
+    for (int i = 0; i < ops; i++)
+      {
+        int val = random.nextInt(bound);
+        int op = random.nextInt(3);
+        long start = System.nanoTime();
+        if (op == 0)
+          sl.add(val);
+        else if (op == 1)
+          sl.remove(val);
+        else
+          sl.contains(val);
+        times[i] = System.nanoTime() - start;
+      } // for
+    return times;
+  } // randomStream(SortedList<Integer>, int, int, Random)
+
+  /**
+   * Time a call to contains for each of vals.
+   */
+  static long[] lookups(SortedList<Integer> sl, int[] vals)
+  {
+    long[] times = new long[vals.length];
+    for (int i = 0; i < vals.length; i++)
+      {
+        long start = System.nanoTime();
+        sl.contains(vals[i]);
+        times[i] = System.nanoTime() - start;
+      } // for
+    return times;
+  } // lookups(SortedList<Integer>, int[])
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+    int ops = (args.length > 1) ? Integer.parseInt(args[1]) : 20000;
+    int reps = (args.length > 2) ? Integer.parseInt(args[2]) : 3;
+    Random random = new Random();
+
+    pen.printf("%-28s", "");
+    for (String name : NAMES)
+      pen.printf("%12s", name);
+    pen.println();
+    for (int rep = 0; rep < reps; rep++)
+      {
+        // The random stream.  Both lists start with about n values.
+        SkipList<Integer> sl = new SkipList<Integer>();
+        DeterministicSkipList<Integer> dsl =
+            new DeterministicSkipList<Integer>();
+        for (int i = 0; i < n; i++)
+          {
+            int val = random.nextInt(2 * n);
+            sl.add(val);
+            dsl.add(val);
+          } // for
+        report(pen, "SkipList, random", randomStream(sl, ops, 2 * n, random));
+        report(pen, "Deterministic, random",
+               randomStream(dsl, ops, 2 * n, random));
+
+        // The adversarial stream.
+        sl = new SkipList<Integer>();
+        dsl = new DeterministicSkipList<Integer>();
+        for (int i = 0; i < n; i++)
+          {
+            sl.add(i);
+            dsl.add(i);
+          } // for
+        int[] levels = sl.nodeLevels();
+        int[] left = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++)
+          {
+            if (levels[i] > 1)
+              {
+                sl.remove(i);
+                dsl.remove(i);
+              } // if the node is tall
+            else
+              left[count++] = i;
+          } // for
+        int[] vals = new int[ops];
+        for (int i = 0; i < ops; i++)
+          vals[i] = left[random.nextInt(count)];
+        report(pen, "SkipList, adversarial", lookups(sl, vals));
+        report(pen, "Deterministic, adversarial", lookups(dsl, vals));
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // DeterministicSkipListAnalyzer
@@ -0,0 +1,100 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import taojava.util.SkipList;
+import taojava.util.SortedArrayList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty comparison of lookups in a live SkipList, in frozen
+ * copies of it (with and without sort keys), and in a SortedArrayList
+ * with the same values.  Times N calls to contains, N calls to rank,
+ * N calls to get, and N/16 scans of 64 values that start at random
+ * keys.  (We skip get on the live list, which walks from the front.)
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class FrozenAnalyzer
+{
+  /**
+   * Time the lookups on sl and print a row of times.
+   */
+  static void analyze(PrintWriter pen, String name, SortedList<Integer> sl,
+                      boolean get, int n, Random random)
+  {
+    SimpleTimer[] timers = new SimpleTimer[4];
+    for (int t = 0; t < timers.length; t++)
+      timers[t] = new SimpleTimer();
+    int bound = 4 * n;
+
+    timers[0].start();
+    for (int i = 0; i < n; i++)
+      sl.contains(random.nextInt(bound));
+    timers[0].stop();
+    timers[1].start();
+    for (int i = 0; i < n; i++)
+      sl.rank(random.nextInt(bound));
+    timers[1].stop();
+    if (get)
+      {
+        timers[2].start();
+        for (int i = 0; i < n; i++)
+          sl.get(random.nextInt(sl.length()));
+        timers[2].stop();
+      } // if we time get
+    timers[3].start();
+    for (int i = 0; i < n / 16; i++)
+      {
+        Iterator<Integer> it = sl.iterator(random.nextInt(bound));
+        for (int j = 0; (j < 64) && it.hasNext(); j++)
+          it.next();
+      } // for
+    timers[3].stop();
+
+    pen.printf("%-20s", name);
+    for (int t = 0; t < timers.length; t++)
+      {
+        if ((t == 2) && !get)
+          pen.printf("%10s", "-");
+        else
+          pen.printf("%10d", timers[t].elapsed());
+      } // for
+    pen.println();
+  } // analyze(PrintWriter, String, SortedList<Integer>, boolean, ...)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+    Random random = new Random();
+
+    SkipList<Integer> live = new SkipList<Integer>();
+    SkipList<Integer> keyed = new SkipList<Integer>((val) -> val, null);
+    for (int i = 0; i < n; i++)
+      {
+        int val = random.nextInt(4 * n);
+        live.add(val);
+        keyed.add(val);
+      } // for
+    SortedArrayList<Integer> array = new SortedArrayList<Integer>();
+    for (Integer val : live)
+      array.add(val);
+
+    pen.printf("%-20s%10s%10s%10s%10s\n", "", "contains", "rank", "get",
+               "range");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        analyze(pen, "SkipList", live, false, n, random);
+        analyze(pen, "frozen", live.freeze(), true, n, random);
+        analyze(pen, "frozen, sort keys", keyed.freeze(), true, n, random);
+        analyze(pen, "SortedArrayList", array, true, n, random);
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // FrozenAnalyzer
@@ -0,0 +1,90 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.IndexedSkipList;
+import taojava.util.SkipList;
+import taojava.util.SortedArrayList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty analysis of IndexedSkipLists.  Runs the standard
+ * analysis and then compares the cost of lookup by index against
+ * SkipLists and SortedArrayLists at larger sizes.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class IndexedSkipListAnalyzer
+{
+  /**
+   * The number of calls to get at each size.
+   */
+  static final int LOOKUPS = 1000;
+
+  /**
+   * Fill a sorted list with 0 .. n-1.  We add in increasing order so
+   * that even the array-based lists fill quickly.
+   */
+  static void fill(SortedList<Integer> sl, int n)
+  {
+    for (int i = 0; i < n; i++)
+      sl.add(i);
+  } // fill(SortedList<Integer>, int)
+
+  /**
+   * Time LOOKUPS calls to get at random indices.
+   */
+  static long index(SortedList<Integer> sl, Random random)
+  {
+    int len = sl.length();
+    SimpleTimer timer = new SimpleTimer();
+    timer.start();
+    for (int i = 0; i < LOOKUPS; i++)
+      sl.get(random.nextInt(len));
+    timer.stop();
+    return timer.elapsed();
+  } // index(SortedList<Integer>, Random)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    SortedListAnalyzer.analyze(pen, new IndexedSkipList<Integer>(), 32000, 20);
+
+    // Compare lookup by index at sizes given on the command line
+    // (by default, 10^5, 10^6, and 10^7).
+    int[] sizes = new int[] { 100000, 1000000, 10000000 };
+    if (args.length > 0)
+      {
+        sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++)
+          sizes[i] = Integer.parseInt(args[i]);
+      } // if sizes were given
+
+    Random random = new Random();
+    pen.println();
+    pen.printf("%d calls to get (ms)\n", LOOKUPS);
+    pen.printf("%10s%12s%12s%12s\n", "n", "skip", "indexed", "array");
+    for (int n : sizes)
+      {
+        SortedList<Integer> skip = new SkipList<Integer>();
+        fill(skip, n);
+        long skipTime = index(skip, random);
+        skip = null;
+
+        SortedList<Integer> indexed = new IndexedSkipList<Integer>();
+        fill(indexed, n);
+        long indexedTime = index(indexed, random);
+        indexed = null;
+
+        SortedList<Integer> array = new SortedArrayList<Integer>();
+        fill(array, n);
+        long arrayTime = index(array, random);
+        array = null;
+
+        pen.printf("%10d%12d%12d%12d\n", n, skipTime, indexedTime, arrayTime);
+      } // for each size
+    pen.close();
+  } // main(String[])
+} // IndexedSkipListAnalyzer
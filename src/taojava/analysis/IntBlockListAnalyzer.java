@@ -0,0 +1,100 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import taojava.util.IntBlockList;
+import taojava.util.IntSkipList;
+import taojava.util.SortedArrayList;
+
+/**
+ * Quick and dirty comparison of contains on an IntBlockList against
+ * the binary search of a SortedArrayList (which compares boxed
+ * Integers), Arrays.binarySearch on a sorted int[] (the same branching
+ * search, without the boxes), and an IntSkipList.  All hold the same
+ * N random values, and all look up the same N random keys, about a
+ * quarter of which are present.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class IntBlockListAnalyzer
+{
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+    Random random = new Random();
+
+    IntBlockList blocks = new IntBlockList();
+    IntSkipList skips = new IntSkipList();
+    for (int i = 0; i < n; i++)
+      {
+        int val = random.nextInt(4 * n);
+        blocks.add(val);
+        skips.add(val);
+      } // for
+    // Both of the others are quickest to build in order.
+    int[] sorted = new int[blocks.length()];
+    SortedArrayList<Integer> array = new SortedArrayList<Integer>();
+    PrimitiveIterator.OfInt it = blocks.iterator();
+    for (int i = 0; i < sorted.length; i++)
+      {
+        sorted[i] = it.nextInt();
+        array.add(sorted[i]);
+      } // for
+    int[] keys = new int[n];
+    for (int i = 0; i < n; i++)
+      keys[i] = random.nextInt(4 * n);
+
+    pen.printf("ms for %d calls to contains\n", n);
+    pen.printf("%16s%16s%16s%16s\n", "SortedArrayList", "int[] search",
+               "IntSkipList", "IntBlockList");
+    SimpleTimer timer = new SimpleTimer();
+    for (int rep = 0; rep < reps; rep++)
+      {
+        int[] found = new int[4];
+        long[] times = new long[4];
+
+        timer.reset();
+        timer.start();
+        for (int key : keys)
+          found[0] += array.contains(key) ? 1 : 0;
+        timer.stop();
+        times[0] = timer.elapsed();
+
+        timer.reset();
+        timer.start();
+        for (int key : keys)
+          found[1] += (Arrays.binarySearch(sorted, key) >= 0) ? 1 : 0;
+        timer.stop();
+        times[1] = timer.elapsed();
+
+        timer.reset();
+        timer.start();
+        for (int key : keys)
+          found[2] += skips.contains(key) ? 1 : 0;
+        timer.stop();
+        times[2] = timer.elapsed();
+
+        timer.reset();
+        timer.start();
+        for (int key : keys)
+          found[3] += blocks.contains(key) ? 1 : 0;
+        timer.stop();
+        times[3] = timer.elapsed();
+
+        pen.printf("%16d%16d%16d%16d\n", times[0], times[1], times[2],
+                   times[3]);
+        for (int i = 1; i < found.length; i++)
+          {
+            if (found[i] != found[0])
+              pen.println("*** The lists disagree! ***");
+          } // for
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // IntBlockListAnalyzer
@@ -0,0 +1,95 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.GeometricLevels;
+import taojava.util.LevelGenerator;
+import taojava.util.SkipList;
+import taojava.util.SplittableRandomLevels;
+import taojava.util.ThreadLocalRandomLevels;
+
+/**
+ * Quick and dirty comparison of the ways of generating levels.  For
+ * each generator, times N calls to the generator alone and N adds of
+ * random keys to a SkipList that uses it.  "new Random" is the way
+ * SkipList used to do it: a fresh Random for every level.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class LevelGeneratorAnalyzer
+{
+  /**
+   * Levels drawn the way SkipList used to draw them.
+   */
+  static class FreshRandomLevels
+      implements LevelGenerator
+  {
+    /**
+     * The probability of moving up a level.
+     */
+    double probability;
+
+    FreshRandomLevels(double probability)
+    {
+      this.probability = probability;
+    } // FreshRandomLevels(double)
+
+    public int randomLevel(int max)
+    {
+      int level = 1;
+      Random value = new Random();
+      while ((level < max) && (value.nextDouble() < this.probability))
+        {
+          level++;
+        } // while
+      return level;
+    } // randomLevel(int)
+  } // class FreshRandomLevels
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+    String[] names =
+        new String[] { "new Random", "Splittable", "ThreadLocal", "Geometric" };
+    Random random = new Random();
+    int[] keys = new int[n];
+    for (int i = 0; i < n; i++)
+      keys[i] = random.nextInt(4 * n);
+
+    pen.printf("%-12s%10s%10s\n", "", "levels", "adds");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        LevelGenerator[] generators =
+            new LevelGenerator[] { new FreshRandomLevels(.5),
+                                  new SplittableRandomLevels(.5),
+                                  new ThreadLocalRandomLevels(.5),
+                                  new GeometricLevels(.5) };
+        for (int g = 0; g < generators.length; g++)
+          {
+            SimpleTimer levels = new SimpleTimer();
+            levels.start();
+            int sum = 0;
+            for (int i = 0; i < n; i++)
+              sum += generators[g].randomLevel(20);
+            levels.stop();
+
+            SkipList<Integer> sl = new SkipList<Integer>(20, generators[g]);
+            SimpleTimer adds = new SimpleTimer();
+            adds.start();
+            for (int key : keys)
+              sl.add(key);
+            adds.stop();
+            // Print sum so that the loop is not optimized away.
+            pen.printf("%-12s%10d%10d%s\n", names[g], levels.elapsed(),
+                       adds.elapsed(), (sum == 0) ? " " : "");
+          } // for each generator
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // LevelGeneratorAnalyzer
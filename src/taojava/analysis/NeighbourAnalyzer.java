@@ -0,0 +1,119 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.SkipList;
+import taojava.util.SortedArrayList;
+import taojava.util.SortedLinkedList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty comparison of the neighbour queries on the different
+ * sorted lists.  Fills each list with N values, then times M random
+ * probes of the "scan" approach (iterating from the smallest value,
+ * which is what we did before the lists had floor), floor, ceiling,
+ * higher, and lower; M calls to first and last; and M alternating
+ * calls to pollFirst and pollLast.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class NeighbourAnalyzer
+{
+  /**
+   * Find the largest value less than or equal to val by iterating.
+   */
+  static Integer scan(SortedList<Integer> sl, int val)
+  {
+    Integer floor = null;
+    for (Integer lav : sl)
+      {
+        if (lav > val)
+          break;
+        floor = lav;
+      } // for
+    return floor;
+  } // scan(SortedList<Integer>, int)
+
+  /**
+   * Time the queries on one list.
+   */
+  static void analyze(PrintWriter pen, String name, SortedList<Integer> sl,
+                      int n, int m, Random random)
+  {
+    for (int i = 0; i < n; i++)
+      sl.add(random.nextInt(4 * n));
+    int[] probes = new int[m];
+    for (int i = 0; i < m; i++)
+      probes[i] = random.nextInt(4 * n);
+
+    SimpleTimer[] timers = new SimpleTimer[7];
+    for (int t = 0; t < timers.length; t++)
+      timers[t] = new SimpleTimer();
+
+    timers[0].start();
+    for (int probe : probes)
+      scan(sl, probe);
+    timers[0].stop();
+    timers[1].start();
+    for (int probe : probes)
+      sl.floor(probe);
+    timers[1].stop();
+    timers[2].start();
+    for (int probe : probes)
+      sl.ceiling(probe);
+    timers[2].stop();
+    timers[3].start();
+    for (int probe : probes)
+      sl.higher(probe);
+    timers[3].stop();
+    timers[4].start();
+    for (int probe : probes)
+      sl.lower(probe);
+    timers[4].stop();
+    timers[5].start();
+    for (int i = 0; i < m; i++)
+      {
+        sl.first();
+        sl.last();
+      } // for
+    timers[5].stop();
+    timers[6].start();
+    for (int i = 0; i < m; i++)
+      {
+        if (i % 2 == 0)
+          sl.pollFirst();
+        else
+          sl.pollLast();
+      } // for
+    timers[6].stop();
+
+    pen.printf("%-18s", name);
+    for (SimpleTimer timer : timers)
+      pen.printf("%9d", timer.elapsed());
+    pen.println();
+  } // analyze(PrintWriter, String, SortedList<Integer>, int, int, Random)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+    int m = (args.length > 1) ? Integer.parseInt(args[1]) : 2000;
+    int reps = (args.length > 2) ? Integer.parseInt(args[2]) : 3;
+    Random random = new Random();
+
+    pen.printf("%-18s%9s%9s%9s%9s%9s%9s%9s\n", "", "scan", "floor",
+               "ceiling", "higher", "lower", "first/l", "poll");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        analyze(pen, "SkipList", new SkipList<Integer>(), n, m, random);
+        analyze(pen, "SortedArrayList", new SortedArrayList<Integer>(), n, m,
+                random);
+        analyze(pen, "SortedLinkedList", new SortedLinkedList<Integer>(), n,
+                m, random);
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // NeighbourAnalyzer
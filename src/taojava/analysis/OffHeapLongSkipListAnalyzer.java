@@ -0,0 +1,102 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.LongSkipList;
+import taojava.util.OffHeapLongSkipList;
+
+/**
+ * Quick and dirty comparison of OffHeapLongSkipLists against (on-heap)
+ * LongSkipLists.  For each list, times N adds, N calls to contains,
+ * and N removes of random keys, and reports the time the garbage
+ * collectors spent during each phase next to the time for the phase.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class OffHeapLongSkipListAnalyzer
+{
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+    Random random = new Random();
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++)
+      keys[i] = random.nextLong();
+
+    pen.printf("Times (and GC times) in ms for %d keys\n", n);
+    pen.printf("%-10s%8s%6s%10s%6s%8s%6s\n", "", "add", "(gc)", "contains",
+               "(gc)", "remove", "(gc)");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        SimpleTimer timer = new SimpleTimer();
+        long[] times = new long[6];
+        long gc;
+
+        // On the heap
+        LongSkipList heap = new LongSkipList();
+        gc = SortedListAnalyzer.gcTime();
+        timer.start();
+        for (long key : keys)
+          heap.add(key);
+        timer.stop();
+        times[0] = timer.elapsed();
+        times[1] = SortedListAnalyzer.gcTime() - gc;
+        timer.reset();
+        gc = SortedListAnalyzer.gcTime();
+        timer.start();
+        for (long key : keys)
+          heap.contains(key);
+        timer.stop();
+        times[2] = timer.elapsed();
+        times[3] = SortedListAnalyzer.gcTime() - gc;
+        timer.reset();
+        gc = SortedListAnalyzer.gcTime();
+        timer.start();
+        for (long key : keys)
+          heap.remove(key);
+        timer.stop();
+        times[4] = timer.elapsed();
+        times[5] = SortedListAnalyzer.gcTime() - gc;
+        timer.reset();
+        pen.printf("%-10s%8d%6d%10d%6d%8d%6d\n", "heap", times[0], times[1],
+                   times[2], times[3], times[4], times[5]);
+        heap = null;
+
+        // Off the heap
+        OffHeapLongSkipList offHeap = new OffHeapLongSkipList();
+        gc = SortedListAnalyzer.gcTime();
+        timer.start();
+        for (long key : keys)
+          offHeap.add(key);
+        timer.stop();
+        times[0] = timer.elapsed();
+        times[1] = SortedListAnalyzer.gcTime() - gc;
+        timer.reset();
+        gc = SortedListAnalyzer.gcTime();
+        timer.start();
+        for (long key : keys)
+          offHeap.contains(key);
+        timer.stop();
+        times[2] = timer.elapsed();
+        times[3] = SortedListAnalyzer.gcTime() - gc;
+        timer.reset();
+        gc = SortedListAnalyzer.gcTime();
+        timer.start();
+        for (long key : keys)
+          offHeap.remove(key);
+        timer.stop();
+        times[4] = timer.elapsed();
+        times[5] = SortedListAnalyzer.gcTime() - gc;
+        pen.printf("%-10s%8d%6d%10d%6d%8d%6d\n", "off-heap", times[0],
+                   times[1], times[2], times[3], times[4], times[5]);
+        offHeap.close();
+        pen.println();
+      } // for
+    pen.close();
+  } // main(String[])
+} // OffHeapLongSkipListAnalyzer
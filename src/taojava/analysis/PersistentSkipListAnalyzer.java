@@ -0,0 +1,133 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.Random;
+
+import taojava.util.PersistentSkipList;
+import taojava.util.SkipList;
+
+/**
+ * Quick and dirty comparison of snapshots from a PersistentSkipList
+ * with snapshots made by copying a mutable SkipList.  Starting from N
+ * values, we make M random updates and take a snapshot after every K
+ * of them.  We report the time and the bytes allocated per update
+ * (snapshots included), and the time to iterate the first snapshot
+ * once all the updates are done.
+ *
+ * Allocation counts come from com.sun.management.ThreadMXBean, so
+ * they need a HotSpot-style JVM.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class PersistentSkipListAnalyzer
+{
+  /**
+   * The bean that counts allocation.
+   */
+  static final com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /**
+   * Get the number of bytes this thread has allocated so far.
+   */
+  static long allocated()
+  {
+    return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+  } // allocated()
+
+  /**
+   * Print a row of results.
+   */
+  static void report(PrintWriter pen, String name, int k, int m,
+                     SimpleTimer update, long bytes, SimpleTimer read)
+  {
+    pen.printf("%-20s%8d%10d%12d%14d%10d\n", name, k, update.elapsed(),
+               update.elapsed() * 1000000 / m, bytes / m, read.elapsed());
+  } // report(PrintWriter, String, int, int, SimpleTimer, long, ...)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 50000;
+    int m = (args.length > 1) ? Integer.parseInt(args[1]) : 2000;
+    int reps = (args.length > 2) ? Integer.parseInt(args[2]) : 3;
+    int[] intervals = { 1, 10, 100 };
+    Random random = new Random();
+
+    pen.printf("%-20s%8s%10s%12s%14s%10s\n", "", "every", "ms", "ns/update",
+               "bytes/update", "read ms");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        for (int k : intervals)
+          {
+            int[] updates = new int[m];
+            for (int i = 0; i < m; i++)
+              updates[i] = random.nextInt(4 * n);
+
+            // Persistent: every version is a snapshot, so we just keep
+            // the ones we would have copied.
+            PersistentSkipList<Integer> plist =
+                new PersistentSkipList<Integer>();
+            for (int i = 0; i < n; i++)
+              plist = plist.add(2 * random.nextInt(2 * n));
+            PersistentSkipList<Integer> pfirst = null;
+            SimpleTimer update = new SimpleTimer();
+            long bytes = allocated();
+            update.start();
+            for (int i = 0; i < m; i++)
+              {
+                if ((updates[i] & 1) == 0)
+                  plist = plist.remove(updates[i]);
+                else
+                  plist = plist.add(updates[i]);
+                if ((pfirst == null) && ((i + 1) % k == 0))
+                  pfirst = plist;
+              } // for
+            update.stop();
+            bytes = allocated() - bytes;
+            SimpleTimer read = new SimpleTimer();
+            read.start();
+            for (Integer val : pfirst)
+              val.intValue();
+            read.stop();
+            report(pen, "PersistentSkipList", k, m, update, bytes, read);
+
+            // Mutable: copy the list to take a snapshot.
+            SkipList<Integer> list = new SkipList<Integer>();
+            for (int i = 0; i < n; i++)
+              list.add(2 * random.nextInt(2 * n));
+            SkipList<Integer> first = null;
+            update = new SimpleTimer();
+            bytes = allocated();
+            update.start();
+            for (int i = 0; i < m; i++)
+              {
+                if ((updates[i] & 1) == 0)
+                  list.remove(updates[i]);
+                else
+                  list.add(updates[i]);
+                if ((i + 1) % k == 0)
+                  {
+                    SkipList<Integer> snapshot =
+                        SkipList.fromSorted(list.iterator());
+                    if (first == null)
+                      first = snapshot;
+                  } // if
+              } // for
+            update.stop();
+            bytes = allocated() - bytes;
+            read = new SimpleTimer();
+            read.start();
+            for (Integer val : first)
+              val.intValue();
+            read.stop();
+            report(pen, "copied SkipList", k, m, update, bytes, read);
+          } // for each interval
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // PersistentSkipListAnalyzer
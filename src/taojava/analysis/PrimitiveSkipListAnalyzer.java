@@ -0,0 +1,119 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.IntSkipList;
+import taojava.util.LongSkipList;
+import taojava.util.SkipList;
+
+/**
+ * Quick and dirty comparison of IntSkipLists and LongSkipLists against
+ * SkipLists of Integers.  For each list, times N adds, N calls to
+ * contains, and N removes of random keys, and estimates the heap used
+ * per element once the N adds are done.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class PrimitiveSkipListAnalyzer
+{
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+    // Use the same keys for every list.
+    Random random = new Random();
+    int[] keys = new int[n];
+    for (int i = 0; i < n; i++)
+      keys[i] = random.nextInt(4 * n);
+
+    pen.printf("%-10s%8s%10s%8s%12s\n", "", "add", "contains", "remove",
+               "bytes/elt");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        SimpleTimer adds = new SimpleTimer();
+        SimpleTimer finds = new SimpleTimer();
+        SimpleTimer removes = new SimpleTimer();
+        long before;
+        long bytes;
+        int len;
+
+        // Boxed
+        before = SortedListAnalyzer.usedMemory();
+        SkipList<Integer> boxed = new SkipList<Integer>();
+        adds.start();
+        for (int key : keys)
+          boxed.add(key);
+        adds.stop();
+        len = boxed.length();
+        bytes = SortedListAnalyzer.usedMemory() - before;
+        finds.start();
+        for (int key : keys)
+          boxed.contains(key);
+        finds.stop();
+        removes.start();
+        for (int key : keys)
+          boxed.remove(key);
+        removes.stop();
+        pen.printf("%-10s%8d%10d%8d%12d\n", "Integer", adds.elapsed(),
+                   finds.elapsed(), removes.elapsed(),
+                   bytes / Math.max(1, len));
+        boxed = null;
+
+        // Ints
+        adds.reset();
+        finds.reset();
+        removes.reset();
+        before = SortedListAnalyzer.usedMemory();
+        IntSkipList ints = new IntSkipList();
+        adds.start();
+        for (int key : keys)
+          ints.add(key);
+        adds.stop();
+        len = ints.length();
+        bytes = SortedListAnalyzer.usedMemory() - before;
+        finds.start();
+        for (int key : keys)
+          ints.contains(key);
+        finds.stop();
+        removes.start();
+        for (int key : keys)
+          ints.remove(key);
+        removes.stop();
+        pen.printf("%-10s%8d%10d%8d%12d\n", "int", adds.elapsed(),
+                   finds.elapsed(), removes.elapsed(),
+                   bytes / Math.max(1, len));
+        ints = null;
+
+        // Longs
+        adds.reset();
+        finds.reset();
+        removes.reset();
+        before = SortedListAnalyzer.usedMemory();
+        LongSkipList longs = new LongSkipList();
+        adds.start();
+        for (int key : keys)
+          longs.add(key);
+        adds.stop();
+        len = longs.length();
+        bytes = SortedListAnalyzer.usedMemory() - before;
+        finds.start();
+        for (int key : keys)
+          longs.contains(key);
+        finds.stop();
+        removes.start();
+        for (int key : keys)
+          longs.remove(key);
+        removes.stop();
+        pen.printf("%-10s%8d%10d%8d%12d\n", "long", adds.elapsed(),
+                   finds.elapsed(), removes.elapsed(),
+                   bytes / Math.max(1, len));
+        longs = null;
+        pen.println();
+      } // for
+    pen.close();
+  } // main(String[])
+} // PrimitiveSkipListAnalyzer
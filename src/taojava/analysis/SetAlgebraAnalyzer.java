@@ -0,0 +1,100 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.SkipList;
+
+/**
+ * Quick and dirty comparison of set operations on SkipLists.  For
+ * size ratios from 1:1 to 1:10000, times union, intersect, and
+ * difference against the obvious approach of iterating one list and
+ * calling contains and add.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class SetAlgebraAnalyzer
+{
+  /**
+   * Build a list of size random values less than range.
+   */
+  static SkipList<Integer> randomList(int size, int range, Random random)
+  {
+    Integer[] vals = new Integer[size];
+    for (int i = 0; i < size; i++)
+      vals[i] = random.nextInt(range);
+    return SkipList.fromUnsorted(vals);
+  } // randomList(int, int, Random)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+    Random random = new Random();
+
+    pen.printf("Times (ms) with a large list of %d values\n", n);
+    pen.printf("%8s%10s%10s%10s%10s%10s%10s\n", "ratio", "union", "naive",
+               "intersect", "naive", "diff", "naive");
+    SkipList<Integer> large = randomList(n, 2 * n, random);
+    for (int rep = 0; rep < reps; rep++)
+      {
+        for (int ratio = 1; ratio <= 10000; ratio *= 10)
+          {
+            SkipList<Integer> small = randomList(n / ratio, 2 * n, random);
+            long[] times = new long[6];
+            SimpleTimer timer = new SimpleTimer();
+
+            timer.start();
+            SkipList.union(small, large);
+            timer.stop();
+            times[0] = timer.elapsed();
+            timer.reset();
+            timer.start();
+            SkipList<Integer> result = new SkipList<Integer>();
+            for (Integer val : large)
+              result.add(val);
+            for (Integer val : small)
+              result.add(val);
+            timer.stop();
+            times[1] = timer.elapsed();
+            timer.reset();
+
+            timer.start();
+            SkipList.intersect(small, large);
+            timer.stop();
+            times[2] = timer.elapsed();
+            timer.reset();
+            timer.start();
+            result = new SkipList<Integer>();
+            for (Integer val : small)
+              if (large.contains(val))
+                result.add(val);
+            timer.stop();
+            times[3] = timer.elapsed();
+            timer.reset();
+
+            timer.start();
+            SkipList.difference(small, large);
+            timer.stop();
+            times[4] = timer.elapsed();
+            timer.reset();
+            timer.start();
+            result = new SkipList<Integer>();
+            for (Integer val : small)
+              if (!large.contains(val))
+                result.add(val);
+            timer.stop();
+            times[5] = timer.elapsed();
+            result = null;
+
+            pen.printf("%8s%10d%10d%10d%10d%10d%10d\n", "1:" + ratio,
+                       times[0], times[1], times[2], times[3], times[4],
+                       times[5]);
+          } // for each ratio
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // SetAlgebraAnalyzer
@@ -0,0 +1,186 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import taojava.util.SkipList;
+import taojava.util.SkipListMap;
+
+/**
+ * Quick and dirty comparison of SkipListMap with java.util.TreeMap and
+ * with what we did before (a SkipList of keys plus a HashMap of
+ * values).  Runs the same phases as SortedListAnalyzer: N puts of even
+ * keys, N gets, iteration, N puts of odd keys, removal of the even
+ * keys, and removal of the rest.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class SkipListMapAnalyzer
+{
+  /**
+   * The operations we time, so that we can run the same phases on
+   * each kind of map.
+   */
+  static abstract class Target
+  {
+    abstract void put(Integer key, Integer val);
+
+    abstract Integer get(Integer key);
+
+    abstract long sum();
+
+    abstract void remove(Integer key);
+  } // class Target
+
+  /**
+   * Run the phases on target and print a row of times.
+   */
+  static void analyze(PrintWriter pen, String name, Target target, int n,
+                      Random random)
+  {
+    int[] evens = new int[n];
+    int[] odds = new int[n];
+    for (int i = 0; i < n; i++)
+      {
+        evens[i] = 2 * random.nextInt(4 * n);
+        odds[i] = 1 + 2 * random.nextInt(4 * n);
+      } // for
+
+    SimpleTimer[] timers = new SimpleTimer[6];
+    for (int t = 0; t < timers.length; t++)
+      timers[t] = new SimpleTimer();
+
+    timers[0].start();
+    for (int key : evens)
+      target.put(key, key);
+    timers[0].stop();
+    timers[1].start();
+    for (int i = 0; i < n; i++)
+      target.get(evens[random.nextInt(n)]);
+    timers[1].stop();
+    timers[2].start();
+    target.sum();
+    timers[2].stop();
+    timers[3].start();
+    for (int key : odds)
+      target.put(key, key);
+    timers[3].stop();
+    timers[4].start();
+    for (int key : evens)
+      target.remove(key);
+    timers[4].stop();
+    timers[5].start();
+    for (int key : odds)
+      target.remove(key);
+    timers[5].stop();
+
+    pen.printf("%-20s", name);
+    for (SimpleTimer timer : timers)
+      pen.printf("%8d", timer.elapsed());
+    pen.println();
+  } // analyze(PrintWriter, String, Target, int, Random)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+    Random random = new Random();
+
+    pen.printf("%-20s%8s%8s%8s%8s%8s%8s\n", "", "put/1", "get", "iterate",
+               "put/2", "rem/1", "rem/2");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        final SkipListMap<Integer, Integer> slm =
+            new SkipListMap<Integer, Integer>();
+        analyze(pen, "SkipListMap", new Target()
+          {
+            void put(Integer key, Integer val)
+            {
+              slm.put(key, val);
+            } // put(Integer, Integer)
+
+            Integer get(Integer key)
+            {
+              return slm.get(key);
+            } // get(Integer)
+
+            long sum()
+            {
+              long sum = 0;
+              for (Map.Entry<Integer, Integer> entry : slm)
+                sum += entry.getValue();
+              return sum;
+            } // sum()
+
+            void remove(Integer key)
+            {
+              slm.remove(key);
+            } // remove(Integer)
+          }, n, random);
+
+        final TreeMap<Integer, Integer> tree = new TreeMap<Integer, Integer>();
+        analyze(pen, "TreeMap", new Target()
+          {
+            void put(Integer key, Integer val)
+            {
+              tree.put(key, val);
+            } // put(Integer, Integer)
+
+            Integer get(Integer key)
+            {
+              return tree.get(key);
+            } // get(Integer)
+
+            long sum()
+            {
+              long sum = 0;
+              for (Map.Entry<Integer, Integer> entry : tree.entrySet())
+                sum += entry.getValue();
+              return sum;
+            } // sum()
+
+            void remove(Integer key)
+            {
+              tree.remove(key);
+            } // remove(Integer)
+          }, n, random);
+
+        final SkipList<Integer> keys = new SkipList<Integer>();
+        final HashMap<Integer, Integer> vals = new HashMap<Integer, Integer>();
+        analyze(pen, "SkipList + HashMap", new Target()
+          {
+            void put(Integer key, Integer val)
+            {
+              keys.add(key);
+              vals.put(key, val);
+            } // put(Integer, Integer)
+
+            Integer get(Integer key)
+            {
+              return keys.contains(key) ? vals.get(key) : null;
+            } // get(Integer)
+
+            long sum()
+            {
+              long sum = 0;
+              for (Integer key : keys)
+                sum += vals.get(key);
+              return sum;
+            } // sum()
+
+            void remove(Integer key)
+            {
+              keys.remove(key);
+              vals.remove(key);
+            } // remove(Integer)
+          }, n, random);
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // SkipListMapAnalyzer
@@ -0,0 +1,140 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+import taojava.util.SkipList;
+
+/**
+ * Quick and dirty comparison of the ways a SkipList can order its
+ * values: by their natural order (compareTo), by a Comparator, and by
+ * cached long sort keys (falling back to compareTo on ties).  Tries
+ * random strings and a small two-field record type.  For each, adds N
+ * values, looks up N values, and removes them all.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class SortKeyAnalyzer
+{
+  /**
+   * A record with two fields, ordered by x and then by y.
+   */
+  static class Point
+      implements Comparable<Point>
+  {
+    final int x;
+
+    final int y;
+
+    Point(int x, int y)
+    {
+      this.x = x;
+      this.y = y;
+    } // Point(int, int)
+
+    public int compareTo(Point other)
+    {
+      int order = Integer.compare(this.x, other.x);
+      return (order != 0) ? order : Integer.compare(this.y, other.y);
+    } // compareTo(Point)
+
+    /**
+     * A key that orders points exactly: x in the high 32 bits, and y
+     * (shifted to be nonnegative) in the low 32.
+     */
+    static long key(Point point)
+    {
+      return ((long) point.x << 32) | ((long) point.y - Integer.MIN_VALUE);
+    } // key(Point)
+  } // class Point
+
+  /**
+   * A key made of the first three characters of str (16 bits each),
+   * padded with zeros.
+   */
+  static long prefixKey(String str)
+  {
+    long key = 0;
+    for (int i = 0; i < 3; i++)
+      key = (key << 16) | ((i < str.length()) ? str.charAt(i) : 0);
+    return key;
+  } // prefixKey(String)
+
+  /**
+   * Time adding, finding, and removing vals in sl, and print a row of
+   * times.
+   */
+  static <T extends Comparable<T>> void analyze(PrintWriter pen,
+                                                String name,
+                                                SkipList<T> sl, T[] vals,
+                                                Random random)
+  {
+    SimpleTimer[] timers = new SimpleTimer[3];
+    for (int t = 0; t < timers.length; t++)
+      timers[t] = new SimpleTimer();
+
+    timers[0].start();
+    for (T val : vals)
+      sl.add(val);
+    timers[0].stop();
+    timers[1].start();
+    for (int i = 0; i < vals.length; i++)
+      sl.contains(vals[random.nextInt(vals.length)]);
+    timers[1].stop();
+    timers[2].start();
+    for (T val : vals)
+      sl.remove(val);
+    timers[2].stop();
+
+    pen.printf("%-24s", name);
+    for (SimpleTimer timer : timers)
+      pen.printf("%10d", timer.elapsed());
+    pen.println();
+  } // analyze(PrintWriter, String, SkipList<T>, T[], Random)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 500000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+    Random random = new Random();
+
+    String[] strings = new String[n];
+    Point[] points = new Point[n];
+    for (int i = 0; i < n; i++)
+      {
+        char[] chars = new char[12];
+        for (int c = 0; c < chars.length; c++)
+          chars[c] = (char) ('a' + random.nextInt(26));
+        strings[i] = new String(chars);
+        points[i] = new Point(random.nextInt(1000), random.nextInt());
+      } // for
+    Comparator<String> byString = Comparator.naturalOrder();
+    Comparator<Point> byPoint =
+        Comparator.comparingInt((Point p) -> p.x).thenComparingInt((p) -> p.y);
+    ToLongFunction<String> stringKey = SortKeyAnalyzer::prefixKey;
+    ToLongFunction<Point> pointKey = Point::key;
+
+    pen.printf("%-24s%10s%10s%10s\n", "", "add", "contains", "remove");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        analyze(pen, "String compareTo", new SkipList<String>(), strings,
+                random);
+        analyze(pen, "String Comparator", new SkipList<String>(byString),
+                strings, random);
+        analyze(pen, "String sort key",
+                new SkipList<String>(stringKey, null), strings, random);
+        analyze(pen, "Point compareTo", new SkipList<Point>(), points,
+                random);
+        analyze(pen, "Point Comparator", new SkipList<Point>(byPoint),
+                points, random);
+        analyze(pen, "Point sort key", new SkipList<Point>(pointKey, null),
+                points, random);
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // SortKeyAnalyzer
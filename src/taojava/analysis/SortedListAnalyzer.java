@@ -2,6 +2,9 @@ package taojava.analysis;
 
 import java.io.PrintWriter;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
 import java.util.Iterator;
 import java.util.Random;
 
@@ -18,14 +21,17 @@ public class SortedListAnalyzer
   /**
    * Run some simple analysis on a SortedList, using N (or multiples 
    * of N) steps.  Adds N random elements, looks up N elements by index,
-   * iterates the list, adds N more elements, removes N elements, removes
-   * N more elements.
+   * iterates the list, scans N short ranges that start at random keys,
+   * asks for N ranks and N range counts, adds N more elements, removes
+   * the (roughly N) even elements in one pass, removes the rest through
+   * the iterator.
    * 
    * @return data
    *   An array containing 0: overall time; 1: time for first N adds;
    *   2: time for N calls to index; 3: time for iteration; 4: time
    *   for next N adds; 5: time for first N removes; 6: time for next
-   *   N removes.
+   *   N removes; 7: time for N range scans; 8: time for N ranks and
+   *   N counts.
    */
   public static long[] analyze(SortedList<Integer> sl, int n)
   {
@@ -37,6 +43,8 @@ public class SortedListAnalyzer
     SimpleTimer adds1 = new SimpleTimer(); // First n adds
     SimpleTimer indices = new SimpleTimer(); // n calls to get
     SimpleTimer iterate = new SimpleTimer(); // Time to iterate
+    SimpleTimer ranges = new SimpleTimer(); // n short range scans
+    SimpleTimer ranks = new SimpleTimer(); // n ranks and n counts
     SimpleTimer adds2 = new SimpleTimer(); // Next n adds
     SimpleTimer removes1 = new SimpleTimer(); // First n removes
     SimpleTimer removes2 = new SimpleTimer(); // Next n removes
@@ -68,6 +76,27 @@ public class SortedListAnalyzer
       ;
     iterate.stop();
 
+    // Range scans.  Each range covers 32 possible (even) values, so
+    // holds a handful of elements.
+    ranges.start();
+    for (int i = 0; i < n; i++)
+      {
+        int lo = random.nextInt(8 * n);
+        for (Integer val : sl.subList(lo, lo + 64))
+          ;
+      } // for
+    ranges.stop();
+
+    // Ranks and counts
+    ranks.start();
+    for (int i = 0; i < n; i++)
+      {
+        int lo = random.nextInt(8 * n);
+        sl.rank(lo);
+        sl.count(lo, lo + random.nextInt(8 * n));
+      } // for
+    ranks.stop();
+
     // Second set of additions (all odd)
     adds2.start();
     for (int i = 0; i < n; i++)
@@ -78,17 +107,12 @@ public class SortedListAnalyzer
 
     // First set of removals (all even)
     removes1.start();
-    Iterator<Integer> it = sl.iterator();
-    while (it.hasNext())
-      {
-        if (it.next() % 2 == 0)
-          it.remove();
-      } // while (it.hasNext())
-    removes2.stop();
+    sl.removeIf((val) -> val % 2 == 0);
+    removes1.stop();
 
     // Second set of removals
     removes2.start();
-    it = sl.iterator();
+    Iterator<Integer> it = sl.iterator();
     while (it.hasNext())
       {
         it.next();
@@ -100,9 +124,38 @@ public class SortedListAnalyzer
     overall.stop();
     return new long[] { overall.elapsed(), adds1.elapsed(), indices.elapsed(),
                        iterate.elapsed(), adds2.elapsed(), removes1.elapsed(),
-                       removes2.elapsed() };
+                       removes2.elapsed(), ranges.elapsed(), ranks.elapsed() };
   } // analyze(SortedList<Integer>, int)
 
+  /**
+   * Estimate the number of bytes currently in use on the heap.  We
+   * ask for a few garbage collections first so that the estimate
+   * mostly reflects live objects.
+   */
+  public static long usedMemory()
+  {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++)
+      System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  } // usedMemory()
+
+  /**
+   * Get the total time, in milliseconds, that the garbage collectors
+   * have spent collecting so far.
+   */
+  public static long gcTime()
+  {
+    long total = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory
+        .getGarbageCollectorMXBeans())
+      {
+        if (gc.getCollectionTime() > 0)
+          total += gc.getCollectionTime();
+      } // for
+    return total;
+  } // gcTime()
+
   /**
    * Do a few individual analyses, printing out the results of each
    * as well as the average.
@@ -110,22 +163,25 @@ public class SortedListAnalyzer
   public static void analyze(PrintWriter pen, SortedList<Integer> sl, int n,
                              int reps)
   {
-    pen.printf("         %8s%8s%8s%8s%8s%8s%8s\n", "add/1", "index", "iterate",
-               "add/2", "rem/1", "rem/2", "total");
+    pen.printf("         %8s%8s%8s%8s%8s%8s%8s%8s%8s\n", "add/1", "index",
+               "iterate", "range", "rank", "add/2", "rem/1", "rem/2",
+               "total");
 
-    long[] results = new long[7];
+    long[] results = new long[9];
     for (int rep = 0; rep < reps; rep++)
       {
         long[] round = analyze(sl, n);
         for (int i = 0; i < results.length; i++)
           results[i] += round[i];
-        pen.printf("Round %2d %8d%8d%8d%8d%8d%8d%8d\n", rep, round[1], round[2],
-                   round[3], round[4], round[5], round[6], round[0]);
+        pen.printf("Round %2d %8d%8d%8d%8d%8d%8d%8d%8d%8d\n", rep, round[1],
+                   round[2], round[3], round[7], round[8], round[4], round[5],
+                   round[6], round[0]);
       } // for (i)
-    long[] averages = new long[7];
+    long[] averages = new long[9];
     for (int i = 0; i < results.length; i++)
       averages[i] = results[i] / reps;
-    pen.printf("Average  %8d%8d%8d%8d%8d%8d%8d\n", averages[1], averages[2],
-               averages[3], averages[4], averages[5], averages[6], averages[0]);
+    pen.printf("Average  %8d%8d%8d%8d%8d%8d%8d%8d%8d\n", averages[1],
+               averages[2], averages[3], averages[7], averages[8], averages[4],
+               averages[5], averages[6], averages[0]);
   } // analyze(PrintWriter, SortedList<Integer>, int, int)
 } // class SortedListAnalyzer
@@ -0,0 +1,84 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import taojava.util.IndexedSkipList;
+import taojava.util.SkipList;
+import taojava.util.SortedArrayList;
+import taojava.util.SortedList;
+
+/**
+ * Quick and dirty comparison of sequential and parallel reductions
+ * over sorted lists.  Fills each kind of list with 0 .. N-1 and sums
+ * the values (and the values that pass a filter) with stream() and
+ * with parallelStream().  SkipList and SortedArrayList split their
+ * own spliterators; IndexedSkipList uses the default, which splits
+ * by copying runs of its iterator into arrays.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class StreamAnalyzer
+{
+  /**
+   * Time the reductions over sl and print a row of results.
+   */
+  static void analyze(PrintWriter pen, String name, SortedList<Integer> sl)
+  {
+    SimpleTimer[] timers = new SimpleTimer[4];
+    for (int t = 0; t < timers.length; t++)
+      timers[t] = new SimpleTimer();
+    long[] sums = new long[4];
+
+    timers[0].start();
+    sums[0] = sl.stream().mapToLong((val) -> val).sum();
+    timers[0].stop();
+    timers[1].start();
+    sums[1] = sl.parallelStream().mapToLong((val) -> val).sum();
+    timers[1].stop();
+    timers[2].start();
+    sums[2] = sl.stream().filter((val) -> val % 3 == 0)
+                .mapToLong((val) -> val).sum();
+    timers[2].stop();
+    timers[3].start();
+    sums[3] = sl.parallelStream().filter((val) -> val % 3 == 0)
+                .mapToLong((val) -> val).sum();
+    timers[3].stop();
+
+    pen.printf("%-18s", name);
+    for (SimpleTimer timer : timers)
+      pen.printf("%10d", timer.elapsed());
+    if ((sums[0] != sums[1]) || (sums[2] != sums[3]))
+      pen.print("  (sums differ!)");
+    pen.println();
+  } // analyze(PrintWriter, String, SortedList<Integer>)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 10000000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+    pen.printf("%d values, %d processors\n", n,
+               Runtime.getRuntime().availableProcessors());
+    pen.printf("%-18s%10s%10s%10s%10s\n", "", "sum", "par sum", "filter",
+               "par filt");
+
+    SortedList<Integer> skip = new SkipList<Integer>();
+    SortedList<Integer> array = new SortedArrayList<Integer>();
+    SortedList<Integer> indexed = new IndexedSkipList<Integer>();
+    for (int i = 0; i < n; i++)
+      {
+        skip.add(i);
+        array.add(i);
+        indexed.add(i);
+      } // for
+    for (int rep = 0; rep < reps; rep++)
+      {
+        analyze(pen, "SkipList", skip);
+        analyze(pen, "SortedArrayList", array);
+        analyze(pen, "IndexedSkipList", indexed);
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // StreamAnalyzer
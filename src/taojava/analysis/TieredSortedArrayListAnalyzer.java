@@ -0,0 +1,45 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import taojava.util.SortedArrayList;
+import taojava.util.SortedList;
+import taojava.util.TieredSortedArrayList;
+
+/**
+ * Quick and dirty comparison of TieredSortedArrayLists and
+ * SortedArrayLists.  Runs the standard analysis on each, with N
+ * values, and prints the phases side by side.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class TieredSortedArrayListAnalyzer
+{
+  /**
+   * Run one round of the standard analysis on sl and print the times.
+   */
+  static void analyze(PrintWriter pen, String name, SortedList<Integer> sl,
+                      int n)
+  {
+    long[] times = SortedListAnalyzer.analyze(sl, n);
+    pen.printf("%-10s%8d%8d%8d%8d%8d%8d\n", name, times[1], times[4],
+               times[5], times[6], times[2], times[0]);
+  } // analyze(PrintWriter, String, SortedList<Integer>, int)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+    int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+
+    pen.printf("%-10s%8s%8s%8s%8s%8s%8s\n", "", "add/1", "add/2", "rem/1",
+               "rem/2", "index", "total");
+    for (int rep = 0; rep < reps; rep++)
+      {
+        analyze(pen, "array", new SortedArrayList<Integer>(), n);
+        analyze(pen, "tiered", new TieredSortedArrayList<Integer>(), n);
+        pen.println();
+      } // for each repetition
+    pen.close();
+  } // main(String[])
+} // TieredSortedArrayListAnalyzer
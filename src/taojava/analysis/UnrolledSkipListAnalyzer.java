@@ -0,0 +1,76 @@
+package taojava.analysis;
+
+import java.io.PrintWriter;
+
+import java.util.Random;
+
+import taojava.util.SkipList;
+import taojava.util.SortedArrayList;
+import taojava.util.SortedList;
+import taojava.util.UnrolledSkipList;
+
+/**
+ * Quick and dirty analysis of UnrolledSkipLists.  Runs the standard
+ * analysis, then compares heap bytes per element and the times for
+ * one full iteration and N calls to contains against SkipLists and
+ * SortedArrayLists of N values.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class UnrolledSkipListAnalyzer
+{
+  /**
+   * Estimate the heap bytes per element of sl after adding n random
+   * values to it.  The values themselves are counted, too.
+   */
+  static long bytesPerElement(SortedList<Integer> sl, int n)
+  {
+    Random random = new Random();
+    long before = SortedListAnalyzer.usedMemory();
+    for (int i = 0; i < n; i++)
+      sl.add(random.nextInt(4 * n));
+    long bytes = SortedListAnalyzer.usedMemory() - before;
+    return bytes / Math.max(1, sl.length());
+  } // bytesPerElement(SortedList<Integer>, int)
+
+  /**
+   * Fill sl with n random values, then print its bytes per element and
+   * the times for one iteration and n calls to contains.
+   */
+  static void compare(PrintWriter pen, String name, SortedList<Integer> sl,
+                      int n)
+  {
+    Random random = new Random();
+    long bytes = bytesPerElement(sl, n);
+    SimpleTimer iterate = new SimpleTimer();
+    SimpleTimer contains = new SimpleTimer();
+    iterate.start();
+    for (Integer val : sl)
+      ;
+    iterate.stop();
+    contains.start();
+    for (int i = 0; i < n; i++)
+      sl.contains(random.nextInt(4 * n));
+    contains.stop();
+    pen.printf("%-16s%8d%10d%10d\n", name, bytes, iterate.elapsed(),
+               contains.elapsed());
+  } // compare(PrintWriter, String, SortedList<Integer>, int)
+
+  public static void main(String[] args)
+  {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    SortedListAnalyzer.analyze(pen, new UnrolledSkipList<Integer>(), 32000,
+                               20);
+
+    int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+    pen.println();
+    pen.printf("%d random adds\n", n);
+    pen.printf("%-16s%8s%10s%10s\n", "", "bytes", "iterate", "contains");
+    compare(pen, "SkipList", new SkipList<Integer>(), n);
+    compare(pen, "Unrolled (16)", new UnrolledSkipList<Integer>(16), n);
+    compare(pen, "Unrolled (32)", new UnrolledSkipList<Integer>(32), n);
+    compare(pen, "Unrolled (64)", new UnrolledSkipList<Integer>(64), n);
+    compare(pen, "SortedArrayList", new SortedArrayList<Integer>(), n);
+    pen.close();
+  } // main(String[])
+} // UnrolledSkipListAnalyzer
@@ -0,0 +1,116 @@
+package taojava.test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.ArenaSkipList;
+
+/**
+ * Tests of arena skip lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class ArenaSkipListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new ArenaSkipList<Integer>();
+    this.strings = new ArenaSkipList<String>();
+  } // setup
+
+  /**
+   * Remove values through iterators and make sure the list stays
+   * consistent, and that remove needs a fresh call to next.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int round = 0; round < 20; round++)
+      {
+        for (int i = 0; i < 200; i++)
+          {
+            int val = random.nextInt(2000);
+            ints.add(val);
+            expected.add(val);
+          } // for
+        Iterator<Integer> it = ints.iterator();
+        Iterator<Integer> eit = expected.iterator();
+        while (it.hasNext())
+          {
+            assertEquals(eit.next(), it.next());
+            if (random.nextInt(3) == 0)
+              {
+                it.remove();
+                eit.remove();
+              } // if
+          } // while
+        assertEquals(expected.size(), ints.length());
+        for (int val = 0; val < 2000; val++)
+          assertEquals(expected.contains(val), ints.contains(val));
+      } // for
+
+    Iterator<Integer> it = ints.iterator();
+    try
+      {
+        it.remove();
+        fail("removed before calling next");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    it.next();
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed the same element twice");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+  } // iteratorRemoveTest()
+
+  /**
+   * An iterator must not unlink through nodes it saved before the list
+   * changed under it.
+   */
+  @Test
+  public void iteratorStaleTest()
+  {
+    for (int i = 0; i < 10; i += 2)
+      ints.add(i);
+    Iterator<Integer> it = ints.iterator();
+    it.next();
+    it.next();
+    ints.add(1);
+    try
+      {
+        it.remove();
+        fail("removed through a stale iterator");
+      } // try
+    catch (ConcurrentModificationException e)
+      {
+      } // catch
+    try
+      {
+        it.next();
+        fail("advanced through a stale iterator");
+      } // try
+    catch (ConcurrentModificationException e)
+      {
+      } // catch
+    assertEquals(6, ints.length());
+    assertTrue(ints.contains(1));
+    assertTrue(ints.contains(2));
+    assertTrue(inOrder(ints.iterator()));
+  } // iteratorStaleTest()
+} // ArenaSkipListTest
@@ -0,0 +1,78 @@
+package taojava.test;
+
+import java.util.ArrayList;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.BufferedSortedArrayList;
+
+/**
+ * Tests of buffered sorted array lists.  We use small buffers, so that
+ * even short tests merge them.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class BufferedSortedArrayListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new BufferedSortedArrayList<Integer>(4);
+    this.strings = new BufferedSortedArrayList<String>(4);
+  } // setup
+
+  /**
+   * Check reads against a TreeSet while values sit in the buffers, for
+   * several buffer sizes, and again after a flush.
+   */
+  @Test
+  public void bufferTest()
+  {
+    for (int bufferSize : new int[] { 1, 7, 64, 1000 })
+      {
+        BufferedSortedArrayList<Integer> bsal =
+            new BufferedSortedArrayList<Integer>(bufferSize);
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        for (int i = 0; i < 3000; i++)
+          {
+            int val = random.nextInt(800);
+            if (random.nextInt(5) < 3)
+              {
+                bsal.add(val);
+                expected.add(val);
+              } // if we add
+            else
+              {
+                bsal.remove(val);
+                expected.remove(val);
+              } // if we remove
+            assertEquals(expected.contains(val), bsal.contains(val));
+            assertEquals(expected.headSet(val).size(), bsal.rank(val));
+          } // for
+        check(expected, bsal);
+        bsal.flush();
+        check(expected, bsal);
+      } // for each buffer size
+  } // bufferTest()
+
+  /**
+   * Check the contents, get, and rank of bsal against expected.
+   */
+  static void check(TreeSet<Integer> expected,
+                    BufferedSortedArrayList<Integer> bsal)
+  {
+    ArrayList<Integer> vals = new ArrayList<Integer>(expected);
+    assertEquals(vals, toList(bsal));
+    assertEquals(vals.size(), bsal.length());
+    for (int i = 0; i < vals.size(); i++)
+      {
+        assertEquals(vals.get(i), bsal.get(i));
+        assertEquals(i, bsal.rank(vals.get(i)));
+      } // for
+  } // check(TreeSet<Integer>, BufferedSortedArrayList<Integer>)
+} // BufferedSortedArrayListTest
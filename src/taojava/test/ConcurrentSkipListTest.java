@@ -0,0 +1,115 @@
+package taojava.test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.ConcurrentSkipList;
+
+/**
+ * Tests of concurrent skip lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class ConcurrentSkipListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new ConcurrentSkipList<Integer>();
+    this.strings = new ConcurrentSkipList<String>();
+  } // setup
+
+  /**
+   * Have several threads add and then remove interleaved values at
+   * the same time, and make sure that the right values survive.
+   */
+  @Test
+  public void concurrentTest()
+    throws Exception
+  {
+    final int THREADS = 4;
+    final int N = 5000;
+    Thread[] threads = new Thread[THREADS];
+    for (int t = 0; t < THREADS; t++)
+      {
+        final int offset = t;
+        threads[t] = new Thread()
+          {
+            public void run()
+            {
+              for (int i = offset; i < N; i += THREADS)
+                ints.add(i);
+              for (int i = offset; i < N; i += 2 * THREADS)
+                ints.remove(i);
+            } // run()
+          }; // new Thread
+        threads[t].start();
+      } // for
+    for (Thread thread : threads)
+      thread.join();
+
+    for (int i = 0; i < N; i++)
+      {
+        boolean removed = (i % (2 * THREADS)) < THREADS;
+        if (ints.contains(i) == removed)
+          fail("contains(" + i + ") is " + removed);
+      } // for
+    assertEquals(N / 2, ints.length());
+    assertTrue(inOrder(ints.iterator()));
+  } // concurrentTest()
+
+  /**
+   * Have several threads add odd values while others remove the
+   * multiples of three with removeIf, and make sure that the right
+   * values survive.
+   */
+  @Test
+  public void concurrentRemoveIfTest()
+    throws Exception
+  {
+    final int THREADS = 4;
+    final int N = 5000;
+    for (int i = 0; i < N; i += 2)
+      ints.add(i);
+    Thread[] threads = new Thread[THREADS];
+    for (int t = 0; t < THREADS; t++)
+      {
+        final int offset = t;
+        threads[t] = new Thread()
+          {
+            public void run()
+            {
+              if (offset % 2 == 0)
+                {
+                  for (int i = offset + 1; i < N; i += THREADS)
+                    ints.add(i);
+                } // if we add
+              else
+                {
+                  for (int round = 0; round < 10; round++)
+                    ints.removeIf((val) -> val % 3 == 0);
+                } // if we remove
+            } // run()
+          }; // new Thread
+        threads[t].start();
+      } // for
+    for (Thread thread : threads)
+      thread.join();
+    ints.removeIf((val) -> val % 3 == 0);
+
+    int expected = 0;
+    for (int i = 0; i < N; i++)
+      {
+        boolean kept = (i % 3 != 0);
+        if (ints.contains(i) != kept)
+          fail("contains(" + i + ") is " + !kept);
+        if (kept)
+          expected++;
+      } // for
+    assertEquals(expected, ints.length());
+    assertTrue(inOrder(ints.iterator()));
+  } // concurrentRemoveIfTest()
+} // ConcurrentSkipListTest
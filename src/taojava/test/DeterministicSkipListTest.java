@@ -0,0 +1,83 @@
+package taojava.test;
+
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.DeterministicSkipList;
+
+/**
+ * Tests of deterministic skip lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class DeterministicSkipListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new DeterministicSkipList<Integer>();
+    this.strings = new DeterministicSkipList<String>();
+  } // setup
+
+  /**
+   * Add and remove in orders that would be bad for a simple search
+   * tree, checking the contents and the height as we go.  Since gaps
+   * have at least two nodes, there are at most log2(n) + 1 levels
+   * above the bottom.
+   */
+  @Test
+  public void heightTest()
+  {
+    DeterministicSkipList<Integer> dsl = new DeterministicSkipList<Integer>();
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 3000; i++)
+      {
+        dsl.add(i);
+        expected.add(i);
+        assertHeight(dsl);
+      } // for
+    for (int i = 2999; i >= 1000; i -= 2)
+      {
+        dsl.remove(i);
+        expected.remove(i);
+        assertHeight(dsl);
+      } // for
+    for (int i = 0; i < 4000; i++)
+      {
+        int val = random.nextInt(4000);
+        if (random.nextBoolean())
+          {
+            dsl.add(val);
+            expected.add(val);
+          } // if
+        else
+          {
+            dsl.remove(val);
+            expected.remove(val);
+          } // else
+        assertEquals(expected.contains(val), dsl.contains(val));
+        assertHeight(dsl);
+      } // for
+    assertArrayEquals(expected.toArray(), toList(dsl).toArray());
+    for (Integer val : expected)
+      dsl.remove(val);
+    assertEquals(0, dsl.length());
+    assertEquals(0, dsl.height());
+  } // heightTest()
+
+  /**
+   * Check that dsl is no taller than it should be.
+   */
+  static void assertHeight(DeterministicSkipList<Integer> dsl)
+  {
+    int bound = 1;
+    for (int n = dsl.length() + 1; n > 1; n /= 2)
+      bound++;
+    assertTrue(dsl.height() <= bound);
+  } // assertHeight(DeterministicSkipList<Integer>)
+} // DeterministicSkipListTest
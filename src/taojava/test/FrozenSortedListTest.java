@@ -0,0 +1,152 @@
+package taojava.test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import taojava.util.FrozenSortedList;
+import taojava.util.SkipList;
+
+/**
+ * Tests of frozen sorted lists.  (These do not extend SortedListTest,
+ * whose tests add and remove values.)
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class FrozenSortedListTest
+{
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  /**
+   * Freeze lists of every size up to 70, so that we try every shape of
+   * partly full tree, and check the searches against a TreeSet.
+   */
+  @Test
+  public void searchTest()
+  {
+    for (int n = 0; n <= 70; n++)
+      {
+        SkipList<Integer> sl = new SkipList<Integer>();
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        while (expected.size() < n)
+          {
+            int val = 2 * random.nextInt(200);
+            sl.add(val);
+            expected.add(val);
+          } // while
+        check(expected, sl.freeze());
+      } // for
+  } // searchTest()
+
+  /**
+   * Lists with sort keys or comparators freeze in the same order.
+   */
+  @Test
+  public void orderTest()
+  {
+    SkipList<Integer> keyed = new SkipList<Integer>((val) -> val >> 3, null);
+    Comparator<Integer> reverse = Comparator.reverseOrder();
+    SkipList<Integer> reversed = new SkipList<Integer>(reverse);
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    TreeSet<Integer> expectedReversed = new TreeSet<Integer>(reverse);
+    for (int i = 0; i < 500; i++)
+      {
+        int val = random.nextInt(2000) - 1000;
+        keyed.add(val);
+        reversed.add(val);
+        expected.add(val);
+        expectedReversed.add(val);
+      } // for
+    check(expected, keyed.freeze());
+    check(expectedReversed, reversed.freeze());
+    assertSame(reverse, reversed.freeze().spliterator().getComparator());
+  } // orderTest()
+
+  /**
+   * Frozen lists don't change, even when the list they came from does.
+   */
+  @Test
+  public void immutableTest()
+  {
+    SkipList<Integer> sl = new SkipList<Integer>();
+    for (int i = 0; i < 10; i++)
+      sl.add(i);
+    FrozenSortedList<Integer> frozen = sl.freeze();
+    sl.remove(3);
+    sl.add(20);
+    assertTrue(frozen.contains(3));
+    assertFalse(frozen.contains(20));
+    assertEquals(10, frozen.length());
+    try
+      {
+        frozen.add(11);
+        fail("added to a frozen list");
+      } // try
+    catch (UnsupportedOperationException e)
+      {
+      } // catch
+    try
+      {
+        frozen.iterator().remove();
+        fail("removed through an iterator of a frozen list");
+      } // try
+    catch (UnsupportedOperationException e)
+      {
+      } // catch
+    try
+      {
+        frozen.get(10);
+        fail("got a value past the end");
+      } // try
+    catch (IndexOutOfBoundsException e)
+      {
+      } // catch
+  } // immutableTest()
+
+  /**
+   * Check the queries on frozen against expected.  The values are far
+   * enough apart that we can probe between them.
+   */
+  static void check(TreeSet<Integer> expected,
+                    FrozenSortedList<Integer> frozen)
+  {
+    ArrayList<Integer> vals = new ArrayList<Integer>(expected);
+    assertEquals(vals.size(), frozen.length());
+    ArrayList<Integer> actual = new ArrayList<Integer>();
+    for (Integer val : frozen)
+      actual.add(val);
+    assertEquals(vals, actual);
+    for (int i = 0; i < vals.size(); i++)
+      {
+        assertEquals(vals.get(i), frozen.get(i));
+        assertEquals(i, frozen.rank(vals.get(i)));
+      } // for
+    for (int val = -1001; val <= 1001; val++)
+      {
+        assertEquals(expected.contains(val), frozen.contains(val));
+        assertEquals(expected.headSet(val).size(), frozen.rank(val));
+        assertEquals(expected.floor(val), frozen.floor(val));
+        assertEquals(expected.lower(val), frozen.lower(val));
+        assertEquals(expected.ceiling(val), frozen.ceiling(val));
+        assertEquals(expected.higher(val), frozen.higher(val));
+      } // for
+    // Reversed lists need their bounds the other way around.
+    int lo = (expected.comparator() == null) ? -500 : 500;
+    int hi = -lo;
+    int count = 0;
+    for (Integer val : frozen.subList(lo, hi))
+      {
+        assertTrue(expected.subSet(lo, hi).contains(val));
+        count++;
+      } // for
+    assertEquals(expected.subSet(lo, hi).size(), count);
+  } // check(TreeSet<Integer>, FrozenSortedList<Integer>)
+} // class FrozenSortedListTest
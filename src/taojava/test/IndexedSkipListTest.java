@@ -0,0 +1,98 @@
+package taojava.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.IndexedSkipList;
+
+/**
+ * Tests of indexed skip lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class IndexedSkipListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new IndexedSkipList<Integer>();
+    this.strings = new IndexedSkipList<String>();
+  } // setup
+
+  /**
+   * Verify that get agrees with a sorted copy of the values after
+   * a random mix of additions and removals.
+   */
+  @Test
+  public void randomIndexTest()
+  {
+    ArrayList<Integer> vals = new ArrayList<Integer>();
+    for (int i = 0; i < 2000; i++)
+      {
+        int rand = random.nextInt(500);
+        if (random.nextInt(3) > 0)
+          {
+            if (!vals.contains(rand))
+              vals.add(rand);
+            ints.add(rand);
+          } // if we add
+        else
+          {
+            vals.remove((Integer) rand);
+            ints.remove(rand);
+          } // if we remove
+      } // for
+    Collections.sort(vals);
+    assertEquals(vals.size(), ints.length());
+    for (int i = 0; i < vals.size(); i++)
+      assertEquals(vals.get(i), ints.get(i));
+  } // randomIndexTest()
+
+  /**
+   * Remove values through an iterator, and make sure that remove
+   * needs a fresh call to next.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    for (int i = 0; i < 10; i++)
+      ints.add(i);
+    Iterator<Integer> it = ints.iterator();
+    try
+      {
+        it.remove();
+        fail("removed before calling next");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    while (it.hasNext())
+      {
+        if (it.next() % 2 == 0)
+          it.remove();
+      } // while
+    assertEquals(5, ints.length());
+    for (int i = 0; i < 5; i++)
+      assertEquals((Integer) (2 * i + 1), ints.get(i));
+
+    it = ints.iterator();
+    it.next();
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed the same element twice");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertEquals(4, ints.length());
+  } // iteratorRemoveTest()
+} // IndexedSkipListTest
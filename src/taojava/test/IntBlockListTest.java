@@ -0,0 +1,126 @@
+package taojava.test;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.IntBlockList;
+
+/**
+ * Tests of int block lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class IntBlockListTest
+{
+  /**
+   * The list to test.
+   */
+  IntBlockList ints;
+
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  @Before
+  public void setup()
+  {
+    this.ints = new IntBlockList();
+  } // setup
+
+  /**
+   * A really simple test.  Add an element and make sure that it's there.
+   * The extreme values matter, since unused slots hold the largest.
+   */
+  @Test
+  public void simpleTest()
+  {
+    ints.add(5);
+    assertTrue(ints.contains(5));
+    assertFalse(ints.contains(6));
+    assertFalse(ints.contains(Integer.MAX_VALUE));
+    ints.add(Integer.MAX_VALUE);
+    ints.add(Integer.MIN_VALUE);
+    assertTrue(ints.contains(Integer.MAX_VALUE));
+    assertTrue(ints.contains(Integer.MIN_VALUE));
+    assertEquals(Integer.MAX_VALUE, ints.get(2));
+    ints.remove(5);
+    assertFalse(ints.contains(5));
+    assertEquals(2, ints.length());
+  } // simpleTest()
+
+  /**
+   * Compare a random mix of additions and removals (including negative
+   * values) against a TreeSet.  There are enough values to fill several
+   * blocks.
+   */
+  @Test
+  public void randomTest()
+  {
+    TreeSet<Integer> vals = new TreeSet<Integer>();
+    for (int i = 0; i < 5000; i++)
+      {
+        int rand = random.nextInt(1000) - 500;
+        if (random.nextInt(3) > 0)
+          {
+            vals.add(rand);
+            ints.add(rand);
+          } // if we add
+        else
+          {
+            vals.remove(rand);
+            ints.remove(rand);
+          } // if we remove
+        assertEquals(vals.contains(rand), ints.contains(rand));
+      } // for
+    assertEquals(vals.size(), ints.length());
+
+    // The iterator and get should both visit the values in order.
+    Iterator<Integer> expected = vals.iterator();
+    PrimitiveIterator.OfInt it = ints.iterator();
+    int i = 0;
+    while (expected.hasNext())
+      {
+        int val = expected.next();
+        assertTrue(it.hasNext());
+        assertEquals(val, it.nextInt());
+        assertEquals(val, ints.get(i++));
+      } // while
+    assertFalse(it.hasNext());
+  } // randomTest()
+
+  /**
+   * Removing through the iterator keeps its place, even as blocks
+   * merge.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    for (int i = 0; i < 1000; i++)
+      ints.add(i);
+    PrimitiveIterator.OfInt it = ints.iterator();
+    while (it.hasNext())
+      {
+        if (it.nextInt() % 3 != 0)
+          it.remove();
+      } // while
+    assertEquals(334, ints.length());
+    for (int i = 0; i < 1000; i++)
+      assertEquals(i % 3 == 0, ints.contains(i));
+    it = ints.iterator();
+    while (it.hasNext())
+      {
+        it.nextInt();
+        it.remove();
+      } // while
+    assertEquals(0, ints.length());
+    assertFalse(ints.contains(0));
+  } // iteratorRemoveTest()
+} // IntBlockListTest
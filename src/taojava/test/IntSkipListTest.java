@@ -0,0 +1,124 @@
+package taojava.test;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.IntSkipList;
+
+/**
+ * Tests of int skip lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class IntSkipListTest
+{
+  /**
+   * The list to test.
+   */
+  IntSkipList ints;
+
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  @Before
+  public void setup()
+  {
+    this.ints = new IntSkipList();
+  } // setup
+
+  /**
+   * A really simple test.  Add an element and make sure that it's there.
+   */
+  @Test
+  public void simpleTest()
+  {
+    ints.add(5);
+    assertTrue(ints.contains(5));
+    assertFalse(ints.contains(6));
+    ints.remove(5);
+    assertFalse(ints.contains(5));
+  } // simpleTest()
+
+  /**
+   * Compare a random mix of additions and removals (including negative
+   * values) against a TreeSet.
+   */
+  @Test
+  public void randomTest()
+  {
+    TreeSet<Integer> vals = new TreeSet<Integer>();
+    for (int i = 0; i < 2000; i++)
+      {
+        int rand = random.nextInt(1000) - 500;
+        if (random.nextBoolean())
+          {
+            vals.add(rand);
+            ints.add(rand);
+          } // if we add
+        else
+          {
+            vals.remove(rand);
+            ints.remove(rand);
+          } // if we remove
+        assertEquals(vals.contains(rand), ints.contains(rand));
+      } // for
+    assertEquals(vals.size(), ints.length());
+
+    // The iterator and get should both visit the values in order.
+    Iterator<Integer> expected = vals.iterator();
+    PrimitiveIterator.OfInt it = ints.iterator();
+    int i = 0;
+    while (expected.hasNext())
+      {
+        int val = expected.next();
+        assertTrue(it.hasNext());
+        assertEquals(val, it.nextInt());
+        assertEquals(val, ints.get(i++));
+      } // while
+    assertFalse(it.hasNext());
+  } // randomTest()
+
+  /**
+   * remove needs a fresh call to nextInt.  Removing before the first
+   * call must not remove 0, the value the head holds.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    for (int i = 0; i < 5; i++)
+      ints.add(i);
+    PrimitiveIterator.OfInt it = ints.iterator();
+    try
+      {
+        it.remove();
+        fail("removed before calling nextInt");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertTrue(ints.contains(0));
+    assertEquals(0, it.nextInt());
+    assertEquals(1, it.nextInt());
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed the same element twice");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertFalse(ints.contains(1));
+    assertEquals(4, ints.length());
+    assertEquals(2, it.nextInt());
+  } // iteratorRemoveTest()
+} // IntSkipListTest
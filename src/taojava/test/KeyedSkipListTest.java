@@ -0,0 +1,62 @@
+package taojava.test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.SkipList;
+
+/**
+ * Tests of skip lists that search by cached sort keys.  The keys are
+ * deliberately coarse, so that many values share a key and searches
+ * must fall back to comparing the values.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class KeyedSkipListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new SkipList<Integer>((val) -> val >> 4, null);
+    this.strings = new SkipList<String>(KeyedSkipListTest::prefixKey, null);
+  } // setup
+
+  /**
+   * Values with equal keys are still told apart.
+   */
+  @Test
+  public void tieTest()
+  {
+    for (int i = 31; i >= 0; i--)
+      ints.add(i);
+    for (int i = 0; i < 32; i++)
+      {
+        assertTrue(ints.contains(i));
+        assertEquals(i, ints.rank(i));
+      } // for
+    ints.remove(17);
+    assertFalse(ints.contains(17));
+    assertEquals((Integer) 18, ints.ceiling(17));
+    strings.add("abcz");
+    strings.add("abca");
+    strings.add("ab");
+    assertEquals("ab", strings.first());
+    assertEquals("abcz", strings.last());
+  } // tieTest()
+
+  /**
+   * A key made of the first three characters of str (16 bits each),
+   * padded with zeros, so that a string's key is no larger than the
+   * keys of the strings that follow it.
+   */
+  static long prefixKey(String str)
+  {
+    long key = 0;
+    for (int i = 0; i < 3; i++)
+      key = (key << 16) | ((i < str.length()) ? str.charAt(i) : 0);
+    return key;
+  } // prefixKey(String)
+} // class KeyedSkipListTest
@@ -0,0 +1,124 @@
+package taojava.test;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.LongSkipList;
+
+/**
+ * Tests of long skip lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class LongSkipListTest
+{
+  /**
+   * The list to test.
+   */
+  LongSkipList longs;
+
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  @Before
+  public void setup()
+  {
+    this.longs = new LongSkipList();
+  } // setup
+
+  /**
+   * A really simple test.  Add an element and make sure that it's there.
+   */
+  @Test
+  public void simpleTest()
+  {
+    longs.add(5);
+    assertTrue(longs.contains(5));
+    assertFalse(longs.contains(6));
+    longs.remove(5);
+    assertFalse(longs.contains(5));
+  } // simpleTest()
+
+  /**
+   * Compare a random mix of additions and removals (including values
+   * that do not fit in an int) against a TreeSet.
+   */
+  @Test
+  public void randomTest()
+  {
+    TreeSet<Long> vals = new TreeSet<Long>();
+    for (int i = 0; i < 2000; i++)
+      {
+        long rand = random.nextInt(1000) - 500 + ((long) Integer.MAX_VALUE);
+        if (random.nextBoolean())
+          {
+            vals.add(rand);
+            longs.add(rand);
+          } // if we add
+        else
+          {
+            vals.remove(rand);
+            longs.remove(rand);
+          } // if we remove
+        assertEquals(vals.contains(rand), longs.contains(rand));
+      } // for
+    assertEquals(vals.size(), longs.length());
+
+    // The iterator and get should both visit the values in order.
+    Iterator<Long> expected = vals.iterator();
+    PrimitiveIterator.OfLong it = longs.iterator();
+    int i = 0;
+    while (expected.hasNext())
+      {
+        long val = expected.next();
+        assertTrue(it.hasNext());
+        assertEquals(val, it.nextLong());
+        assertEquals(val, longs.get(i++));
+      } // while
+    assertFalse(it.hasNext());
+  } // randomTest()
+
+  /**
+   * remove needs a fresh call to nextLong.  Removing before the first
+   * call must not remove 0, the value the head holds.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    for (int i = 0; i < 5; i++)
+      longs.add(i);
+    PrimitiveIterator.OfLong it = longs.iterator();
+    try
+      {
+        it.remove();
+        fail("removed before calling nextLong");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertTrue(longs.contains(0));
+    assertEquals(0L, it.nextLong());
+    assertEquals(1L, it.nextLong());
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed the same element twice");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertFalse(longs.contains(1));
+    assertEquals(4, longs.length());
+    assertEquals(2L, it.nextLong());
+  } // iteratorRemoveTest()
+} // LongSkipListTest
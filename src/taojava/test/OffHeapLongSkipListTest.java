@@ -0,0 +1,130 @@
+package taojava.test;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.OffHeapLongSkipList;
+
+/**
+ * Tests of off-heap skip lists of longs.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class OffHeapLongSkipListTest
+{
+  /**
+   * The list to test.
+   */
+  OffHeapLongSkipList longs;
+
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  @Before
+  public void setup()
+  {
+    this.longs = new OffHeapLongSkipList();
+  } // setup
+
+  /**
+   * Compare a random mix of additions and removals against a TreeSet.
+   * Enough values to fill several chunks.
+   */
+  @Test
+  public void randomTest()
+  {
+    TreeSet<Long> vals = new TreeSet<Long>();
+    for (int i = 0; i < 200000; i++)
+      {
+        long rand = random.nextInt(100000) - 50000L;
+        if (random.nextInt(3) > 0)
+          {
+            vals.add(rand);
+            longs.add(rand);
+          } // if we add
+        else
+          {
+            vals.remove(rand);
+            longs.remove(rand);
+          } // if we remove
+        assertEquals(vals.contains(rand), longs.contains(rand));
+      } // for
+    assertEquals(vals.size(), longs.length());
+
+    Iterator<Long> expected = vals.iterator();
+    PrimitiveIterator.OfLong it = longs.iterator();
+    while (expected.hasNext())
+      assertEquals((long) expected.next(), it.nextLong());
+    assertFalse(it.hasNext());
+  } // randomTest()
+
+  /**
+   * Make sure that we cannot use a closed list.
+   */
+  @Test
+  public void closeTest()
+  {
+    longs.add(1);
+    longs.close();
+    try
+      {
+        longs.contains(1);
+        fail("contains succeeded on a closed list");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    try
+      {
+        longs.length();
+        fail("length succeeded on a closed list");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+  } // closeTest()
+
+  /**
+   * remove needs a fresh call to nextLong.  Removing before the first
+   * call must not remove 0.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    for (long i = 0; i < 5; i++)
+      longs.add(i);
+    PrimitiveIterator.OfLong it = longs.iterator();
+    try
+      {
+        it.remove();
+        fail("removed before calling nextLong");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertTrue(longs.contains(0));
+    assertEquals(0L, it.nextLong());
+    assertEquals(1L, it.nextLong());
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed the same element twice");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertFalse(longs.contains(1));
+    assertEquals(4, longs.length());
+    assertEquals(2L, it.nextLong());
+  } // iteratorRemoveTest()
+} // OffHeapLongSkipListTest
@@ -0,0 +1,228 @@
+package taojava.test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.PersistentSkipList;
+
+/**
+ * Tests of persistent skip lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class PersistentSkipListTest
+{
+  /**
+   * The empty version we start from.
+   */
+  PersistentSkipList<Integer> empty;
+
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  @Before
+  public void setup()
+  {
+    this.empty = new PersistentSkipList<Integer>();
+  } // setup
+
+  /**
+   * A really simple test.  Updates give new versions and leave the
+   * old ones alone.
+   */
+  @Test
+  public void simpleTest()
+  {
+    PersistentSkipList<Integer> one = empty.add(1);
+    PersistentSkipList<Integer> two = one.add(2);
+    PersistentSkipList<Integer> three = two.remove(1);
+    assertEquals(0, empty.length());
+    assertFalse(empty.contains(1));
+    assertEquals(1, one.length());
+    assertTrue(one.contains(1));
+    assertFalse(one.contains(2));
+    assertEquals(2, two.length());
+    assertEquals((Integer) 2, two.get(1));
+    assertEquals(1, three.length());
+    assertFalse(three.contains(1));
+    assertTrue(three.contains(2));
+    assertSame(three, three.add(2));
+    assertSame(three, three.remove(7));
+  } // simpleTest()
+
+  /**
+   * Make a long history of versions, then check every one against a
+   * copy of the TreeSet made when it was the newest.  Every so often,
+   * update an old version, which branches into a new family.
+   */
+  @Test
+  public void historyTest()
+  {
+    ArrayList<PersistentSkipList<Integer>> versions =
+        new ArrayList<PersistentSkipList<Integer>>();
+    ArrayList<TreeSet<Integer>> expected = new ArrayList<TreeSet<Integer>>();
+    PersistentSkipList<Integer> list = empty;
+    TreeSet<Integer> set = new TreeSet<Integer>();
+    for (int i = 0; i < 2000; i++)
+      {
+        int val = random.nextInt(300);
+        if (random.nextInt(50) == 0)
+          {
+            // Go back to an old version.
+            int which = random.nextInt(versions.size() + 1);
+            if (which < versions.size())
+              {
+                list = versions.get(which);
+                set = new TreeSet<Integer>(expected.get(which));
+              } // if
+          } // if
+        if (random.nextBoolean())
+          {
+            list = list.add(val);
+            set.add(val);
+          } // if
+        else
+          {
+            list = list.remove(val);
+            set.remove(val);
+          } // else
+        versions.add(list);
+        expected.add(new TreeSet<Integer>(set));
+      } // for
+
+    for (int v = 0; v < versions.size(); v++)
+      {
+        PersistentSkipList<Integer> version = versions.get(v);
+        ArrayList<Integer> actual = new ArrayList<Integer>();
+        for (Integer val : version)
+          actual.add(val);
+        assertEquals(new ArrayList<Integer>(expected.get(v)), actual);
+        assertEquals(expected.get(v).size(), version.length());
+        int val = random.nextInt(300);
+        assertEquals(expected.get(v).contains(val), version.contains(val));
+      } // for
+  } // historyTest()
+
+  /**
+   * Readers iterate snapshots on other threads while we keep making
+   * new versions.  Each snapshot holds 0 .. k-1 for some k, so a
+   * reader can tell whether what it saw was a consistent version.
+   */
+  @Test
+  public void concurrentReadTest()
+    throws Exception
+  {
+    final int n = 20000;
+    final AtomicReference<PersistentSkipList<Integer>> latest =
+        new AtomicReference<PersistentSkipList<Integer>>(empty);
+    final AtomicReference<String> problem = new AtomicReference<String>();
+    Thread[] readers = new Thread[4];
+    for (int r = 0; r < readers.length; r++)
+      {
+        readers[r] = new Thread(() ->
+          {
+            PersistentSkipList<Integer> snapshot;
+            do
+              {
+                snapshot = latest.get();
+                int expected = 0;
+                for (Integer val : snapshot)
+                  {
+                    if (val != expected)
+                      problem.set("expected " + expected + ", saw " + val);
+                    expected++;
+                  } // for
+                if (expected != snapshot.length())
+                  problem.set("saw " + expected + " values in a version of "
+                              + snapshot.length());
+              } while (snapshot.length() < n);
+          });
+        readers[r].start();
+      } // for
+
+    PersistentSkipList<Integer> list = empty;
+    for (int i = 0; i < n; i++)
+      {
+        list = list.add(i);
+        latest.set(list);
+      } // for
+    for (Thread reader : readers)
+      reader.join();
+    assertNull(problem.get());
+  } // concurrentReadTest()
+
+  /**
+   * Get checks its bounds.
+   */
+  @Test
+  public void getTest()
+  {
+    PersistentSkipList<Integer> list = empty.add(3).add(1).add(2);
+    for (int i = 0; i < 3; i++)
+      assertEquals((Integer) (i + 1), list.get(i));
+    try
+      {
+        list.get(3);
+        fail("got a value past the end");
+      } // try
+    catch (IndexOutOfBoundsException e)
+      {
+      } // catch
+  } // getTest()
+
+  /**
+   * An old version stays cheap to read however many updates follow
+   * it.
+   */
+  @Test
+  public void oldVersionCostTest()
+  {
+    PersistentSkipList<Integer> old = empty;
+    for (int i = 0; i < 1000; i++)
+      old = old.add(i);
+    long before = containsTime(old);
+
+    PersistentSkipList<Integer> list = old;
+    for (int i = 0; i < 300000; i++)
+      list = list.add(-1).remove(-1);
+    long after = containsTime(old);
+
+    for (int i = 0; i < 1000; i++)
+      assertTrue(old.contains(i));
+    assertFalse(old.contains(-1));
+    assertEquals(1000, old.length());
+    assertTrue("reads went from " + before + "ns to " + after + "ns",
+               after < 10 * before);
+  } // oldVersionCostTest()
+
+  // +---------+---------------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Find about how many nanoseconds it takes to look up each of the
+   * values 0 .. 999 in list, taking the best of several rounds so that
+   * a stray pause does not count.
+   */
+  static long containsTime(PersistentSkipList<Integer> list)
+  {
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < 20; round++)
+      {
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++)
+          list.contains(i);
+        best = Math.min(best, System.nanoTime() - start);
+      } // for
+    return best;
+  } // containsTime(PersistentSkipList<Integer>)
+} // class PersistentSkipListTest
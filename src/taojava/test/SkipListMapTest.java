@@ -0,0 +1,168 @@
+package taojava.test;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.SkipListMap;
+
+/**
+ * Tests of skip list maps.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class SkipListMapTest
+{
+  /**
+   * The map to test.
+   */
+  SkipListMap<Integer, String> map;
+
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  @Before
+  public void setup()
+  {
+    this.map = new SkipListMap<Integer, String>();
+  } // setup
+
+  /**
+   * A really simple test.  Put a few entries and make sure they're
+   * there.
+   */
+  @Test
+  public void simpleTest()
+  {
+    assertNull(map.put(5, "five"));
+    assertEquals("five", map.put(5, "FIVE"));
+    assertEquals("FIVE", map.putIfAbsent(5, "cinq"));
+    assertNull(map.putIfAbsent(6, "six"));
+    assertEquals("FIVE", map.get(5));
+    assertEquals("six", map.get(6));
+    assertNull(map.get(7));
+    assertEquals(2, map.size());
+    assertEquals("FIVE", map.remove(5));
+    assertFalse(map.containsKey(5));
+    assertEquals(1, map.size());
+  } // simpleTest()
+
+  /**
+   * Compare a random mix of operations against a TreeMap.
+   */
+  @Test
+  public void randomTest()
+  {
+    TreeMap<Integer, String> expected = new TreeMap<Integer, String>();
+    for (int i = 0; i < 5000; i++)
+      {
+        int key = random.nextInt(500);
+        String val = Integer.toString(random.nextInt(100));
+        switch (random.nextInt(5))
+          {
+            case 0:
+              assertEquals(expected.put(key, val), map.put(key, val));
+              break;
+            case 1:
+              assertEquals(expected.putIfAbsent(key, val),
+                           map.putIfAbsent(key, val));
+              break;
+            case 2:
+              assertEquals(expected.remove(key), map.remove(key));
+              break;
+            case 3:
+              // Append to the value, or remove it if it gets long.
+              assertEquals(expected.compute(key, (k, v) -> append(v, val)),
+                           map.compute(key, (k, v) -> append(v, val)));
+              break;
+            default:
+              assertEquals(expected.get(key), map.get(key));
+              assertEquals(expected.containsKey(key), map.containsKey(key));
+          } // switch
+        assertEquals(expected.size(), map.size());
+      } // for
+
+    Iterator<Map.Entry<Integer, String>> it = map.iterator();
+    for (Map.Entry<Integer, String> entry : expected.entrySet())
+      {
+        Map.Entry<Integer, String> actual = it.next();
+        assertEquals(entry.getKey(), actual.getKey());
+        assertEquals(entry.getValue(), actual.getValue());
+      } // for
+    assertFalse(it.hasNext());
+  } // randomTest()
+
+  /**
+   * Setting the value of an entry changes the map.
+   */
+  @Test
+  public void setValueTest()
+  {
+    for (int i = 0; i < 10; i++)
+      map.put(i, "x");
+    for (Map.Entry<Integer, String> entry : map)
+      entry.setValue(entry.getKey().toString());
+    for (int i = 0; i < 10; i++)
+      assertEquals(Integer.toString(i), map.get(i));
+  } // setValueTest()
+
+  /**
+   * Remove entries through an iterator, and make sure that remove
+   * needs a fresh call to next.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    for (int i = 0; i < 10; i++)
+      map.put(i, "x");
+    Iterator<Map.Entry<Integer, String>> it = map.iterator();
+    try
+      {
+        it.remove();
+        fail("removed before calling next");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    while (it.hasNext())
+      {
+        if (it.next().getKey() % 2 == 0)
+          it.remove();
+      } // while
+    for (int i = 0; i < 10; i++)
+      assertEquals((i % 2 == 0) ? null : "x", map.get(i));
+
+    it = map.iterator();
+    it.next();
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed the same entry twice");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertNull(map.get(1));
+    assertEquals("x", map.get(3));
+    assertEquals(4, map.size());
+  } // iteratorRemoveTest()
+
+  /**
+   * Append val to old, giving null once the result has more than six
+   * characters.
+   */
+  static String append(String old, String val)
+  {
+    String result = (old == null) ? val : old + val;
+    return (result.length() > 6) ? null : result;
+  } // append(String, String)
+} // class SkipListMapTest
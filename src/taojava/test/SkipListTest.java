@@ -1,8 +1,22 @@
 package taojava.test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
 import org.junit.Before;
+import org.junit.Test;
 
+import taojava.util.GeometricLevels;
+import taojava.util.LevelGenerator;
 import taojava.util.SkipList;
+import taojava.util.SplittableRandomLevels;
 
 /**
  * Tests of sorted array lists.
@@ -18,4 +32,485 @@ extends SortedListTest
     this.ints = new SkipList<Integer>();
     this.strings = new SkipList<String>();
   } // setup
+
+  /**
+   * Build two lists with generators that have the same seed, and make
+   * sure that they have the same shape.
+   */
+  @Test
+  public void seedTest()
+  {
+    SkipList<Integer> a =
+        new SkipList<Integer>(20, new SplittableRandomLevels(.5, 42));
+    SkipList<Integer> b =
+        new SkipList<Integer>(20, new SplittableRandomLevels(.5, 42));
+    SkipList<Integer> c = new SkipList<Integer>(20, new GeometricLevels(.3, 7));
+    SkipList<Integer> d = new SkipList<Integer>(20, new GeometricLevels(.3, 7));
+    for (int i = 0; i < 1000; i++)
+      {
+        int rand = random.nextInt(2000);
+        a.add(rand);
+        b.add(rand);
+        c.add(rand);
+        d.add(rand);
+      } // for
+    assertArrayEquals(a.nodeLevels(), b.nodeLevels());
+    assertArrayEquals(c.nodeLevels(), d.nodeLevels());
+  } // seedTest()
+
+  /**
+   * Make sure that the single-draw generator moves up a level about
+   * as often as it should, both for a power of 1/2 and otherwise.
+   */
+  @Test
+  public void geometricLevelsTest()
+  {
+    double[] probabilities = new double[] { .5, .25, .3 };
+    for (double p : probabilities)
+      {
+        LevelGenerator levels = new GeometricLevels(p);
+        int draws = 100000;
+        int above = 0;
+        for (int i = 0; i < draws; i++)
+          {
+            int level = levels.randomLevel(20);
+            assertTrue((level >= 1) && (level <= 20));
+            if (level > 1)
+              above++;
+          } // for
+        double observed = (double) above / draws;
+        assertTrue("p = " + p + ", observed " + observed,
+                   Math.abs(observed - p) < .01);
+      } // for
+  } // geometricLevelsTest()
+
+  /**
+   * Use a cursor to insert, find, and remove mostly-ascending values,
+   * checking against a TreeSet as we go.
+   */
+  @Test
+  public void cursorTest()
+  {
+    SkipList<Integer> sl = new SkipList<Integer>();
+    SkipList<Integer>.Cursor cursor = sl.cursor();
+    TreeSet<Integer> vals = new TreeSet<Integer>();
+    for (int i = 0; i < 3000; i++)
+      {
+        // Mostly near the last value, sometimes behind it.
+        int val = i + random.nextInt(20) - 15;
+        switch (random.nextInt(4))
+          {
+            case 0:
+              assertEquals(vals.contains(val), cursor.seek(val));
+              assertEquals(vals.ceiling(val), cursor.current());
+              break;
+            case 1:
+              if (cursor.seek(val))
+                {
+                  cursor.removeHere();
+                  vals.remove(val);
+                } // if val is there to remove
+              assertEquals(vals.ceiling(val), cursor.current());
+              break;
+            default:
+              cursor.insertHere(val);
+              vals.add(val);
+              assertEquals(val, (int) cursor.current());
+              break;
+          } // switch
+        // Every so often, change the list behind the cursor's back.
+        if (random.nextInt(50) == 0)
+          {
+            sl.add(i);
+            vals.add(i);
+          } // if
+      } // for
+    assertEquals(vals.size(), sl.length());
+
+    // Step through the whole list with next.
+    cursor.seek(Integer.MIN_VALUE);
+    for (Integer val : vals)
+      {
+        assertEquals(val, cursor.current());
+        cursor.next();
+      } // for
+    assertNull(cursor.current());
+  } // cursorTest()
+
+  /**
+   * Build lists in bulk from sorted (with repeats) and unsorted values,
+   * and make sure that they work like lists built with add.
+   */
+  @Test
+  public void bulkTest()
+  {
+    ArrayList<Integer> vals = new ArrayList<Integer>();
+    for (int i = 0; i < 2000; i++)
+      vals.add(random.nextInt(1000));
+    TreeSet<Integer> expected = new TreeSet<Integer>(vals);
+
+    SkipList<Integer> unsorted =
+        SkipList.fromUnsorted(vals.toArray(new Integer[vals.size()]));
+    Collections.sort(vals);
+    SkipList<Integer> sorted = SkipList.fromSorted(vals.iterator());
+    for (SkipList<Integer> sl : Arrays.asList(sorted, unsorted))
+      {
+        assertEquals(expected.size(), sl.length());
+        assertTrue(inOrder(sl.iterator()));
+        for (int i = 0; i < 1000; i++)
+          assertEquals(expected.contains(i), sl.contains(i));
+        // The list should keep working after the bulk build.
+        sl.add(-1);
+        sl.add(5000);
+        sl.remove(vals.get(0));
+        assertTrue(sl.contains(-1));
+        assertTrue(sl.contains(5000));
+        assertFalse(sl.contains(vals.get(0)));
+        assertTrue(inOrder(sl.iterator()));
+      } // for
+  } // bulkTest()
+
+  /**
+   * Make sure that fromSorted rejects values out of order.
+   */
+  @Test
+  public void bulkOrderTest()
+  {
+    try
+      {
+        SkipList.fromSorted(Arrays.asList("b", "a").iterator());
+        fail("fromSorted accepted values out of order");
+      } // try
+    catch (IllegalArgumentException e)
+      {
+      } // catch
+  } // bulkOrderTest()
+
+  /**
+   * Compare union, intersect, and difference against TreeSets, for
+   * lists of similar sizes and of very different sizes.
+   */
+  @Test
+  public void setAlgebraTest()
+  {
+    int[][] sizes = new int[][] { { 500, 500 }, { 20, 3000 }, { 3000, 20 } };
+    for (int[] size : sizes)
+      {
+        TreeSet<Integer> aVals = new TreeSet<Integer>();
+        TreeSet<Integer> bVals = new TreeSet<Integer>();
+        SkipList<Integer> a = new SkipList<Integer>();
+        SkipList<Integer> b = new SkipList<Integer>();
+        for (int i = 0; i < size[0]; i++)
+          {
+            int rand = random.nextInt(4000);
+            aVals.add(rand);
+            a.add(rand);
+          } // for
+        for (int i = 0; i < size[1]; i++)
+          {
+            int rand = random.nextInt(4000);
+            bVals.add(rand);
+            b.add(rand);
+          } // for
+
+        TreeSet<Integer> union = new TreeSet<Integer>(aVals);
+        union.addAll(bVals);
+        TreeSet<Integer> intersection = new TreeSet<Integer>(aVals);
+        intersection.retainAll(bVals);
+        TreeSet<Integer> difference = new TreeSet<Integer>(aVals);
+        difference.removeAll(bVals);
+
+        assertArrayEquals(union.toArray(), toArray(SkipList.union(a, b)));
+        assertArrayEquals(intersection.toArray(),
+                          toArray(SkipList.intersect(a, b)));
+        assertArrayEquals(difference.toArray(),
+                          toArray(SkipList.difference(a, b)));
+      } // for
+  } // setAlgebraTest()
+
+  /**
+   * Make sure that every way of changing a list keeps the link widths
+   * right, by checking that each value's rank is its index.
+   */
+  @Test
+  public void spanTest()
+  {
+    ArrayList<Integer> vals = new ArrayList<Integer>();
+    for (int i = 0; i < 2000; i++)
+      vals.add(random.nextInt(10000));
+    Collections.sort(vals);
+    SkipList<Integer> bulk = SkipList.fromSorted(vals.iterator());
+    assertRanks(bulk);
+
+    SkipList<Integer>.Cursor cursor = bulk.cursor();
+    for (int i = 0; i < 500; i++)
+      {
+        cursor.insertHere(random.nextInt(10000));
+        if (cursor.seek(random.nextInt(10000)))
+          cursor.removeHere();
+      } // for
+    assertRanks(bulk);
+
+    for (int i = 0; i < 200; i++)
+      {
+        bulk.pollFirst();
+        bulk.pollLast();
+      } // for
+    assertRanks(bulk);
+
+    SkipList<Integer> other = new SkipList<Integer>();
+    for (int i = 0; i < 50; i++)
+      other.add(random.nextInt(10000));
+    assertRanks(SkipList.union(bulk, other));
+    assertRanks(SkipList.intersect(bulk, other));
+    assertRanks(SkipList.difference(bulk, other));
+  } // spanTest()
+
+  /**
+   * Remove values through iterators, including ones that start partway
+   * through the list, and make sure the list stays consistent.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    SkipList<Integer> sl = new SkipList<Integer>();
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 2000; i++)
+      {
+        int val = random.nextInt(5000);
+        sl.add(val);
+        expected.add(val);
+      } // for
+    for (int round = 0; round < 20; round++)
+      {
+        int lo = random.nextInt(5000);
+        Iterator<Integer> it = sl.iterator(lo);
+        Iterator<Integer> eit = expected.tailSet(lo).iterator();
+        while (it.hasNext())
+          {
+            assertEquals(eit.next(), it.next());
+            if (random.nextInt(4) == 0)
+              {
+                it.remove();
+                eit.remove();
+              } // if
+          } // while
+        assertRanks(sl);
+        assertArrayEquals(expected.toArray(), toArray(sl));
+      } // for
+
+    Iterator<Integer> it = sl.iterator();
+    it.next();
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed the same element twice");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+  } // iteratorRemoveTest()
+
+  /**
+   * Split lists at random keys, check both halves, and join them back.
+   */
+  @Test
+  public void splitJoinTest()
+  {
+    SkipList<Integer> sl = new SkipList<Integer>();
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 2000; i++)
+      {
+        int val = random.nextInt(10000);
+        sl.add(val);
+        expected.add(val);
+      } // for
+    for (int i = 0; i < 20; i++)
+      {
+        int key = random.nextInt(10400) - 200;
+        SkipList<Integer> rest = sl.splitAt(key);
+        assertArrayEquals(expected.headSet(key).toArray(), toArray(sl));
+        assertArrayEquals(expected.tailSet(key).toArray(), toArray(rest));
+        assertRanks(sl);
+        assertRanks(rest);
+        if (!expected.contains(key))
+          {
+            rest.add(key);
+            assertRanks(rest);
+            rest.remove(key);
+          } // if
+        sl.join(rest);
+        assertEquals(0, rest.length());
+        assertArrayEquals(expected.toArray(), toArray(sl));
+        assertRanks(sl);
+      } // for
+
+    SkipList<Integer> low = new SkipList<Integer>();
+    low.add(5000);
+    try
+      {
+        low.join(sl);
+        fail("joined overlapping lists");
+      } // try
+    catch (IllegalArgumentException e)
+      {
+      } // catch
+  } // splitJoinTest()
+
+  /**
+   * Split spliterators all the way down.  The pieces should be exactly
+   * sized, reasonably balanced, and cover the list in order.
+   */
+  @Test
+  public void spliteratorTest()
+  {
+    SkipList<Integer> sl = new SkipList<Integer>();
+    for (int i = 0; i < 3000; i++)
+      sl.add(random.nextInt(100000));
+    ArrayList<Integer> vals = new ArrayList<Integer>();
+    split(sl.spliterator(), vals);
+    assertArrayEquals(toArray(sl), vals.toArray());
+
+    Spliterator<Integer> split = sl.spliterator();
+    sl.add(-1);
+    try
+      {
+        split.tryAdvance((val) -> {});
+        fail("advanced after the list changed");
+      } // try
+    catch (java.util.ConcurrentModificationException e)
+      {
+      } // catch
+  } // spliteratorTest()
+
+  /**
+   * Split split until it cannot be split, adding the values of the
+   * pieces to vals in order.
+   */
+  static void split(Spliterator<Integer> split, ArrayList<Integer> vals)
+  {
+    long size = split.estimateSize();
+    Spliterator<Integer> prefix = split.trySplit();
+    if (prefix == null)
+      {
+        assertTrue(size < 2);
+        split.forEachRemaining(vals::add);
+        return;
+      } // if
+    assertEquals(size, prefix.estimateSize() + split.estimateSize());
+    assertTrue(4 * prefix.estimateSize() >= size - 3);
+    assertTrue(2 * prefix.estimateSize() <= size);
+    int before = vals.size();
+    split(prefix, vals);
+    assertEquals(prefix.estimateSize(), 0);
+    assertEquals(before + size - split.estimateSize(), vals.size());
+    split(split, vals);
+  } // split(Spliterator<Integer>, ArrayList<Integer>)
+
+  /**
+   * A list with a comparator keeps its values in that order, and so
+   * do the lists we make from it.
+   */
+  @Test
+  public void comparatorTest()
+  {
+    Comparator<Integer> reverse = Comparator.reverseOrder();
+    SkipList<Integer> sl = new SkipList<Integer>(reverse);
+    TreeSet<Integer> expected = new TreeSet<Integer>(reverse);
+    for (int i = 0; i < 1000; i++)
+      {
+        int val = random.nextInt(2000);
+        if (random.nextInt(3) == 0)
+          {
+            sl.remove(val);
+            expected.remove(val);
+          } // if
+        else
+          {
+            sl.add(val);
+            expected.add(val);
+          } // else
+        assertEquals(expected.contains(val), sl.contains(val));
+      } // for
+    assertArrayEquals(expected.toArray(), toArray(sl));
+    int index = 0;
+    for (Integer val : sl)
+      assertEquals(index++, sl.rank(val));
+    assertEquals(expected.first(), sl.first());
+    assertEquals(expected.ceiling(1000), sl.ceiling(1000));
+    assertEquals(expected.subSet(1500, 500).size(), sl.count(1500, 500));
+    int count = 0;
+    for (Integer val : sl.subList(1500, 500))
+      count++;
+    assertEquals(expected.subSet(1500, 500).size(), count);
+
+    SkipList<Integer> rest = sl.splitAt(1000);
+    assertArrayEquals(expected.tailSet(1000).toArray(), toArray(rest));
+    sl.join(rest);
+    SkipList<Integer> both = SkipList.union(sl, sl);
+    assertArrayEquals(expected.toArray(), toArray(both));
+    try
+      {
+        sl.join(new SkipList<Integer>());
+        fail("joined lists with different orders");
+      } // try
+    catch (IllegalArgumentException e)
+      {
+      } // catch
+  } // comparatorTest()
+
+  /**
+   * Check that the rank of each value in sl is its index, and that
+   * get finds it there.
+   */
+  static void assertRanks(SkipList<Integer> sl)
+  {
+    int index = 0;
+    for (Integer val : sl)
+      {
+        assertEquals(val, sl.get(index));
+        assertEquals(index++, sl.rank(val));
+      } // for
+    assertEquals(sl.length(), index);
+    assertEquals(index, sl.rank(Integer.MAX_VALUE));
+  } // assertRanks(SkipList<Integer>)
+
+  /**
+   * get finds each value by its index and rejects indices outside the
+   * list.
+   */
+  @Test
+  public void getTest()
+  {
+    SkipList<Integer> sl = new SkipList<Integer>();
+    for (int i = 0; i < 2000; i++)
+      sl.add(random.nextInt(5000));
+    for (int i = 0; i < 500; i++)
+      sl.remove(random.nextInt(5000));
+    assertRanks(sl);
+    for (int i : new int[] { -1, sl.length() })
+      {
+        try
+          {
+            sl.get(i);
+            fail("got a value at index " + i);
+          } // try
+        catch (IndexOutOfBoundsException e)
+          {
+          } // catch
+      } // for
+  } // getTest()
+
+  /**
+   * Get the values of a list as an array.
+   */
+  static Object[] toArray(SkipList<Integer> sl)
+  {
+    ArrayList<Integer> vals = new ArrayList<Integer>();
+    for (Integer val : sl)
+      vals.add(val);
+    assertEquals(vals.size(), sl.length());
+    return vals.toArray();
+  } // toArray(SkipList<Integer>)
 } // SkipListTest
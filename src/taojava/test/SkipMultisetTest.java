@@ -0,0 +1,194 @@
+package taojava.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.SkipMultiset;
+
+/**
+ * Tests of skip multisets.  (These do not extend SortedListTest, whose
+ * tests expect repeated values to be dropped.)
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class SkipMultisetTest
+{
+  /**
+   * The multiset to test.
+   */
+  SkipMultiset<Integer> ints;
+
+  /**
+   * A random number generator for the randomized tests.
+   */
+  Random random = new Random();
+
+  @Before
+  public void setup()
+  {
+    this.ints = new SkipMultiset<Integer>();
+  } // setup
+
+  /**
+   * A really simple test.  Add some copies and take them away again.
+   */
+  @Test
+  public void simpleTest()
+  {
+    ints.add(5);
+    ints.add(5, 3);
+    ints.add(7);
+    assertEquals(4, ints.count(5));
+    assertEquals(5, ints.length());
+    assertEquals(2, ints.distinct());
+    assertTrue(ints.removeOne(5));
+    assertEquals(3, ints.count(5));
+    assertEquals(3, ints.removeAll(5));
+    assertFalse(ints.contains(5));
+    assertFalse(ints.removeOne(5));
+    assertEquals(1, ints.length());
+    ints.remove(7);
+    assertEquals(0, ints.length());
+    assertEquals(0, ints.distinct());
+  } // simpleTest()
+
+  /**
+   * Compare a random mix of operations against a TreeMap of counts,
+   * checking iteration, get, and rank with multiplicity.
+   */
+  @Test
+  public void randomTest()
+  {
+    TreeMap<Integer, Integer> counts = new TreeMap<Integer, Integer>();
+    for (int i = 0; i < 2000; i++)
+      {
+        int val = random.nextInt(200);
+        int copies = random.nextInt(4);
+        switch (random.nextInt(3))
+          {
+            case 0:
+              ints.add(val, copies);
+              if (copies > 0)
+                counts.merge(val, copies, Integer::sum);
+              break;
+            case 1:
+              boolean had = counts.containsKey(val);
+              assertEquals(had, ints.removeOne(val));
+              if (had)
+                counts.compute(val, (k, c) -> (c == 1) ? null : c - 1);
+              break;
+            default:
+              Integer old = counts.remove(val);
+              assertEquals((old == null) ? 0 : old, ints.removeAll(val));
+          } // switch
+        assertEquals(counts.containsKey(val) ? counts.get(val) : 0,
+                     ints.count(val));
+      } // for
+
+    ArrayList<Integer> expected = new ArrayList<Integer>();
+    for (Map.Entry<Integer, Integer> entry : counts.entrySet())
+      expected.addAll(Collections.nCopies(entry.getValue(), entry.getKey()));
+    assertEquals(expected.size(), ints.length());
+    assertEquals(counts.size(), ints.distinct());
+
+    ArrayList<Integer> actual = new ArrayList<Integer>();
+    for (Integer val : ints)
+      actual.add(val);
+    assertEquals(expected, actual);
+    for (int i = 0; i < expected.size(); i++)
+      assertEquals(expected.get(i), ints.get(i));
+    for (int val = -1; val <= 200; val++)
+      {
+        int rank = 0;
+        while ((rank < expected.size()) && (expected.get(rank) < val))
+          rank++;
+        assertEquals(rank, ints.rank(val));
+      } // for
+  } // randomTest()
+
+  /**
+   * Removing through the iterator removes one copy at a time.
+   */
+  @Test
+  public void iteratorRemoveTest()
+  {
+    ints.add(1, 2);
+    ints.add(2, 3);
+    ints.add(3, 1);
+    Iterator<Integer> it = ints.iterator();
+    while (it.hasNext())
+      {
+        if (it.next() == 2)
+          it.remove();
+      } // while
+    assertEquals(0, ints.count(2));
+    assertEquals(3, ints.length());
+
+    it = ints.iterator(2);
+    assertEquals((Integer) 3, it.next());
+    assertFalse(it.hasNext());
+    assertEquals((Integer) 1, ints.pollFirst());
+    assertEquals(1, ints.count(1));
+  } // iteratorRemoveTest()
+
+  /**
+   * The iterator removes only what it has returned: remove may not come
+   * twice in a row, or before next.
+   */
+  @Test
+  public void iteratorRemoveTwiceTest()
+  {
+    ints.add(5, 2);
+    ints.add(7);
+    Iterator<Integer> it = ints.iterator();
+    try
+      {
+        it.remove();
+        fail("removed before calling next");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertEquals((Integer) 5, it.next());
+    it.remove();
+    try
+      {
+        it.remove();
+        fail("removed twice after one call to next");
+      } // try
+    catch (IllegalStateException e)
+      {
+      } // catch
+    assertEquals(1, ints.count(5));
+    ArrayList<Integer> rest = new ArrayList<Integer>();
+    while (it.hasNext())
+      rest.add(it.next());
+    assertEquals(Arrays.asList(5, 7), rest);
+  } // iteratorRemoveTwiceTest()
+
+  /**
+   * Negative counts are an error.
+   */
+  @Test
+  public void negativeTest()
+  {
+    try
+      {
+        ints.add(1, -1);
+        fail("added a negative number of copies");
+      } // try
+    catch (IllegalArgumentException e)
+      {
+      } // catch
+  } // negativeTest()
+} // class SkipMultisetTest
@@ -3,6 +3,9 @@ package taojava.test;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -375,4 +378,226 @@ public class SortedListTest
     if (ints.get(2) == null)
       fail("Node is still present; fail");
   } // missingNodeTest()
+
+  /**
+   * Check that range iteration agrees with TreeSet.subSet for random
+   * bounds of each kind.
+   */
+  @Test
+  public void rangeTest()
+  {
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 500; i++)
+      {
+        int val = random.nextInt(1000);
+        ints.add(val);
+        expected.add(val);
+      } // for
+    for (int i = 0; i < 200; i++)
+      {
+        int lo = random.nextInt(1100) - 50;
+        int hi = lo + random.nextInt(100);
+        boolean loInclusive = random.nextBoolean();
+        boolean hiInclusive = random.nextBoolean();
+        ArrayList<Integer> actual = new ArrayList<Integer>();
+        for (Integer val : ints.subList(lo, loInclusive, hi, hiInclusive))
+          actual.add(val);
+        assertEquals(new ArrayList<Integer>(expected.subSet(lo, loInclusive,
+                                                            hi, hiInclusive)),
+                     actual);
+        Iterator<Integer> it = ints.iterator(lo);
+        for (Integer val : expected.tailSet(lo))
+          assertEquals(val, it.next());
+        assertFalse(it.hasNext());
+      } // for
+    ArrayList<Integer> all = new ArrayList<Integer>();
+    for (Integer val : ints.subList(null, null))
+      all.add(val);
+    assertEquals(new ArrayList<Integer>(expected), all);
+  } // rangeTest()
+
+  /**
+   * Check the neighbour queries against the corresponding TreeSet
+   * methods.
+   */
+  @Test
+  public void neighbourTest()
+  {
+    assertNull(ints.first());
+    assertNull(ints.last());
+    assertNull(ints.pollFirst());
+    assertNull(ints.pollLast());
+    assertNull(ints.floor(5));
+    assertNull(ints.ceiling(5));
+
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 300; i++)
+      {
+        int val = 2 * random.nextInt(500);
+        ints.add(val);
+        expected.add(val);
+      } // for
+    for (int probe = -2; probe < 1002; probe++)
+      {
+        assertEquals(expected.floor(probe), ints.floor(probe));
+        assertEquals(expected.lower(probe), ints.lower(probe));
+        assertEquals(expected.ceiling(probe), ints.ceiling(probe));
+        assertEquals(expected.higher(probe), ints.higher(probe));
+      } // for
+    while (!expected.isEmpty())
+      {
+        assertEquals(expected.first(), ints.first());
+        assertEquals(expected.last(), ints.last());
+        if (random.nextBoolean())
+          assertEquals(expected.pollFirst(), ints.pollFirst());
+        else
+          assertEquals(expected.pollLast(), ints.pollLast());
+        assertEquals(expected.size(), ints.length());
+        assertTrue(inOrder(ints.iterator()));
+      } // while
+    assertNull(ints.pollFirst());
+  } // neighbourTest()
+
+  /**
+   * Check rank and count against TreeSet while adding and removing.
+   */
+  @Test
+  public void rankTest()
+  {
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 600; i++)
+      {
+        int val = random.nextInt(400);
+        if (random.nextInt(3) == 0)
+          {
+            ints.remove(val);
+            expected.remove(val);
+          } // if we remove
+        else
+          {
+            ints.add(val);
+            expected.add(val);
+          } // if we add
+        int lo = random.nextInt(420) - 10;
+        int hi = lo + random.nextInt(100) - 10;
+        assertEquals(expected.headSet(lo).size(), ints.rank(lo));
+        assertEquals((hi < lo) ? 0 : expected.subSet(lo, hi).size(),
+                     ints.count(lo, hi));
+      } // for
+    int index = 0;
+    for (Integer val : ints)
+      assertEquals(index++, ints.rank(val));
+  } // rankTest()
+
+  /**
+   * Check removeIf against TreeSet.removeIf.
+   */
+  @Test
+  public void removeIfTest()
+  {
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 1000; i++)
+      {
+        int val = random.nextInt(2000);
+        ints.add(val);
+        expected.add(val);
+      } // for
+    for (int mod = 7; mod > 0; mod--)
+      {
+        final int m = mod;
+        assertEquals(expected.removeIf((val) -> val % m == 0),
+                     ints.removeIf((val) -> val % m == 0));
+        assertEquals(expected.size(), ints.length());
+        int index = 0;
+        for (Integer val : expected)
+          {
+            assertTrue(ints.contains(val));
+            assertEquals(val, ints.get(index++));
+          } // for
+      } // for
+    assertFalse(ints.removeIf((val) -> true));
+    assertEquals(0, ints.length());
+  } // removeIfTest()
+
+  /**
+   * Check removeRange against clearing TreeSet.subSet.
+   */
+  @Test
+  public void removeRangeTest()
+  {
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 1000; i++)
+      {
+        int val = random.nextInt(5000);
+        ints.add(val);
+        expected.add(val);
+      } // for
+    for (int i = 0; i < 30; i++)
+      {
+        int lo = random.nextInt(5200) - 100;
+        int hi = lo + random.nextInt(400) - 50;
+        int size = expected.size();
+        if (lo < hi)
+          expected.subSet(lo, hi).clear();
+        assertEquals(size - expected.size(), ints.removeRange(lo, hi));
+        assertEquals(expected.size(), ints.length());
+        assertEquals(expected.headSet(hi).size(), ints.rank(hi));
+        for (Integer val : expected)
+          assertTrue(ints.contains(val));
+        int index = 0;
+        for (Integer val : ints)
+          assertEquals(index++, ints.rank(val));
+      } // for
+    expected.headSet(2500).clear();
+    ints.removeRange(null, 2500);
+    assertEquals(new ArrayList<Integer>(expected), toList(ints));
+    ints.removeRange(null, null);
+    assertEquals(0, ints.length());
+  } // removeRangeTest()
+
+  /**
+   * Sequential and parallel streams see the values in order.
+   */
+  @Test
+  public void streamTest()
+  {
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 5000; i++)
+      {
+        int val = random.nextInt(20000);
+        ints.add(val);
+        expected.add(val);
+      } // for
+    long sum = 0;
+    for (Integer val : expected)
+      sum += val;
+    ArrayList<Integer> vals = new ArrayList<Integer>(expected);
+
+    assertEquals(vals, ints.stream().collect(Collectors.toList()));
+    assertEquals(vals, ints.parallelStream().collect(Collectors.toList()));
+    assertEquals(sum, ints.parallelStream().mapToLong((val) -> val).sum());
+    assertEquals(expected.size(), ints.parallelStream().count());
+    assertEquals(expected.headSet(10000).size(),
+                 ints.parallelStream().filter((val) -> val < 10000).count());
+
+    Spliterator<Integer> split = ints.spliterator();
+    assertTrue(split.hasCharacteristics(Spliterator.SORTED));
+    assertTrue(split.hasCharacteristics(Spliterator.DISTINCT));
+    assertTrue(split.hasCharacteristics(Spliterator.ORDERED));
+    assertNull(split.getComparator());
+    // Lists that may change under us cannot promise a size.
+    if (!split.hasCharacteristics(Spliterator.CONCURRENT))
+      assertEquals(expected.size(), split.getExactSizeIfKnown());
+  } // streamTest()
+
+  /**
+   * Get the values of a sorted list as an array list.
+   */
+  static ArrayList<Integer> toList(SortedList<Integer> sl)
+  {
+    ArrayList<Integer> vals = new ArrayList<Integer>();
+    for (Integer val : sl)
+      vals.add(val);
+    return vals;
+  } // toList(SortedList<Integer>)
 } // class SortedListTest
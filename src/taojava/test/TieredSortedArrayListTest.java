@@ -0,0 +1,67 @@
+package taojava.test;
+
+import java.util.ArrayList;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.TieredSortedArrayList;
+
+/**
+ * Tests of tiered sorted array lists.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class TieredSortedArrayListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new TieredSortedArrayList<Integer>();
+    this.strings = new TieredSortedArrayList<String>();
+  } // setup
+
+  /**
+   * Grow the list well past the point where the tiers get larger, and
+   * shrink it back again, checking get against a TreeSet as we go.
+   */
+  @Test
+  public void tierTest()
+  {
+    TreeSet<Integer> expected = new TreeSet<Integer>();
+    for (int i = 0; i < 6000; i++)
+      {
+        int val = random.nextInt(20000);
+        ints.add(val);
+        expected.add(val);
+        if (i % 500 == 0)
+          assertEquals(new ArrayList<Integer>(expected), toList(ints));
+      } // for
+    for (int i = 0; i < 20000; i++)
+      {
+        int val = random.nextInt(20000);
+        if (random.nextInt(4) == 0)
+          {
+            ints.add(val);
+            expected.add(val);
+          } // if we add
+        else
+          {
+            ints.remove(val);
+            expected.remove(val);
+          } // if we remove
+        assertEquals(expected.contains(val), ints.contains(val));
+        if (i % 1000 == 0)
+          {
+            ArrayList<Integer> vals = new ArrayList<Integer>(expected);
+            assertEquals(vals.size(), ints.length());
+            for (int j = 0; j < vals.size(); j++)
+              assertEquals(vals.get(j), ints.get(j));
+          } // if we check everything
+      } // for
+  } // tierTest()
+} // TieredSortedArrayListTest
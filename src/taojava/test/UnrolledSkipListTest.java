@@ -0,0 +1,72 @@
+package taojava.test;
+
+import java.util.ArrayList;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import taojava.util.UnrolledSkipList;
+
+/**
+ * Tests of unrolled skip lists.  We use small blocks, so that even
+ * short tests split and merge blocks.
+ *
+ * @author Samuel A. Rebelsky
+ */
+public class UnrolledSkipListTest
+extends SortedListTest
+{
+  @Before
+  public void setup()
+  {
+    this.ints = new UnrolledSkipList<Integer>(4);
+    this.strings = new UnrolledSkipList<String>(4);
+  } // setup
+
+  /**
+   * Check contents, indices, and ranks against a TreeSet after a
+   * random mix of additions and removals, and check that the blocks
+   * stay at least a quarter full.
+   */
+  @Test
+  public void blockTest()
+  {
+    for (int blockSize : new int[] { 4, 5, 16, 64 })
+      {
+        UnrolledSkipList<Integer> usl =
+            new UnrolledSkipList<Integer>(blockSize);
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        for (int i = 0; i < 5000; i++)
+          {
+            int val = random.nextInt(1000);
+            if (random.nextInt(5) < 3)
+              {
+                usl.add(val);
+                expected.add(val);
+              } // if we add
+            else
+              {
+                usl.remove(val);
+                expected.remove(val);
+              } // if we remove
+            assertEquals(expected.contains(val), usl.contains(val));
+          } // for
+        ArrayList<Integer> vals = new ArrayList<Integer>(expected);
+        assertEquals(vals, toList(usl));
+        assertEquals(vals.size(), usl.length());
+        for (int i = 0; i < vals.size(); i++)
+          {
+            assertEquals(vals.get(i), usl.get(i));
+            assertEquals(i, usl.rank(vals.get(i)));
+          } // for
+        assertTrue(4 * usl.length() >= blockSize * (usl.blocks() - 1));
+        for (Integer val : vals)
+          usl.remove(val);
+        assertEquals(0, usl.length());
+        assertEquals(0, usl.blocks());
+      } // for each block size
+  } // blockTest()
+} // UnrolledSkipListTest
@@ -0,0 +1,486 @@
+package taojava.util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * An implementation of skip lists that keeps its nodes in a few large
+ * arrays rather than in separate objects.  A node is just an int id:
+ * vals[id] holds its value, and its links are the height[id] entries
+ * of links starting at base[id], each of which is the id of the next
+ * node at that level (or NIL).  Removed nodes go on a free list for
+ * their height, so a later node of the same height reuses both the id
+ * and the links.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class ArenaSkipList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +-----------+-------------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The id that marks the end of a level.
+   */
+  static final int NIL = -1;
+
+  /**
+   * The id of the head.
+   */
+  static final int HEAD = 0;
+
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The value of each node.
+   */
+  Object[] vals;
+
+  /**
+   * The index in links of each node's first link.
+   */
+  int[] base;
+
+  /**
+   * The number of levels of each node.
+   */
+  byte[] height;
+
+  /**
+   * The links of all of the nodes.
+   */
+  int[] links;
+
+  /**
+   * The number of node ids handed out so far.
+   */
+  int nodes;
+
+  /**
+   * The number of entries of links handed out so far.
+   */
+  int linksUsed;
+
+  /**
+   * For each height, the first free node of that height (or NIL).
+   * Free nodes are chained through their level-0 link.
+   */
+  int[] free;
+
+  /**
+   * The maximum number of levels a node may have.
+   */
+  int maxLevel;
+
+  /**
+   * The highest level currently in use.
+   */
+  int level;
+
+  /**
+   * The size of the skip list.
+   */
+  int size;
+
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  /**
+   * The number of times the list has been changed.  Lets iterators
+   * notice that the nodes they saved may be stale (or recycled).
+   */
+  int modCount;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list with up to 20 levels.
+   */
+  public ArenaSkipList()
+  {
+    this(20, .5, 16);
+  } // ArenaSkipList()
+
+  /**
+   * Create an empty list with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability, and
+   * with room for about capacity values before the arrays must grow.
+   */
+  public ArenaSkipList(int maxLevel, double probability, int capacity)
+  {
+    this(maxLevel, new GeometricLevels(probability), capacity);
+  } // ArenaSkipList(int, double, int)
+
+  /**
+   * Create an empty list with up to maxLevel levels, whose nodes get
+   * their levels from the given generator, and with room for about
+   * capacity values before the arrays must grow.
+   */
+  public ArenaSkipList(int maxLevel, LevelGenerator levels, int capacity)
+  {
+    this.maxLevel = maxLevel;
+    this.levels = levels;
+    capacity = Math.max(capacity, 1) + 1;
+    this.vals = new Object[capacity];
+    this.base = new int[capacity];
+    this.height = new byte[capacity];
+    this.links = new int[Math.max(2 * capacity, maxLevel)];
+    this.free = new int[maxLevel + 1];
+    Arrays.fill(this.free, NIL);
+    this.nodes = 0;
+    this.linksUsed = 0;
+    this.level = 0;
+    this.size = 0;
+    this.modCount = 0;
+    // Set up the head, which has every level.
+    this.allocate(null, maxLevel);
+  } // ArenaSkipList(int, LevelGenerator, int)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Generate the number of levels for a new node, between 1 and
+   * maxLevel.
+   */
+  int randomLevel()
+  {
+    return this.levels.randomLevel(this.maxLevel);
+  } // randomLevel()
+
+  /**
+   * Get the link from node at level l.
+   */
+  int next(int node, int l)
+  {
+    return this.links[this.base[node] + l];
+  } // next(int, int)
+
+  /**
+   * Set the link from node at level l.
+   */
+  void setNext(int node, int l, int target)
+  {
+    this.links[this.base[node] + l] = target;
+  } // setNext(int, int, int)
+
+  /**
+   * Get the value of node.
+   */
+  @SuppressWarnings("unchecked")
+  T val(int node)
+  {
+    return (T) this.vals[node];
+  } // val(int)
+
+  /**
+   * Get a node with the given value and number of levels, reusing a
+   * free node if there is one.  All of its links are NIL.
+   */
+  int allocate(T val, int levels)
+  {
+    int node = this.free[levels];
+    if (node != NIL)
+      {
+        this.free[levels] = this.next(node, 0);
+      } // if we can reuse a node
+    else
+      {
+        if (this.nodes == this.vals.length)
+          {
+            int capacity = this.nodes * 2;
+            this.vals = Arrays.copyOf(this.vals, capacity);
+            this.base = Arrays.copyOf(this.base, capacity);
+            this.height = Arrays.copyOf(this.height, capacity);
+          } // if we need more nodes
+        if (this.linksUsed + levels > this.links.length)
+          {
+            this.links =
+                Arrays.copyOf(this.links,
+                              Math.max(this.links.length * 2,
+                                       this.linksUsed + levels));
+          } // if we need more links
+        node = this.nodes++;
+        this.base[node] = this.linksUsed;
+        this.height[node] = (byte) levels;
+        this.linksUsed += levels;
+      } // if we need a new node
+    this.vals[node] = val;
+    Arrays.fill(this.links, this.base[node], this.base[node] + levels, NIL);
+    return node;
+  } // allocate(T, int)
+
+  /**
+   * Put node on the free list for its height.
+   */
+  void release(int node)
+  {
+    int levels = this.height[node];
+    this.vals[node] = null;
+    this.setNext(node, 0, this.free[levels]);
+    this.free[levels] = node;
+  } // release(int)
+
+  /**
+   * Find the nodes that precede val at each level.  Fills in update
+   * (if it is non-null) and returns the node that precedes val at
+   * level 0.
+   */
+  int findPredecessors(T val, int[] update)
+  {
+    int current = HEAD;
+    for (int l = this.level; l >= 0; l--)
+      {
+        int next = this.next(current, l);
+        while ((next != NIL) && (val.compareTo(this.val(next)) > 0))
+          {
+            current = next;
+            next = this.next(current, l);
+          } // while
+        if (update != null)
+          update[l] = current;
+      } // for
+    return current;
+  } // findPredecessors(T, int[])
+
+  /**
+   * Unlink target, whose predecessors at each of its levels are in
+   * update, and put it on the free list.
+   */
+  void unlink(int[] update, int target)
+  {
+    for (int l = 0; l < this.height[target]; l++)
+      this.setNext(update[l], l, this.next(target, l));
+    this.release(target);
+    while ((this.level > 0) && (this.next(HEAD, this.level) == NIL))
+      {
+        this.level--;
+      } // while
+    this.size--;
+    this.modCount++;
+  } // unlink(int[], int)
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return new Iterator<T>()
+      {
+        // The node whose value we most recently returned.
+        int current = HEAD;
+
+        // The node after current.  We remember it because removing
+        // current may recycle its links.
+        int next = ArenaSkipList.this.next(HEAD, 0);
+
+        // The last node before current at each level, so that remove
+        // can unlink current without searching for it.
+        int[] preds = new int[ArenaSkipList.this.maxLevel];
+
+        // Whether we may remove current.
+        boolean removable = false;
+
+        // The modCount of the list when next and preds were last valid.
+        int expectedModCount = ArenaSkipList.this.modCount;
+
+        public boolean hasNext()
+        {
+          return this.next != NIL;
+        } // hasNext()
+
+        // Make sure the list has not changed other than through this
+        // iterator, since the ids we saved may have been reused.
+        void checkModCount()
+        {
+          if (this.expectedModCount != ArenaSkipList.this.modCount)
+            throw new ConcurrentModificationException();
+        } // checkModCount()
+
+        public T next()
+        {
+          this.checkModCount();
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          for (int l = 0; l < ArenaSkipList.this.height[this.current]; l++)
+            this.preds[l] = this.current;
+          this.current = this.next;
+          this.next = ArenaSkipList.this.next(this.current, 0);
+          this.removable = true;
+          return ArenaSkipList.this.val(this.current);
+        } // next()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          this.checkModCount();
+          this.removable = false;
+          ArenaSkipList.this.unlink(this.preds, this.current);
+          this.expectedModCount = ArenaSkipList.this.modCount;
+          // current is now free, so step back to the node before it.
+          this.current = this.preds[0];
+        } // remove()
+      }; // new Iterator<T>
+  } // iterator()
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to add, contains(lav) continues to hold.
+   */
+  public void add(T val)
+  {
+    if (val == null)
+      return;
+
+    int[] update = new int[this.maxLevel];
+    int pred = this.findPredecessors(val, update);
+    int next = this.next(pred, 0);
+    if ((next != NIL) && (val.compareTo(this.val(next)) == 0))
+      return;
+
+    int levels = this.randomLevel();
+    for (int l = this.level + 1; l < levels; l++)
+      update[l] = HEAD;
+    if (levels - 1 > this.level)
+      this.level = levels - 1;
+
+    int node = this.allocate(val, levels);
+    for (int l = 0; l < levels; l++)
+      {
+        this.setNext(node, l, this.next(update[l], l));
+        this.setNext(update[l], l, node);
+      } // for
+    this.size++;
+    this.modCount++;
+  } // add(T val)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+    int next = this.next(this.findPredecessors(val, null), 0);
+    return (next != NIL) && (val.compareTo(this.val(next)) == 0);
+  } // contains(T)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to remove, contains(lav) continues to hold.
+   */
+  public void remove(T val)
+  {
+    if (val == null)
+      return;
+
+    int[] update = new int[this.maxLevel];
+    int target = this.next(this.findPredecessors(val, update), 0);
+    if ((target == NIL) || (val.compareTo(this.val(target)) != 0))
+      return;
+
+    this.unlink(update, target);
+  } // remove(T)
+
+  /**
+   * Remove every value that satisfies filter, in one pass over the
+   * bottom level, relinking each level from the values we keep and
+   * freeing the rest.  Returns true if any were removed.
+   */
+  public boolean removeIf(Predicate<? super T> filter)
+  {
+    int[] tails = new int[this.maxLevel];
+    Arrays.fill(tails, HEAD);
+    int kept = 0;
+    int node = this.next(HEAD, 0);
+    while (node != NIL)
+      {
+        int next = this.next(node, 0);
+        if (filter.test(this.val(node)))
+          {
+            this.release(node);
+          } // if we remove the value
+        else
+          {
+            kept++;
+            for (int l = 0; l < this.height[node]; l++)
+              {
+                this.setNext(tails[l], l, node);
+                tails[l] = node;
+              } // for
+          } // if we keep the value
+        node = next;
+      } // while
+    for (int l = 0; l <= this.level; l++)
+      this.setNext(tails[l], l, NIL);
+    while ((this.level > 0) && (this.next(HEAD, this.level) == NIL))
+      {
+        this.level--;
+      } // while
+
+    boolean removed = kept < this.size;
+    this.size = kept;
+    if (removed)
+      this.modCount++;
+    return removed;
+  } // removeIf(Predicate<? super T>)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+    int current = this.next(HEAD, 0);
+    for (int pos = 0; pos < i; pos++)
+      current = this.next(current, 0);
+    return this.val(current);
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+} // class ArenaSkipList<T>
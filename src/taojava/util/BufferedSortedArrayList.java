@@ -0,0 +1,561 @@
+package taojava.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted lists that batch their changes.  The values live in a sorted
+ * main array, as in SortedArrayList, but add and remove do not shift
+ * it.  Instead, add puts a new value in a small sorted buffer of
+ * additions, and remove puts a value of the main array in a small
+ * sorted buffer of removals (tombstones).  When either buffer fills,
+ * we merge both into a new main array in one pass.  With buffers of b
+ * values, a burst of adds costs O(n / b + b) steps per add, amortized,
+ * rather than the O(n) of SortedArrayList.
+ *
+ * Reads see the buffers too.  contains searches all three arrays, and
+ * get and rank count the buffered values below a point of the main
+ * array, so each costs a few binary searches.  Call flush to merge
+ * the buffers before a long run of reads.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class BufferedSortedArrayList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The merged values, in order, in main[0] .. main[mainCount-1].
+   */
+  Object[] main;
+
+  /**
+   * The number of values in main.
+   */
+  int mainCount;
+
+  /**
+   * Values that are in the list but not in main, in order.
+   */
+  Object[] adds;
+
+  /**
+   * The number of values in adds.
+   */
+  int addCount;
+
+  /**
+   * Values of main that are no longer in the list, in order.
+   */
+  Object[] removes;
+
+  /**
+   * The number of values in removes.
+   */
+  int removeCount;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new sorted list with buffers of 512 values.
+   */
+  public BufferedSortedArrayList()
+  {
+    this(512);
+  } // BufferedSortedArrayList()
+
+  /**
+   * Create a new sorted list with buffers of bufferSize values.
+   *
+   * @throws IllegalArgumentException
+   *   if bufferSize is less than 1
+   */
+  public BufferedSortedArrayList(int bufferSize)
+  {
+    if (bufferSize < 1)
+      throw new IllegalArgumentException("buffers must hold a value");
+    this.main = new Object[0];
+    this.mainCount = 0;
+    this.adds = new Object[bufferSize];
+    this.addCount = 0;
+    this.removes = new Object[bufferSize];
+    this.removeCount = 0;
+  } // BufferedSortedArrayList(int)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Find the index of the first of the count values of vals that is at
+   * least val (or count, if there is none).
+   */
+  static <T extends Comparable<T>> int search(Object[] vals, int count,
+                                              T val)
+  {
+    return search(vals, 0, count, val);
+  } // search(Object[], int, T)
+
+  /**
+   * Find the index of the first of vals[from] .. vals[count-1] that is
+   * at least val (or count, if there is none).
+   */
+  @SuppressWarnings("unchecked")
+  static <T extends Comparable<T>> int search(Object[] vals, int from,
+                                              int count, T val)
+  {
+    int lb = from;
+    int ub = count;
+    while (lb < ub)
+      {
+        int mid = (lb + ub) >>> 1;
+        if (val.compareTo((T) vals[mid]) > 0)
+          lb = mid + 1;
+        else
+          ub = mid;
+      } // while
+    return lb;
+  } // search(Object[], int, int, T)
+
+  /**
+   * Determine if val appears at index i of the first count values of
+   * vals.
+   */
+  @SuppressWarnings("unchecked")
+  static <T extends Comparable<T>> boolean appearsAt(Object[] vals,
+                                                     int count, T val,
+                                                     int i)
+  {
+    return (i < count) && (val.compareTo((T) vals[i]) == 0);
+  } // appearsAt(Object[], int, T, int)
+
+  /**
+   * Put val at index i of buffer, which holds count values.
+   */
+  static void insert(Object[] buffer, int count, int i, Object val)
+  {
+    System.arraycopy(buffer, i, buffer, i + 1, count - i);
+    buffer[i] = val;
+  } // insert(Object[], int, int, Object)
+
+  /**
+   * Remove index i of buffer, which holds count values.
+   */
+  static void delete(Object[] buffer, int count, int i)
+  {
+    System.arraycopy(buffer, i + 1, buffer, i, count - i - 1);
+    buffer[count - 1] = null;
+  } // delete(Object[], int, int)
+
+  /**
+   * Get the value at index i of vals.
+   */
+  @SuppressWarnings("unchecked")
+  T valAt(Object[] vals, int i)
+  {
+    return (T) vals[i];
+  } // valAt(Object[], int)
+
+  /**
+   * Get the number of values in the list that are less than main[j].
+   */
+  int liveBefore(int j)
+  {
+    T val = this.valAt(this.main, j);
+    return j - search(this.removes, this.removeCount, val)
+           + search(this.adds, this.addCount, val);
+  } // liveBefore(int)
+
+  /**
+   * Get the number of values in the list that are less than adds[k].
+   */
+  int liveBeforeAdded(int k)
+  {
+    T val = this.valAt(this.adds, k);
+    return k + search(this.main, this.mainCount, val)
+           - search(this.removes, this.removeCount, val);
+  } // liveBeforeAdded(int)
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return this.iterator(null);
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values of the list that
+   * are greater than or equal to lo, from smallest to largest.  We
+   * walk main and adds side by side, skipping the values of main that
+   * appear in removes.
+   */
+  public Iterator<T> iterator(final T lo)
+  {
+    return new Iterator<T>()
+      {
+        // The next index to look at in main.
+        int j;
+
+        // The next index to look at in adds.
+        int k;
+
+        // The first index in removes that may match main[j].
+        int r;
+
+        // The value we most recently returned, if we may remove it.
+        T current = null;
+
+        // Start at lo.
+        {
+          this.seek(lo, false);
+        }
+
+        // Move to the first value at least val (or greater than val,
+        // if strict), and skip any removed values of main.
+        void seek(T val, boolean strict)
+        {
+          BufferedSortedArrayList<T> list = BufferedSortedArrayList.this;
+          if (val == null)
+            {
+              this.j = 0;
+              this.k = 0;
+              this.r = 0;
+            } // if we start at the front
+          else
+            {
+              this.j = search(list.main, list.mainCount, val);
+              this.k = search(list.adds, list.addCount, val);
+              this.r = search(list.removes, list.removeCount, val);
+              if (strict)
+                {
+                  if (appearsAt(list.main, list.mainCount, val, this.j))
+                    this.j++;
+                  if (appearsAt(list.adds, list.addCount, val, this.k))
+                    this.k++;
+                } // if we skip val itself
+            } // if we start at val
+          this.skip();
+        } // seek(T, boolean)
+
+        // Skip values of main that appear in removes.
+        void skip()
+        {
+          BufferedSortedArrayList<T> list = BufferedSortedArrayList.this;
+          while (this.j < list.mainCount)
+            {
+              T val = list.valAt(list.main, this.j);
+              while ((this.r < list.removeCount)
+                     && (val.compareTo(list.valAt(list.removes, this.r))
+                         > 0))
+                this.r++;
+              if (!appearsAt(list.removes, list.removeCount, val, this.r))
+                return;
+              this.j++;
+            } // while
+        } // skip()
+
+        public boolean hasNext()
+        {
+          BufferedSortedArrayList<T> list = BufferedSortedArrayList.this;
+          return (this.j < list.mainCount) || (this.k < list.addCount);
+        } // hasNext()
+
+        public T next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          BufferedSortedArrayList<T> list = BufferedSortedArrayList.this;
+          if ((this.k < list.addCount)
+              && ((this.j == list.mainCount)
+                  || (list.valAt(list.adds, this.k)
+                          .compareTo(list.valAt(list.main, this.j)) < 0)))
+            {
+              this.current = list.valAt(list.adds, this.k++);
+            } // if the next value was added
+          else
+            {
+              this.current = list.valAt(list.main, this.j++);
+              this.skip();
+            } // if the next value is in main
+          return this.current;
+        } // next()
+
+        public void remove()
+        {
+          if (this.current == null)
+            throw new IllegalStateException();
+          // Removing may merge the buffers, so find our place again.
+          BufferedSortedArrayList.this.remove(this.current);
+          this.seek(this.current, true);
+          this.current = null;
+        } // remove()
+      }; // new Iterator<T>
+  } // iterator(T)
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to add, contains(lav) continues to hold.
+   */
+  public void add(T val)
+  {
+    if (val == null)
+      return;
+    int r = search(this.removes, this.removeCount, val);
+    if (appearsAt(this.removes, this.removeCount, val, r))
+      {
+        delete(this.removes, this.removeCount--, r);
+        return;
+      } // if val was removed from main
+    if (this.containsMain(val))
+      return;
+    int k = search(this.adds, this.addCount, val);
+    if (appearsAt(this.adds, this.addCount, val, k))
+      return;
+    insert(this.adds, this.addCount++, k, val);
+    if (this.addCount == this.adds.length)
+      this.flush();
+  } // add(T)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+    if (this.containsMain(val))
+      return !appearsAt(this.removes, this.removeCount, val,
+                        search(this.removes, this.removeCount, val));
+    return appearsAt(this.adds, this.addCount, val,
+                     search(this.adds, this.addCount, val));
+  } // contains(T)
+
+  /**
+   * Determine if main holds val (whether or not it was removed).
+   */
+  boolean containsMain(T val)
+  {
+    return appearsAt(this.main, this.mainCount, val,
+                     search(this.main, this.mainCount, val));
+  } // containsMain(T)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to remove, contains(lav) continues to hold.
+   */
+  public void remove(T val)
+  {
+    if (val == null)
+      return;
+    int k = search(this.adds, this.addCount, val);
+    if (appearsAt(this.adds, this.addCount, val, k))
+      {
+        delete(this.adds, this.addCount--, k);
+        return;
+      } // if val was added since the last merge
+    if (!this.containsMain(val))
+      return;
+    int r = search(this.removes, this.removeCount, val);
+    if (appearsAt(this.removes, this.removeCount, val, r))
+      return;
+    insert(this.removes, this.removeCount++, r, val);
+    if (this.removeCount == this.removes.length)
+      this.flush();
+  } // remove(T)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.  If an added value has index i, a
+   * binary search of adds finds it.  Otherwise, the value is the last
+   * one in main with i values of the list before it.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    int size = this.length();
+    if ((i < 0) || (i >= size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + size);
+
+    int lb = 0;
+    int ub = this.addCount;
+    while (lb < ub)
+      {
+        int mid = (lb + ub) >>> 1;
+        int before = this.liveBeforeAdded(mid);
+        if (before == i)
+          return this.valAt(this.adds, mid);
+        else if (before < i)
+          lb = mid + 1;
+        else
+          ub = mid;
+      } // while
+
+    // Find the last j with liveBefore(j) <= i.  Removed values of main
+    // have the same count as the next one, so it is not removed.
+    lb = 0;
+    ub = this.mainCount;
+    while (ub - lb > 1)
+      {
+        int mid = (lb + ub) >>> 1;
+        if (this.liveBefore(mid) <= i)
+          lb = mid;
+        else
+          ub = mid;
+      } // while
+    return this.valAt(this.main, lb);
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.mainCount + this.addCount - this.removeCount;
+  } // length()
+
+  // +-------------------+-----------------------------------------------
+  // | Neighbour Queries |
+  // +-------------------+
+
+  /**
+   * Get the smallest value in the list, or null if it is empty.
+   */
+  public T first()
+  {
+    return (this.length() == 0) ? null : this.get(0);
+  } // first()
+
+  /**
+   * Get the largest value in the list, or null if it is empty.
+   */
+  public T last()
+  {
+    int size = this.length();
+    return (size == 0) ? null : this.get(size - 1);
+  } // last()
+
+  /**
+   * Get the largest value less than or equal to val, or null if there
+   * is none.
+   */
+  public T floor(T val)
+  {
+    if (this.contains(val))
+      return val;
+    return this.lower(val);
+  } // floor(T)
+
+  /**
+   * Get the largest value strictly less than val, or null if there is
+   * none.
+   */
+  public T lower(T val)
+  {
+    int rank = this.rank(val);
+    return (rank == 0) ? null : this.get(rank - 1);
+  } // lower(T)
+
+  // +--------------+----------------------------------------------------
+  // | Rank Queries |
+  // +--------------+
+
+  /**
+   * Get the number of values strictly less than val.
+   */
+  public int rank(T val)
+  {
+    return search(this.main, this.mainCount, val)
+           - search(this.removes, this.removeCount, val)
+           + search(this.adds, this.addCount, val);
+  } // rank(T)
+
+  /**
+   * Get the number of values that are at least lo and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.rank(hi) - this.rank(lo));
+  } // count(T, T)
+
+  // +---------------+---------------------------------------------------
+  // | Other Methods |
+  // +---------------+
+
+  /**
+   * Merge the buffers into the main array, so that later reads need
+   * not look at them.
+   */
+  public void flush()
+  {
+    if ((this.addCount == 0) && (this.removeCount == 0))
+      return;
+    // Copy the runs of main between the buffered values whole.
+    Object[] merged = new Object[this.length()];
+    int j = 0;
+    int k = 0;
+    int r = 0;
+    int m = 0;
+    while ((k < this.addCount) || (r < this.removeCount))
+      {
+        boolean added = (r == this.removeCount)
+                        || ((k < this.addCount)
+                            && (this.valAt(this.adds, k)
+                                    .compareTo(this.valAt(this.removes, r))
+                                < 0));
+        T val = added ? this.valAt(this.adds, k)
+                      : this.valAt(this.removes, r);
+        int p = search(this.main, j, this.mainCount, val);
+        System.arraycopy(this.main, j, merged, m, p - j);
+        m += p - j;
+        if (added)
+          {
+            merged[m++] = val;
+            j = p;
+            k++;
+          } // if we add val
+        else
+          {
+            j = p + 1;
+            r++;
+          } // if we skip val
+      } // while
+    System.arraycopy(this.main, j, merged, m, this.mainCount - j);
+
+    this.main = merged;
+    this.mainCount = merged.length;
+    Arrays.fill(this.adds, 0, this.addCount, null);
+    Arrays.fill(this.removes, 0, this.removeCount, null);
+    this.addCount = 0;
+    this.removeCount = 0;
+  } // flush()
+} // class BufferedSortedArrayList<T>
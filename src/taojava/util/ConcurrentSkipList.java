@@ -0,0 +1,515 @@
+package taojava.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.function.Predicate;
+
+// Citation: Herlihy and Shavit, The Art of Multiprocessor Programming,
+//   Section 14.4 (LockFreeSkipList).
+
+/**
+ * A lock-free implementation of sorted lists.  Links are atomic
+ * references that carry a mark; removing a value first marks its
+ * links (logical deletion) and then unlinks the node (physical
+ * deletion).  Searches help by unlinking any marked nodes they pass.
+ * contains never retries.  Iteration, get, and length are weakly
+ * consistent: they reflect some, but not necessarily all, of the
+ * updates made while they run.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class ConcurrentSkipList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Head of the list.  Precedes every value.
+   */
+  final Node<T> head;
+
+  /**
+   * Tail of the list.  Follows every value.
+   */
+  final Node<T> tail;
+
+  /**
+   * The maximum number of levels a node may have.
+   */
+  final int maxLevel;
+
+  /**
+   * The number of values in the list.
+   */
+  final AtomicInteger size;
+
+  /**
+   * The source of random levels.  Shared by every thread that adds.
+   */
+  final LevelGenerator levels;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * Nodes for concurrent skip lists.  A node is logically in the list
+   * once it is linked at level 0 and until its level-0 link is marked.
+   */
+  static class Node<T>
+  {
+    /**
+     * The value stored in the node.
+     */
+    final T val;
+
+    /**
+     * The marked links at each level of the node.
+     */
+    final AtomicMarkableReference<Node<T>>[] next;
+
+    /**
+     * Construct a node with the given number of levels, each of which
+     * links to succ.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Node(T val, int levels, Node<T> succ)
+    {
+      this.val = val;
+      this.next = new AtomicMarkableReference[levels];
+      for (int l = 0; l < levels; l++)
+        this.next[l] = new AtomicMarkableReference<Node<T>>(succ, false);
+    } // Node(T, int, Node<T>)
+  } // class Node<T>
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list with up to 20 levels.
+   */
+  public ConcurrentSkipList()
+  {
+    this(20, .5);
+  } // ConcurrentSkipList()
+
+  /**
+   * Create an empty list with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability.
+   */
+  public ConcurrentSkipList(int maxLevel, double probability)
+  {
+    this(maxLevel, new ThreadLocalRandomLevels(probability));
+  } // ConcurrentSkipList(int, double)
+
+  /**
+   * Create an empty list with up to maxLevel levels, whose nodes get
+   * their levels from the given generator.
+   */
+  public ConcurrentSkipList(int maxLevel, LevelGenerator levels)
+  {
+    this.levels = levels;
+    this.maxLevel = maxLevel;
+    this.tail = new Node<T>(null, maxLevel, null);
+    this.head = new Node<T>(null, maxLevel, this.tail);
+    this.size = new AtomicInteger(0);
+  } // ConcurrentSkipList(int, LevelGenerator)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Make an array of n nodes for preds or succs, all null.  The array
+   * has to be raw, since Java will not make generic ones.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static <T> Node<T>[] nodeArray(int n)
+  {
+    return new Node[n];
+  } // nodeArray(int)
+
+  /**
+   * Generate the number of levels for a new node, between 1 and
+   * maxLevel.
+   */
+  int randomLevel()
+  {
+    return this.levels.randomLevel(this.maxLevel);
+  } // randomLevel()
+
+  /**
+   * Determine if node comes before val.  The tail comes after
+   * everything.
+   */
+  boolean before(Node<T> node, T val)
+  {
+    return (node != this.tail) && (val.compareTo(node.val) > 0);
+  } // before(Node<T>, T)
+
+  /**
+   * Find the nodes that precede and follow val at each level, unlinking
+   * any marked nodes along the way.  Returns the node at or after val
+   * at level 0.
+   */
+  Node<T> find(T val, Node<T>[] preds, Node<T>[] succs)
+  {
+    boolean[] marked = { false };
+    retry: while (true)
+      {
+        Node<T> pred = this.head;
+        Node<T> curr = null;
+        for (int l = this.maxLevel - 1; l >= 0; l--)
+          {
+            curr = pred.next[l].getReference();
+            while (true)
+              {
+                Node<T> succ = curr.next[l].get(marked);
+                while (marked[0])
+                  {
+                    // Someone deleted curr; help by unlinking it.
+                    if (!pred.next[l].compareAndSet(curr, succ, false, false))
+                      continue retry;
+                    curr = succ;
+                    succ = curr.next[l].get(marked);
+                  } // while curr is marked
+                if (this.before(curr, val))
+                  {
+                    pred = curr;
+                    curr = succ;
+                  } // if we can move forward
+                else
+                  {
+                    break;
+                  } // if curr is at or past val
+              } // while
+            preds[l] = pred;
+            succs[l] = curr;
+          } // for each level
+        return curr;
+      } // while
+  } // find(T, Node<T>[], Node<T>[])
+
+  /**
+   * Mark the links of target, upper levels first, top down.  Marking
+   * level 0 is what removes the value.  Returns true if we marked
+   * level 0, and false if someone else did first (and so removed it).
+   */
+  boolean mark(Node<T> target)
+  {
+    boolean[] marked = { false };
+    for (int l = target.next.length - 1; l > 0; l--)
+      {
+        Node<T> succ = target.next[l].get(marked);
+        while (!marked[0])
+          {
+            target.next[l].attemptMark(succ, true);
+            succ = target.next[l].get(marked);
+          } // while
+      } // for
+
+    Node<T> succ = target.next[0].get(marked);
+    while (!marked[0])
+      {
+        if (target.next[0].compareAndSet(succ, succ, false, true))
+          return true;
+        succ = target.next[0].get(marked);
+      } // while
+    return false;
+  } // mark(Node<T>)
+
+  /**
+   * Unlink every marked node, walking each level once.  If a link
+   * changes under us, we start that level again from the head.
+   */
+  void sweep()
+  {
+    boolean[] marked = { false };
+    for (int l = this.maxLevel - 1; l >= 0; l--)
+      {
+        Node<T> pred = this.head;
+        Node<T> curr = pred.next[l].getReference();
+        while (curr != this.tail)
+          {
+            Node<T> succ = curr.next[l].get(marked);
+            if (!marked[0])
+              {
+                pred = curr;
+                curr = succ;
+              } // if curr stays
+            else if (pred.next[l].compareAndSet(curr, succ, false, false))
+              {
+                curr = succ;
+              } // if we unlinked curr
+            else
+              {
+                pred = this.head;
+                curr = pred.next[l].getReference();
+              } // if pred changed under us
+          } // while
+      } // for
+  } // sweep()
+
+  /**
+   * Determine if node holds val.
+   */
+  boolean holds(Node<T> node, T val)
+  {
+    return (node != this.tail) && (val.compareTo(node.val) == 0);
+  } // holds(Node<T>, T)
+
+  /**
+   * Find the first unmarked node at level 0 after node.
+   */
+  Node<T> successor(Node<T> node)
+  {
+    boolean[] marked = { false };
+    Node<T> curr = node.next[0].getReference();
+    while (curr != this.tail)
+      {
+        curr.next[0].get(marked);
+        if (!marked[0])
+          return curr;
+        curr = curr.next[0].getReference();
+      } // while
+    return curr;
+  } // successor(Node<T>)
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return a weakly consistent iterator that steps through the values
+   * of the list from smallest to largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return new Iterator<T>()
+      {
+        // The node whose value we return next.
+        Node<T> next = ConcurrentSkipList.this.successor(head);
+
+        // The value we most recently returned.
+        T current = null;
+
+        public boolean hasNext()
+        {
+          return this.next != ConcurrentSkipList.this.tail;
+        } // hasNext()
+
+        public T next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          this.current = this.next.val;
+          this.next = ConcurrentSkipList.this.successor(this.next);
+          return this.current;
+        } // next()
+
+        public void remove()
+        {
+          if (this.current == null)
+            throw new IllegalStateException();
+          ConcurrentSkipList.this.remove(this.current);
+          this.current = null;
+        } // remove()
+      }; // new Iterator<T>
+  } // iterator()
+
+  /**
+   * Get a weakly consistent spliterator over the values.  Since the
+   * length may change while we traverse, it reports CONCURRENT rather
+   * than SIZED.
+   */
+  public Spliterator<T> spliterator()
+  {
+    return new SortedSpliterator<T>(
+        Spliterators.spliteratorUnknownSize(this.iterator(),
+                                            Spliterator.CONCURRENT),
+        Spliterator.DISTINCT | Spliterator.NONNULL);
+  } // spliterator()
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to add, contains(lav) continues to hold.
+   */
+  public void add(T val)
+  {
+    if (val == null)
+      return;
+
+    int levels = this.randomLevel();
+    Node<T>[] preds = nodeArray(this.maxLevel);
+    Node<T>[] succs = nodeArray(this.maxLevel);
+    while (true)
+      {
+        if (this.holds(this.find(val, preds, succs), val))
+          return;
+
+        Node<T> node = new Node<T>(val, levels, null);
+        for (int l = 0; l < levels; l++)
+          node.next[l].set(succs[l], false);
+
+        // Linking at level 0 is what puts the value in the list.
+        if (!preds[0].next[0].compareAndSet(succs[0], node, false, false))
+          continue;
+        this.size.incrementAndGet();
+
+        // The upper levels are only shortcuts, so we keep trying until
+        // each is linked or the node is deleted out from under us.
+        for (int l = 1; l < levels; l++)
+          {
+            while (true)
+              {
+                Node<T> succ = node.next[l].getReference();
+                if (node.next[l].isMarked())
+                  return;
+                if ((succ != succs[l])
+                    && !node.next[l].compareAndSet(succ, succs[l], false,
+                                                   false))
+                  continue;
+                if (preds[l].next[l].compareAndSet(succs[l], node, false,
+                                                   false))
+                  break;
+                this.find(val, preds, succs);
+                if (succs[0] != node)
+                  return;
+              } // while
+          } // for each upper level
+        return;
+      } // while
+  } // add(T val)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+
+    boolean[] marked = { false };
+    Node<T> pred = this.head;
+    Node<T> curr = null;
+    for (int l = this.maxLevel - 1; l >= 0; l--)
+      {
+        curr = pred.next[l].getReference();
+        while (true)
+          {
+            Node<T> succ = curr.next[l].get(marked);
+            while (marked[0])
+              {
+                curr = succ;
+                succ = curr.next[l].get(marked);
+              } // while curr is marked
+            if (this.before(curr, val))
+              {
+                pred = curr;
+                curr = succ;
+              } // if we can move forward
+            else
+              {
+                break;
+              } // if curr is at or past val
+          } // while
+      } // for
+    return this.holds(curr, val);
+  } // contains(T)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to remove, contains(lav) continues to hold.
+   */
+  public void remove(T val)
+  {
+    if (val == null)
+      return;
+
+    Node<T>[] preds = nodeArray(this.maxLevel);
+    Node<T>[] succs = nodeArray(this.maxLevel);
+    Node<T> target = this.find(val, preds, succs);
+    if (!this.holds(target, val))
+      return;
+
+    if (this.mark(target))
+      {
+        this.size.decrementAndGet();
+        // Clean up the links.
+        this.find(val, preds, succs);
+      } // if we removed it
+  } // remove(T)
+
+  /**
+   * Remove every value that satisfies filter.  One pass over the
+   * bottom level marks the nodes to remove, and then one pass over
+   * each level unlinks every marked node, rather than searching from
+   * the head for each value.  Returns true if we removed any.
+   */
+  public boolean removeIf(Predicate<? super T> filter)
+  {
+    boolean removed = false;
+    for (Node<T> curr = this.successor(this.head); curr != this.tail;
+         curr = this.successor(curr))
+      {
+        if (filter.test(curr.val) && this.mark(curr))
+          {
+            this.size.decrementAndGet();
+            removed = true;
+          } // if we removed it
+      } // for
+    if (removed)
+      this.sweep();
+    return removed;
+  } // removeIf(Predicate<? super T>)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.  Walks the bottom level, so takes
+   * O(i) steps.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if (i < 0)
+      throw new IndexOutOfBoundsException("Index: " + i);
+    Node<T> curr = this.successor(this.head);
+    for (int pos = 0; (pos < i) && (curr != this.tail); pos++)
+      curr = this.successor(curr);
+    if (curr == this.tail)
+      throw new IndexOutOfBoundsException("Index: " + i);
+    return curr.val;
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size.get();
+  } // length()
+} // class ConcurrentSkipList<T>
@@ -0,0 +1,458 @@
+package taojava.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Citation: Munro, Papadakis, and Sedgewick, "Deterministic Skip
+//   Lists" (SODA 1992), and the linked representation in Weiss, Data
+//   Structures and Algorithm Analysis in Java, Section 12.4.
+
+/**
+ * A deterministic (1-2-3) implementation of sorted lists.  Rather than
+ * picking levels at random, we keep every gap between neighbouring
+ * nodes of a level small.  Each node above the bottom level stands
+ * for a run of two to four nodes on the level below (its gap), and
+ * holds the largest value of that run.  Every level ends with a node
+ * that holds "infinity" (null).  The top level is just the head.
+ *
+ * Since runs have at most four nodes and each level has at most half
+ * as many nodes as the one below, contains, add, and remove take
+ * O(log n) steps in the worst case, whatever the order of the values.
+ * add splits any run of four that it is about to descend into
+ * (promotion), so that it can always add a node at the bottom.
+ * remove merges or borrows for any run of two that it is about to
+ * descend into (demotion), so that it can always take a node away.
+ * Neither ever has to go back up.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class DeterministicSkipList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The only node on the top level.  When the list is empty, it is the
+   * infinity node of the bottom level.
+   */
+  Node<T> head;
+
+  /**
+   * The number of values in the list.
+   */
+  int size;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * Nodes for deterministic skip lists.
+   */
+  static class Node<T>
+  {
+    /**
+     * The value (on the bottom level) or the largest value of the gap
+     * (on higher levels).  Null means infinity.
+     */
+    T val;
+
+    /**
+     * The next node on the same level, or null for an infinity node.
+     */
+    Node<T> right;
+
+    /**
+     * The first node of the gap on the level below, or null on the
+     * bottom level.
+     */
+    Node<T> down;
+
+    /**
+     * Construct a node.
+     */
+    Node(T val, Node<T> right, Node<T> down)
+    {
+      this.val = val;
+      this.right = right;
+      this.down = down;
+    } // Node(T, Node<T>, Node<T>)
+  } // class Node<T>
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list.
+   */
+  public DeterministicSkipList()
+  {
+    this.head = new Node<T>(null, null, null);
+    this.size = 0;
+  } // DeterministicSkipList()
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Compare val with the value of node, treating null as infinity.
+   */
+  static <T extends Comparable<T>> int compare(T val, Node<T> node)
+  {
+    return (node.val == null) ? -1 : val.compareTo(node.val);
+  } // compare(T, Node<T>)
+
+  /**
+   * Determine if two nodes on the same level hold the same value.
+   * Since values on a level are distinct, that means that a is where
+   * b's gap ends (or the other way around).
+   */
+  static <T extends Comparable<T>> boolean same(Node<T> a, Node<T> b)
+  {
+    return (a.val == null) ? (b.val == null)
+                           : ((b.val != null) && (a.val.compareTo(b.val) == 0));
+  } // same(Node<T>, Node<T>)
+
+  /**
+   * Count the nodes in the gap of node.
+   */
+  static <T extends Comparable<T>> int gap(Node<T> node)
+  {
+    int count = 1;
+    for (Node<T> current = node.down; !same(current, node);
+         current = current.right)
+      count++;
+    return count;
+  } // gap(Node<T>)
+
+  /**
+   * Drop any top levels that hold only their infinity node, so that
+   * (unless the list is empty) the gap of the head has at least two
+   * nodes.
+   */
+  void lower()
+  {
+    while ((this.head.down != null) && (this.head.down.right == null))
+      this.head = this.head.down;
+  } // lower()
+
+  /**
+   * Make sure that the gap of node, which is in the gap of parent
+   * just after prev (or first, if prev is null), has at least three
+   * nodes.  Merges it with the gap of a neighbour that has two, or
+   * borrows a node from a neighbour with more.  Returns the node whose
+   * gap now holds the old gap of node.
+   */
+  Node<T> widen(Node<T> parent, Node<T> prev, Node<T> node)
+  {
+    if (!same(node, parent))
+      {
+        Node<T> next = node.right;
+        if (gap(next) == 2)
+          {
+            node.val = next.val;
+            node.right = next.right;
+          } // if we can merge with the next gap
+        else
+          {
+            node.val = next.down.val;
+            next.down = next.down.right;
+          } // if we can borrow the first node of the next gap
+        return node;
+      } // if node has a neighbour to its right
+
+    // Node ends the gap of parent, which has at least two nodes, so
+    // prev is not null.
+    if (gap(prev) == 2)
+      {
+        prev.val = node.val;
+        prev.right = node.right;
+        return prev;
+      } // if we can merge with the previous gap
+    Node<T> before = prev.down;
+    Node<T> last = before.right;
+    while (!same(last, prev))
+      {
+        before = last;
+        last = last.right;
+      } // while
+    prev.val = before.val;
+    node.down = last;
+    return node;
+  } // widen(Node<T>, Node<T>, Node<T>)
+
+  /**
+   * Find the first bottom-level node whose value is at least val.
+   */
+  Node<T> find(T val)
+  {
+    Node<T> current = this.head;
+    while (true)
+      {
+        while (compare(val, current) > 0)
+          current = current.right;
+        if (current.down == null)
+          return current;
+        current = current.down;
+      } // while
+  } // find(T)
+
+  /**
+   * Find the first node of the bottom level.
+   */
+  Node<T> bottom()
+  {
+    Node<T> current = this.head;
+    while (current.down != null)
+      current = current.down;
+    return current;
+  } // bottom()
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return this.iteratorFrom(this.bottom());
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values that are greater
+   * than or equal to lo.  Finding lo takes O(log n) steps.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    return this.iteratorFrom((lo == null) ? this.bottom() : this.find(lo));
+  } // iterator(T)
+
+  /**
+   * Return an iterator whose first value is the one in start.  Since
+   * remove may move values between nodes, the iterator's remove finds
+   * its place again afterwards, in O(log n) steps.
+   */
+  Iterator<T> iteratorFrom(final Node<T> start)
+  {
+    return new Iterator<T>()
+      {
+        // The node whose value we return next.
+        Node<T> next = start;
+
+        // The value we most recently returned.
+        T current = null;
+
+        public boolean hasNext()
+        {
+          return this.next.val != null;
+        } // hasNext()
+
+        public T next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          this.current = this.next.val;
+          this.next = this.next.right;
+          return this.current;
+        } // next()
+
+        public void remove()
+        {
+          if (this.current == null)
+            throw new IllegalStateException();
+          T following = this.next.val;
+          DeterministicSkipList.this.remove(this.current);
+          this.current = null;
+          // If we were at the end, next still holds infinity.
+          if (following != null)
+            this.next = DeterministicSkipList.this.find(following);
+        } // remove()
+      }; // new Iterator<T>
+  } // iteratorFrom(Node<T>)
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to add, contains(lav) continues to hold.
+   */
+  public void add(T val)
+  {
+    if (val == null)
+      return;
+
+    Node<T> current = this.head;
+    while (true)
+      {
+        while (compare(val, current) > 0)
+          current = current.right;
+        if (compare(val, current) == 0)
+          return;
+        if (current.down == null)
+          break;
+
+        // Split a gap of four into two gaps of two before we go down.
+        if (gap(current) >= 4)
+          {
+            Node<T> second = current.down.right;
+            current.right = new Node<T>(current.val, current.right,
+                                        second.right);
+            current.val = second.val;
+            if (current == this.head)
+              this.head = new Node<T>(null, null, current);
+            continue;
+          } // if the gap is full
+        current = current.down;
+      } // while
+
+    // Put val in current, and move the old value to a new node just
+    // after it.
+    current.right = new Node<T>(current.val, current.right, null);
+    current.val = val;
+    this.size++;
+    if (current == this.head)
+      this.head = new Node<T>(null, null, current);
+  } // add(T)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+    Node<T> current = this.head;
+    while (true)
+      {
+        while (compare(val, current) > 0)
+          current = current.right;
+        if (compare(val, current) == 0)
+          return true;
+        if (current.down == null)
+          return false;
+        current = current.down;
+      } // while
+  } // contains(T)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to remove, contains(lav) continues to hold.
+   */
+  public void remove(T val)
+  {
+    if (val == null)
+      return;
+
+    // The nodes above the bottom whose gaps end with val.  Once val is
+    // gone, they should hold the value before it.
+    ArrayList<Node<T>> ends = new ArrayList<Node<T>>();
+    Node<T> parent = this.head;
+    while (parent.down != null)
+      {
+        Node<T> prev = null;
+        Node<T> current = parent.down;
+        while (compare(val, current) > 0)
+          {
+            prev = current;
+            current = current.right;
+          } // while
+
+        if (current.down == null)
+          {
+            if (compare(val, current) != 0)
+              {
+                // The merges on the way down may still have emptied
+                // the top level.
+                this.lower();
+                return;
+              } // if val is not in the list
+            if (same(current, parent))
+              {
+                // Val ends the gap, which has at least three nodes.
+                prev.right = current.right;
+                for (Node<T> end : ends)
+                  end.val = prev.val;
+              } // if val ends the gap
+            else
+              {
+                // Move the next value into this node instead.
+                Node<T> next = current.right;
+                current.val = next.val;
+                current.right = next.right;
+              } // if val does not end the gap
+            this.size--;
+            this.lower();
+            return;
+          } // if we're at the bottom
+
+        if (gap(current) == 2)
+          current = this.widen(parent, prev, current);
+        if (compare(val, current) == 0)
+          ends.add(current);
+        parent = current;
+      } // while
+  } // remove(T)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+    Node<T> current = this.bottom();
+    for (int pos = 0; pos < i; pos++)
+      current = current.right;
+    return current.val;
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+
+  // +---------------+---------------------------------------------------
+  // | Other Methods |
+  // +---------------+
+
+  /**
+   * Get the number of levels above the bottom.
+   */
+  public int height()
+  {
+    int height = 0;
+    for (Node<T> current = this.head; current.down != null;
+         current = current.down)
+      height++;
+    return height;
+  } // height()
+} // class DeterministicSkipList<T>
@@ -0,0 +1,400 @@
+package taojava.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable sorted lists, laid out in arrays for fast reading.  We
+ * keep the values twice.  One array holds them in order, for get,
+ * iteration, and ranges.  The other holds them in Eytzinger (heap)
+ * order: the root of an implicit balanced search tree is at index 1,
+ * and the children of index k are at 2k and 2k+1.  A search reads
+ * the top few levels of the tree from the same few cache lines every
+ * time, rather than chasing one pointer per step as a skip list does.
+ *
+ * If the list has sort keys, we also keep the keys in Eytzinger order
+ * in a long[], so that a search only reads the values themselves when
+ * keys are equal.
+ *
+ * Make one with SkipList.freeze().  add and remove throw
+ * UnsupportedOperationException, as do the iterators' remove.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class FrozenSortedList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The values, in order.
+   */
+  final Object[] vals;
+
+  /**
+   * The values in Eytzinger order, starting at index 1.
+   */
+  final Object[] tree;
+
+  /**
+   * For each index of tree, the index of the same value in vals.
+   */
+  final int[] ranks;
+
+  /**
+   * The sort keys of the values in tree, or null if there are none.
+   */
+  final long[] keys;
+
+  /**
+   * The order of the values, or null for their natural order.
+   */
+  final Comparator<? super T> comparator;
+
+  /**
+   * Gives the sort key of each value, or null if there are none.
+   */
+  final ToLongFunction<? super T> sortKey;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a list of vals, which must be distinct and in the order
+   * given by comparator and sortKey (as in SkipList).
+   */
+  @SuppressWarnings("unchecked")
+  FrozenSortedList(Object[] vals, Comparator<? super T> comparator,
+                   ToLongFunction<? super T> sortKey)
+  {
+    this.vals = vals;
+    this.tree = new Object[vals.length + 1];
+    this.ranks = new int[vals.length + 1];
+    this.comparator = comparator;
+    this.sortKey = sortKey;
+    this.fill(0, 1);
+    if (sortKey == null)
+      {
+        this.keys = null;
+      } // if there are no keys
+    else
+      {
+        this.keys = new long[this.tree.length];
+        for (int k = 1; k < this.tree.length; k++)
+          this.keys[k] = sortKey.applyAsLong((T) this.tree[k]);
+      } // if there are keys
+  } // FrozenSortedList(Object[], Comparator, ToLongFunction)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Fill the subtree rooted at index k of tree with vals[i], vals[i+1],
+   * and so on, in order.  Returns the index of the first value not
+   * used.
+   */
+  int fill(int i, int k)
+  {
+    if (k < this.tree.length)
+      {
+        i = this.fill(i, 2 * k);
+        this.tree[k] = this.vals[i];
+        this.ranks[k] = i++;
+        i = this.fill(i, 2 * k + 1);
+      } // if k is in the tree
+    return i;
+  } // fill(int, int)
+
+  /**
+   * Compare two values, ignoring their sort keys.
+   */
+  int compareValues(T a, T b)
+  {
+    if (this.comparator == null)
+      return a.compareTo(b);
+    return this.comparator.compare(a, b);
+  } // compareValues(T, T)
+
+  /**
+   * Find the index in tree of the first value greater than or equal to
+   * val, or 0 if there is none.  We go right whenever the value at k
+   * is smaller than val, so the answer is the last index at which we
+   * went left.  That is k with its trailing 1 bits and the 0 bit
+   * above them shifted away.
+   */
+  @SuppressWarnings("unchecked")
+  int lowerBound(T val)
+  {
+    Object[] tree = this.tree;
+    int k = 1;
+    if (this.keys == null)
+      {
+        while (k < tree.length)
+          k = 2 * k + ((this.compareValues(val, (T) tree[k]) > 0) ? 1 : 0);
+      } // if we compare values
+    else
+      {
+        long[] keys = this.keys;
+        long key = this.sortKey.applyAsLong(val);
+        while (k < tree.length)
+          {
+            boolean right = (key != keys[k])
+                            ? (key > keys[k])
+                            : (this.compareValues(val, (T) tree[k]) > 0);
+            k = 2 * k + (right ? 1 : 0);
+          } // while
+      } // if we compare keys
+    return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+  } // lowerBound(T)
+
+  /**
+   * Get the value at index i of vals.
+   */
+  @SuppressWarnings("unchecked")
+  T valAt(int i)
+  {
+    return (T) this.vals[i];
+  } // valAt(int)
+
+  /**
+   * Determine if val appears at index i of vals.
+   */
+  boolean valAppearsAt(T val, int i)
+  {
+    return (i < this.vals.length)
+           && (this.compareValues(val, this.valAt(i)) == 0);
+  } // valAppearsAt(T, int)
+
+  /**
+   * Return an iterator that starts at index start of vals.
+   */
+  Iterator<T> iteratorAt(final int start)
+  {
+    return new Iterator<T>()
+      {
+        // The index of the next value.
+        int i = start;
+
+        public boolean hasNext()
+        {
+          return this.i < FrozenSortedList.this.vals.length;
+        } // hasNext()
+
+        public T next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          return FrozenSortedList.this.valAt(this.i++);
+        } // next()
+      }; // new Iterator<T>
+  } // iteratorAt(int)
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values from smallest to
+   * largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return this.iteratorAt(0);
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values that are greater
+   * than or equal to lo.  Finding lo takes one search of the tree.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    return this.iteratorAt((lo == null) ? 0 : this.rank(lo));
+  } // iterator(T)
+
+  /**
+   * Get the values between lo and hi, compared in the order of this
+   * list.
+   */
+  public Iterable<T> subList(final T lo, final boolean loInclusive,
+                             final T hi, final boolean hiInclusive)
+  {
+    return new Iterable<T>()
+      {
+        public Iterator<T> iterator()
+        {
+          return new RangeIterator<T>(FrozenSortedList.this.iterator(lo),
+                                      lo, loInclusive, hi, hiInclusive,
+                                      FrozenSortedList.this.comparator);
+        } // iterator()
+      }; // new Iterable<T>
+  } // subList(T, boolean, T, boolean)
+
+  /**
+   * Get a spliterator over the values, which splits by index.
+   */
+  public Spliterator<T> spliterator()
+  {
+    Spliterator<T> base = Spliterators.spliterator(this.vals,
+                                                   Spliterator.IMMUTABLE);
+    return new SortedSpliterator<T>(base,
+                                    Spliterator.DISTINCT
+                                        | Spliterator.NONNULL,
+                                    this.comparator);
+  } // spliterator()
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Frozen lists cannot change.
+   *
+   * @throws UnsupportedOperationException
+   *   always
+   */
+  public void add(T val)
+  {
+    throw new UnsupportedOperationException("frozen lists cannot change");
+  } // add(T)
+
+  /**
+   * Determine if the list contains val.
+   */
+  @SuppressWarnings("unchecked")
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+    int k = this.lowerBound(val);
+    return (k != 0) && (this.compareValues(val, (T) this.tree[k]) == 0);
+  } // contains(T)
+
+  /**
+   * Frozen lists cannot change.
+   *
+   * @throws UnsupportedOperationException
+   *   always
+   */
+  public void remove(T val)
+  {
+    throw new UnsupportedOperationException("frozen lists cannot change");
+  } // remove(T)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.vals.length))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.vals.length);
+    return this.valAt(i);
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the list.
+   */
+  public int length()
+  {
+    return this.vals.length;
+  } // length()
+
+  // +-----------------------------+-------------------------------------
+  // | Ranks and Neighbour Queries |
+  // +-----------------------------+
+
+  /**
+   * Get the number of values strictly less than val.
+   */
+  public int rank(T val)
+  {
+    int k = this.lowerBound(val);
+    return (k == 0) ? this.vals.length : this.ranks[k];
+  } // rank(T)
+
+  /**
+   * Get the number of values that are at least lo and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.rank(hi) - this.rank(lo));
+  } // count(T, T)
+
+  /**
+   * Get the smallest value, or null if the list is empty.
+   */
+  public T first()
+  {
+    return (this.vals.length == 0) ? null : this.valAt(0);
+  } // first()
+
+  /**
+   * Get the largest value, or null if the list is empty.
+   */
+  public T last()
+  {
+    int n = this.vals.length;
+    return (n == 0) ? null : this.valAt(n - 1);
+  } // last()
+
+  /**
+   * Get the largest value less than or equal to val, or null if there
+   * is none.
+   */
+  public T floor(T val)
+  {
+    int i = this.rank(val);
+    if (this.valAppearsAt(val, i))
+      return this.valAt(i);
+    return (i == 0) ? null : this.valAt(i - 1);
+  } // floor(T)
+
+  /**
+   * Get the largest value strictly less than val, or null if there is
+   * none.
+   */
+  public T lower(T val)
+  {
+    int i = this.rank(val);
+    return (i == 0) ? null : this.valAt(i - 1);
+  } // lower(T)
+
+  /**
+   * Get the smallest value greater than or equal to val, or null if
+   * there is none.
+   */
+  public T ceiling(T val)
+  {
+    int i = this.rank(val);
+    return (i == this.vals.length) ? null : this.valAt(i);
+  } // ceiling(T)
+
+  /**
+   * Get the smallest value strictly greater than val, or null if there
+   * is none.
+   */
+  public T higher(T val)
+  {
+    int i = this.rank(val);
+    if (this.valAppearsAt(val, i))
+      i++;
+    return (i == this.vals.length) ? null : this.valAt(i);
+  } // higher(T)
+} // class FrozenSortedList<T>
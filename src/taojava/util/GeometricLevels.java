@@ -0,0 +1,97 @@
+package taojava.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Levels computed from a single random draw.  When the probability is
+ * a power of 1/2, say 2^-k, each level above the first needs k more
+ * trailing zero bits in a random long, so we count them with
+ * Long.numberOfTrailingZeros.  For any other probability p, we invert
+ * the geometric distribution instead: for u uniform in (0,1], the
+ * level is 1 + floor(log(u) / log(p)).  Not safe for use by more than
+ * one thread at a time.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class GeometricLevels
+    implements LevelGenerator
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The number of trailing zero bits per level, if the probability
+   * is a power of 1/2, and 0 otherwise.
+   */
+  int bitsPerLevel;
+
+  /**
+   * The log of the probability of moving up a level.
+   */
+  double logProbability;
+
+  /**
+   * The source of randomness.
+   */
+  SplittableRandom random;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a generator with an unpredictable seed.
+   */
+  public GeometricLevels(double probability)
+  {
+    this(probability, new SplittableRandom());
+  } // GeometricLevels(double)
+
+  /**
+   * Create a generator with a fixed seed.
+   */
+  public GeometricLevels(double probability, long seed)
+  {
+    this(probability, new SplittableRandom(seed));
+  } // GeometricLevels(double, long)
+
+  /**
+   * Create a generator that draws from random.
+   */
+  GeometricLevels(double probability, SplittableRandom random)
+  {
+    this.random = random;
+    this.logProbability = Math.log(probability);
+    double bits = -this.logProbability / Math.log(2);
+    if ((bits >= 1) && (bits < 64) && (Math.rint(bits) == bits))
+      this.bitsPerLevel = (int) bits;
+    else
+      this.bitsPerLevel = 0;
+  } // GeometricLevels(double, SplittableRandom)
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Generate a random level between 1 and max (inclusive).
+   */
+  public int randomLevel(int max)
+  {
+    int level;
+    if (this.bitsPerLevel > 0)
+      {
+        int zeros = Long.numberOfTrailingZeros(this.random.nextLong());
+        level = 1 + zeros / this.bitsPerLevel;
+      } // if the probability is a power of 1/2
+    else
+      {
+        double u = 1.0 - this.random.nextDouble();
+        level = 1 + (int) (Math.log(u) / this.logProbability);
+      } // if the probability is anything else
+    return Math.min(Math.max(level, 1), max);
+  } // randomLevel(int)
+} // class GeometricLevels
@@ -0,0 +1,460 @@
+package taojava.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * An indexable implementation of skip lists.  Each link also records
+ * its width (the number of level-0 steps it spans), so that we can
+ * find the ith element by descending the levels rather than by walking
+ * the bottom level.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class IndexedSkipList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Head of the list.  The head has every level and sits at position 0.
+   */
+  Node<T> head;
+
+  /**
+   * The maximum number of levels a node may have.
+   */
+  int maxLevel;
+
+  /**
+   * The highest level currently in use.
+   */
+  int level;
+
+  /**
+   * The size of the skip list.
+   */
+  int size;
+
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * Nodes for indexed skip lists.
+   */
+  static class Node<T>
+  {
+    // +--------+--------------------------------------------------------
+    // | Fields |
+    // +--------+
+
+    /**
+     * The value stored in the node.
+     */
+    T val;
+
+    /**
+     * The links at each level of the node.
+     */
+    Node<T>[] next;
+
+    /**
+     * The number of level-0 steps spanned by each link.  Only
+     * meaningful when the corresponding link is not null.
+     */
+    int[] width;
+
+    // +--------------+--------------------------------------------------
+    // | Constructors |
+    // +--------------+
+
+    /**
+     * Construct a node with the given number of levels.
+     */
+    Node(T val, int levels)
+    {
+      this.val = val;
+      this.next = nodeArray(levels);
+      this.width = new int[levels];
+    } // Node(T, int)
+  } // class Node<T>
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list with up to 20 levels.
+   */
+  public IndexedSkipList()
+  {
+    this(20, .5);
+  } // IndexedSkipList()
+
+  /**
+   * Create an empty list with up to maxLevel levels.
+   */
+  public IndexedSkipList(int maxLevel)
+  {
+    this(maxLevel, .5);
+  } // IndexedSkipList(int)
+
+  /**
+   * Create an empty list with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability.
+   */
+  public IndexedSkipList(int maxLevel, double probability)
+  {
+    this(maxLevel, new GeometricLevels(probability));
+  } // IndexedSkipList(int, double)
+
+  /**
+   * Create an empty list with up to maxLevel levels, whose nodes get
+   * their levels from the given generator.
+   */
+  public IndexedSkipList(int maxLevel, LevelGenerator levels)
+  {
+    this.maxLevel = maxLevel;
+    this.head = new Node<T>(null, maxLevel);
+    this.level = 0;
+    this.size = 0;
+    this.levels = levels;
+  } // IndexedSkipList(int, LevelGenerator)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Make an array of n nodes, all null.  Java cannot make an array of
+   * a generic type, so we make a raw one here, once.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static <T> Node<T>[] nodeArray(int n)
+  {
+    return new Node[n];
+  } // nodeArray(int)
+
+  /**
+   * Generate the number of levels for a new node, between 1 and
+   * maxLevel.
+   */
+  int randomLevel()
+  {
+    return this.levels.randomLevel(this.maxLevel);
+  } // randomLevel()
+
+  /**
+   * Find the nodes that precede val at each level.  Fills in update
+   * with those nodes and pos with their positions, and returns the
+   * node that precedes val at level 0.
+   */
+  Node<T> findPredecessors(T val, Node<T>[] update, int[] pos)
+  {
+    Node<T> current = this.head;
+    int p = 0;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (val.compareTo(current.next[l].val) > 0))
+          {
+            p += current.width[l];
+            current = current.next[l];
+          } // while
+        update[l] = current;
+        pos[l] = p;
+      } // for
+    return current;
+  } // findPredecessors(T, Node<T>[], int[])
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return this.iteratorFrom(this.head);
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values of the list that
+   * are greater than or equal to lo, from smallest to largest.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    if (lo == null)
+      return this.iterator();
+    return this.iteratorFrom(this.findPredecessors(lo,
+                                                   nodeArray(this.maxLevel),
+                                                   new int[this.maxLevel]));
+  } // iterator(T)
+
+  /**
+   * Return an iterator whose first value is the one after start.
+   */
+  Iterator<T> iteratorFrom(final Node<T> start)
+  {
+    return new Iterator<T>()
+      {
+        // The node whose value we most recently returned.
+        Node<T> current = start;
+
+        // Whether we may remove current.
+        boolean removable = false;
+
+        public boolean hasNext()
+        {
+          return this.current.next[0] != null;
+        } // hasNext()
+
+        public T next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          this.current = this.current.next[0];
+          this.removable = true;
+          return this.current.val;
+        } // next()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          this.removable = false;
+          IndexedSkipList.this.remove(this.current.val);
+        } // remove()
+      }; // new Iterator<T>
+  } // iteratorFrom(Node<T>)
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to add, contains(lav) continues to hold.
+   */
+  public void add(T val)
+  {
+    if (val == null)
+      return;
+
+    Node<T>[] update = nodeArray(this.maxLevel);
+    int[] pos = new int[this.maxLevel];
+    Node<T> pred = this.findPredecessors(val, update, pos);
+    if ((pred.next[0] != null) && (val.compareTo(pred.next[0].val) == 0))
+      return;
+
+    int levels = this.randomLevel();
+    if (levels - 1 > this.level)
+      {
+        for (int l = this.level + 1; l < levels; l++)
+          {
+            update[l] = this.head;
+            pos[l] = 0;
+          } // for
+        this.level = levels - 1;
+      } // if the new node is taller than any other
+
+    // The new node lands at position pos[0] + 1; everything after it
+    // moves one step further from the head.
+    int newPos = pos[0] + 1;
+    Node<T> node = new Node<T>(val, levels);
+    for (int l = 0; l < levels; l++)
+      {
+        node.next[l] = update[l].next[l];
+        if (node.next[l] != null)
+          node.width[l] = pos[l] + update[l].width[l] + 1 - newPos;
+        update[l].next[l] = node;
+        update[l].width[l] = newPos - pos[l];
+      } // for each level of the new node
+    for (int l = levels; l <= this.level; l++)
+      {
+        if (update[l].next[l] != null)
+          update[l].width[l]++;
+      } // for each level above the new node
+    this.size++;
+  } // add(T val)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+
+    Node<T> current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (val.compareTo(current.next[l].val) > 0))
+          {
+            current = current.next[l];
+          } // while
+      } // for
+    current = current.next[0];
+    return (current != null) && (val.compareTo(current.val) == 0);
+  } // contains(T)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to remove, contains(lav) continues to hold.
+   */
+  public void remove(T val)
+  {
+    if (val == null)
+      return;
+
+    Node<T>[] update = nodeArray(this.maxLevel);
+    int[] pos = new int[this.maxLevel];
+    Node<T> target = this.findPredecessors(val, update, pos).next[0];
+    if ((target == null) || (val.compareTo(target.val) != 0))
+      return;
+
+    for (int l = 0; l <= this.level; l++)
+      {
+        if (update[l].next[l] == target)
+          {
+            update[l].width[l] += target.width[l] - 1;
+            update[l].next[l] = target.next[l];
+          } // if the link skips to the target
+        else if (update[l].next[l] != null)
+          {
+            update[l].width[l]--;
+          } // if the link skips over the target
+      } // for
+    while ((this.level > 0) && (this.head.next[this.level] == null))
+      {
+        this.level--;
+      } // while
+    this.size--;
+  } // remove(T)
+
+  /**
+   * Remove every value that satisfies filter, in one pass over the
+   * bottom level, relinking each level (and recomputing its widths)
+   * from the values we keep.  Returns true if any were removed.
+   */
+  public boolean removeIf(Predicate<? super T> filter)
+  {
+    Node<T>[] tails = nodeArray(this.maxLevel);
+    int[] tailPos = new int[this.maxLevel];
+    Arrays.fill(tails, this.head);
+    int kept = 0;
+    Node<T> node = this.head.next[0];
+    while (node != null)
+      {
+        Node<T> next = node.next[0];
+        if (!filter.test(node.val))
+          {
+            kept++;
+            for (int l = 0; l < node.next.length; l++)
+              {
+                tails[l].next[l] = node;
+                tails[l].width[l] = kept - tailPos[l];
+                tails[l] = node;
+                tailPos[l] = kept;
+              } // for
+          } // if we keep the value
+        node = next;
+      } // while
+    for (int l = 0; l <= this.level; l++)
+      tails[l].next[l] = null;
+    while ((this.level > 0) && (this.head.next[this.level] == null))
+      {
+        this.level--;
+      } // while
+
+    boolean removed = kept < this.size;
+    this.size = kept;
+    return removed;
+  } // removeIf(Predicate<? super T>)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+
+    // The ith element sits at position i+1.
+    int target = i + 1;
+    int p = 0;
+    Node<T> current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (p + current.width[l] <= target))
+          {
+            p += current.width[l];
+            current = current.next[l];
+          } // while
+        if (p == target)
+          break;
+      } // for
+    return current.val;
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+
+  // +--------------+----------------------------------------------------
+  // | Rank Queries |
+  // +--------------+
+
+  /**
+   * Get the number of values strictly less than val.  That is the
+   * position of the node that precedes val.
+   */
+  public int rank(T val)
+  {
+    int[] pos = new int[this.maxLevel];
+    this.findPredecessors(val, nodeArray(this.maxLevel), pos);
+    return pos[0];
+  } // rank(T)
+
+  /**
+   * Get the number of values that are at least lo and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.rank(hi) - this.rank(lo));
+  } // count(T, T)
+} // class IndexedSkipList<T>
@@ -0,0 +1,368 @@
+package taojava.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Sorted sets of ints, kept in blocks of up to 64 values.  A search
+ * first finds the block (by a binary search of the first values of the
+ * blocks) and then counts the values in the block that are smaller
+ * than the target.
+ *
+ * Neither step branches on the result of a comparison, so the CPU
+ * never mispredicts which way the search goes.  The binary search
+ * picks the next half with a conditional move rather than a branch,
+ * and the count scans every slot of the block and adds the results of
+ * the comparisons.  The unused slots at the end of each block hold
+ * Integer.MAX_VALUE, which is never smaller than the target, so every
+ * scan has the same length.  HotSpot can unroll that loop and, on
+ * machines with vector units, compare several ints at a time.
+ *
+ * get walks the blocks, so takes O(n/64) steps.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class IntBlockList
+{
+  // +-----------+-------------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The number of values a block can hold.
+   */
+  static final int BLOCK_SIZE = 64;
+
+  /**
+   * The value in the unused slots of a block.
+   */
+  static final int EMPTY = Integer.MAX_VALUE;
+
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The blocks, in order.  Only the first blockCount are in use.
+   */
+  int[][] blocks;
+
+  /**
+   * The number of values in each block.
+   */
+  int[] counts;
+
+  /**
+   * The first value of each block.
+   */
+  int[] firsts;
+
+  /**
+   * The number of blocks in use.  None of them is empty.
+   */
+  int blockCount;
+
+  /**
+   * The number of values in the set.
+   */
+  int size;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty set.
+   */
+  public IntBlockList()
+  {
+    this.blocks = new int[4][];
+    this.counts = new int[4];
+    this.firsts = new int[4];
+    this.blockCount = 0;
+    this.size = 0;
+  } // IntBlockList()
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Create a block with no values.
+   */
+  static int[] emptyBlock()
+  {
+    int[] block = new int[BLOCK_SIZE];
+    Arrays.fill(block, EMPTY);
+    return block;
+  } // emptyBlock()
+
+  /**
+   * Count the values in block that are smaller than val.
+   */
+  static int countSmaller(int[] block, int val)
+  {
+    int count = 0;
+    for (int i = 0; i < BLOCK_SIZE; i++)
+      count += (block[i] < val) ? 1 : 0;
+    return count;
+  } // countSmaller(int[], int)
+
+  /**
+   * Find the last block whose first value is at most val, or block 0
+   * if there is none.  There must be at least one block.
+   */
+  int findBlock(int val)
+  {
+    int[] firsts = this.firsts;
+    int base = 0;
+    int n = this.blockCount;
+    while (n > 1)
+      {
+        int half = n >>> 1;
+        base = (firsts[base + half] <= val) ? base + half : base;
+        n -= half;
+      } // while
+    return base;
+  } // findBlock(int)
+
+  /**
+   * Make room for a block at index b, shifting the later blocks up.
+   */
+  void openBlock(int b)
+  {
+    if (this.blockCount == this.blocks.length)
+      {
+        int capacity = 2 * this.blocks.length;
+        this.blocks = Arrays.copyOf(this.blocks, capacity);
+        this.counts = Arrays.copyOf(this.counts, capacity);
+        this.firsts = Arrays.copyOf(this.firsts, capacity);
+      } // if the arrays are full
+    int later = this.blockCount - b;
+    System.arraycopy(this.blocks, b, this.blocks, b + 1, later);
+    System.arraycopy(this.counts, b, this.counts, b + 1, later);
+    System.arraycopy(this.firsts, b, this.firsts, b + 1, later);
+    this.blockCount++;
+  } // openBlock(int)
+
+  /**
+   * Remove the block at index b, shifting the later blocks down.
+   */
+  void closeBlock(int b)
+  {
+    int later = this.blockCount - b - 1;
+    System.arraycopy(this.blocks, b + 1, this.blocks, b, later);
+    System.arraycopy(this.counts, b + 1, this.counts, b, later);
+    System.arraycopy(this.firsts, b + 1, this.firsts, b, later);
+    this.blockCount--;
+    this.blocks[this.blockCount] = null;
+  } // closeBlock(int)
+
+  /**
+   * Split the full block at index b into two blocks of half as many
+   * values.
+   */
+  void split(int b)
+  {
+    int half = BLOCK_SIZE / 2;
+    int[] lower = this.blocks[b];
+    int[] upper = emptyBlock();
+    System.arraycopy(lower, half, upper, 0, BLOCK_SIZE - half);
+    Arrays.fill(lower, half, BLOCK_SIZE, EMPTY);
+    this.openBlock(b + 1);
+    this.blocks[b + 1] = upper;
+    this.counts[b] = half;
+    this.counts[b + 1] = BLOCK_SIZE - half;
+    this.firsts[b + 1] = upper[0];
+  } // split(int)
+
+  /**
+   * Merge the block at index b+1 into the block at index b if their
+   * values fill no more than half a block.
+   */
+  void merge(int b)
+  {
+    if ((b < 0) || (b + 1 >= this.blockCount)
+        || (2 * (this.counts[b] + this.counts[b + 1]) > BLOCK_SIZE))
+      return;
+    System.arraycopy(this.blocks[b + 1], 0, this.blocks[b], this.counts[b],
+                     this.counts[b + 1]);
+    this.counts[b] += this.counts[b + 1];
+    this.closeBlock(b + 1);
+  } // merge(int)
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   */
+  public void add(int val)
+  {
+    if (this.blockCount == 0)
+      {
+        this.openBlock(0);
+        this.blocks[0] = emptyBlock();
+        this.counts[0] = 0;
+      } // if there are no blocks
+
+    int b = this.findBlock(val);
+    int i = countSmaller(this.blocks[b], val);
+    if ((i < this.counts[b]) && (this.blocks[b][i] == val))
+      return;
+    if (this.counts[b] == BLOCK_SIZE)
+      {
+        this.split(b);
+        if (i > this.counts[b])
+          {
+            i -= this.counts[b];
+            b++;
+          } // if val goes in the upper half
+      } // if the block is full
+
+    int[] block = this.blocks[b];
+    System.arraycopy(block, i, block, i + 1, this.counts[b] - i);
+    block[i] = val;
+    this.counts[b]++;
+    this.firsts[b] = block[0];
+    this.size++;
+  } // add(int)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(int val)
+  {
+    if (this.blockCount == 0)
+      return false;
+    int b = this.findBlock(val);
+    int i = countSmaller(this.blocks[b], val);
+    return (i < this.counts[b]) && (this.blocks[b][i] == val);
+  } // contains(int)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   */
+  public void remove(int val)
+  {
+    if (this.blockCount == 0)
+      return;
+    int b = this.findBlock(val);
+    int[] block = this.blocks[b];
+    int i = countSmaller(block, val);
+    if ((i == this.counts[b]) || (block[i] != val))
+      return;
+
+    int count = --this.counts[b];
+    System.arraycopy(block, i + 1, block, i, count - i);
+    block[count] = EMPTY;
+    this.size--;
+    if (count == 0)
+      {
+        this.closeBlock(b);
+        return;
+      } // if the block is empty
+    this.firsts[b] = block[0];
+    if (b + 1 < this.blockCount)
+      this.merge(b);
+    else
+      this.merge(b - 1);
+  } // remove(int)
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public int get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+    int b = 0;
+    while (i >= this.counts[b])
+      i -= this.counts[b++];
+    return this.blocks[b][i];
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+
+  /**
+   * Return an iterator that steps through the values of the set from
+   * smallest to largest without boxing them.
+   */
+  public PrimitiveIterator.OfInt iterator()
+  {
+    return new PrimitiveIterator.OfInt()
+      {
+        // The block of the next value.
+        int b = 0;
+
+        // The index of the next value in its block.
+        int i = 0;
+
+        // The value we most recently returned.
+        int current;
+
+        // Whether we may remove current.
+        boolean removable = false;
+
+        public boolean hasNext()
+        {
+          IntBlockList list = IntBlockList.this;
+          return (this.b < list.blockCount)
+                 && ((this.i < list.counts[this.b])
+                     || (this.b + 1 < list.blockCount));
+        } // hasNext()
+
+        public int nextInt()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          if (this.i >= IntBlockList.this.counts[this.b])
+            {
+              this.b++;
+              this.i = 0;
+            } // if we've finished the block
+          this.current = IntBlockList.this.blocks[this.b][this.i++];
+          this.removable = true;
+          return this.current;
+        } // nextInt()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          IntBlockList list = IntBlockList.this;
+          list.remove(this.current);
+          this.removable = false;
+          // Blocks may have split or merged, so find our place again.
+          if (list.blockCount == 0)
+            {
+              this.b = 0;
+              this.i = 0;
+            } // if the set is empty
+          else
+            {
+              this.b = list.findBlock(this.current);
+              this.i = countSmaller(list.blocks[this.b], this.current);
+            } // if there are values left
+        } // remove()
+      }; // new PrimitiveIterator.OfInt
+  } // iterator()
+} // class IntBlockList
@@ -0,0 +1,18 @@
+package taojava.util;
+
+/**
+ * Strategies for choosing the number of levels of new skip list nodes.
+ * A generator is built with a probability p; level k+1 should come up
+ * p times as often as level k.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public interface LevelGenerator
+{
+  /**
+   * Generate a random level between 1 and max (inclusive).
+   */
+  public int randomLevel(int max);
+} // interface LevelGenerator
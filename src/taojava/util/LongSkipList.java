@@ -0,0 +1,265 @@
+package taojava.util;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Skip lists of longs.  Follows the structure of SkipList, but stores
+ * the values unboxed and compares them directly, so that adding and
+ * searching never allocate Longs.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class LongSkipList
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Head of the list.
+   */
+  Node head;
+
+  /**
+   * The maximum number of levels a node may have.
+   */
+  int maxLevel;
+
+  /**
+   * The highest level currently in use.
+   */
+  int level;
+
+  /**
+   * The size of the skip list.
+   */
+  int size;
+
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * Nodes for long skip lists.
+   */
+  static class Node
+  {
+    /**
+     * The value stored in the node.
+     */
+    long val;
+
+    /**
+     * The links at each level of the node.
+     */
+    Node[] next;
+
+    /**
+     * Construct a node with the given number of levels.
+     */
+    Node(long val, int levels)
+    {
+      this.val = val;
+      this.next = new Node[levels];
+    } // Node(long, int)
+  } // class Node
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list with up to 20 levels.
+   */
+  public LongSkipList()
+  {
+    this(20, .5);
+  } // LongSkipList()
+
+  /**
+   * Create an empty list with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability.
+   */
+  public LongSkipList(int maxLevel, double probability)
+  {
+    this(maxLevel, new GeometricLevels(probability));
+  } // LongSkipList(int, double)
+
+  /**
+   * Create an empty list with up to maxLevel levels, whose nodes get
+   * their levels from the given generator.
+   */
+  public LongSkipList(int maxLevel, LevelGenerator levels)
+  {
+    this.maxLevel = maxLevel;
+    this.head = new Node(0, maxLevel);
+    this.level = 0;
+    this.size = 0;
+    this.levels = levels;
+  } // LongSkipList(int, LevelGenerator)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Generate the number of levels for a new node, between 1 and
+   * maxLevel.
+   */
+  int randomLevel()
+  {
+    return this.levels.randomLevel(this.maxLevel);
+  } // randomLevel()
+
+  /**
+   * Find the nodes that precede val at each level.  Fills in update
+   * (if it is non-null) and returns the node that precedes val at
+   * level 0.
+   */
+  Node findPredecessors(long val, Node[] update)
+  {
+    Node current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null) && (current.next[l].val < val))
+          {
+            current = current.next[l];
+          } // while
+        if (update != null)
+          update[l] = current;
+      } // for
+    return current;
+  } // findPredecessors(long, Node[])
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   */
+  public void add(long val)
+  {
+    Node[] update = new Node[this.maxLevel];
+    Node pred = this.findPredecessors(val, update);
+    if ((pred.next[0] != null) && (pred.next[0].val == val))
+      return;
+
+    int levels = this.randomLevel();
+    for (int l = this.level + 1; l < levels; l++)
+      update[l] = this.head;
+    if (levels - 1 > this.level)
+      this.level = levels - 1;
+
+    Node node = new Node(val, levels);
+    for (int l = 0; l < levels; l++)
+      {
+        node.next[l] = update[l].next[l];
+        update[l].next[l] = node;
+      } // for
+    this.size++;
+  } // add(long)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(long val)
+  {
+    Node next = this.findPredecessors(val, null).next[0];
+    return (next != null) && (next.val == val);
+  } // contains(long)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   */
+  public void remove(long val)
+  {
+    Node[] update = new Node[this.maxLevel];
+    Node target = this.findPredecessors(val, update).next[0];
+    if ((target == null) || (target.val != val))
+      return;
+
+    for (int l = 0; l < target.next.length; l++)
+      update[l].next[l] = target.next[l];
+    while ((this.level > 0) && (this.head.next[this.level] == null))
+      {
+        this.level--;
+      } // while
+    this.size--;
+  } // remove(long)
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public long get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+    Node current = this.head.next[0];
+    for (int pos = 0; pos < i; pos++)
+      current = current.next[0];
+    return current.val;
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest without boxing them.
+   */
+  public PrimitiveIterator.OfLong iterator()
+  {
+    return new PrimitiveIterator.OfLong()
+      {
+        // The node whose value we most recently returned.
+        Node current = LongSkipList.this.head;
+
+        // Whether we may remove current.
+        boolean removable = false;
+
+        public boolean hasNext()
+        {
+          return this.current.next[0] != null;
+        } // hasNext()
+
+        public long nextLong()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          this.current = this.current.next[0];
+          this.removable = true;
+          return this.current.val;
+        } // nextLong()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          this.removable = false;
+          LongSkipList.this.remove(this.current.val);
+        } // remove()
+      }; // new PrimitiveIterator.OfLong
+  } // iterator()
+} // class LongSkipList
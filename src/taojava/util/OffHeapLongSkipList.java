@@ -0,0 +1,388 @@
+package taojava.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Skip lists of longs that live outside the Java heap.  Nodes are
+ * records in direct ByteBuffers (chunks), so the garbage collector
+ * sees only a handful of buffer objects no matter how large the list
+ * grows.
+ *
+ * A node is referred to by its offset in 4-byte words; the record at
+ * that offset holds the key (8 bytes), the number of levels (4 bytes),
+ * and one 4-byte link per level.  Records never span chunks.  Removed
+ * records go on a free list for their height and are reused.
+ *
+ * Call close when done with the list.  Closing drops the chunks and
+ * makes every later operation throw IllegalStateException; the native
+ * memory of a direct buffer is returned once the buffer object itself
+ * is collected.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class OffHeapLongSkipList
+    implements AutoCloseable
+{
+  // +-----------+-------------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The reference that marks the end of a level.
+   */
+  static final int NIL = -1;
+
+  /**
+   * log2 of the number of words in a chunk.
+   */
+  static final int CHUNK_SHIFT = 18;
+
+  /**
+   * The number of words in a chunk (1 MB).
+   */
+  static final int CHUNK_WORDS = 1 << CHUNK_SHIFT;
+
+  /**
+   * The number of words before the links of a record.
+   */
+  static final int HEADER_WORDS = 3;
+
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The chunks that hold the records.  Null once the list is closed.
+   */
+  ByteBuffer[] chunks;
+
+  /**
+   * The number of chunks in use.
+   */
+  int chunkCount;
+
+  /**
+   * The next free word in the last chunk.
+   */
+  int top;
+
+  /**
+   * For each height, the first free record of that height (or NIL).
+   */
+  int[] free;
+
+  /**
+   * The reference of the head, which has every level.
+   */
+  int head;
+
+  /**
+   * The maximum number of levels a node may have.
+   */
+  int maxLevel;
+
+  /**
+   * The highest level currently in use.
+   */
+  int level;
+
+  /**
+   * The size of the skip list.
+   */
+  int size;
+
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list with up to 20 levels.
+   */
+  public OffHeapLongSkipList()
+  {
+    this(20, .5);
+  } // OffHeapLongSkipList()
+
+  /**
+   * Create an empty list with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability.
+   */
+  public OffHeapLongSkipList(int maxLevel, double probability)
+  {
+    this(maxLevel, new GeometricLevels(probability));
+  } // OffHeapLongSkipList(int, double)
+
+  /**
+   * Create an empty list with up to maxLevel levels, whose nodes get
+   * their levels from the given generator.
+   */
+  public OffHeapLongSkipList(int maxLevel, LevelGenerator levels)
+  {
+    this.maxLevel = maxLevel;
+    this.levels = levels;
+    this.chunks = new ByteBuffer[4];
+    this.chunkCount = 0;
+    this.top = CHUNK_WORDS;
+    this.free = new int[maxLevel + 1];
+    Arrays.fill(this.free, NIL);
+    this.level = 0;
+    this.size = 0;
+    this.head = this.allocate(0, maxLevel);
+  } // OffHeapLongSkipList(int, LevelGenerator)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Generate the number of levels for a new node, between 1 and
+   * maxLevel.
+   */
+  int randomLevel()
+  {
+    return this.levels.randomLevel(this.maxLevel);
+  } // randomLevel()
+
+  /**
+   * Get the chunk that holds node.
+   */
+  ByteBuffer chunk(int node)
+  {
+    if (this.chunks == null)
+      throw new IllegalStateException("list is closed");
+    return this.chunks[node >>> CHUNK_SHIFT];
+  } // chunk(int)
+
+  /**
+   * Get the byte offset of word w of node within its chunk.
+   */
+  static int offset(int node, int w)
+  {
+    return ((node & (CHUNK_WORDS - 1)) + w) << 2;
+  } // offset(int, int)
+
+  /**
+   * Get the key of node.
+   */
+  long key(int node)
+  {
+    return this.chunk(node).getLong(offset(node, 0));
+  } // key(int)
+
+  /**
+   * Get the number of levels of node.
+   */
+  int height(int node)
+  {
+    return this.chunk(node).getInt(offset(node, 2));
+  } // height(int)
+
+  /**
+   * Get the link from node at level l.
+   */
+  int next(int node, int l)
+  {
+    return this.chunk(node).getInt(offset(node, HEADER_WORDS + l));
+  } // next(int, int)
+
+  /**
+   * Set the link from node at level l.
+   */
+  void setNext(int node, int l, int target)
+  {
+    this.chunk(node).putInt(offset(node, HEADER_WORDS + l), target);
+  } // setNext(int, int, int)
+
+  /**
+   * Get a record with the given key and number of levels, reusing a
+   * free record if there is one.  All of its links are NIL.
+   */
+  int allocate(long key, int levels)
+  {
+    int node = this.free[levels];
+    if (node != NIL)
+      {
+        this.free[levels] = this.next(node, 0);
+      } // if we can reuse a record
+    else
+      {
+        int words = HEADER_WORDS + levels;
+        if (this.top + words > CHUNK_WORDS)
+          {
+            if (this.chunkCount == this.chunks.length)
+              this.chunks = Arrays.copyOf(this.chunks, 2 * this.chunkCount);
+            this.chunks[this.chunkCount++] =
+                ByteBuffer.allocateDirect(CHUNK_WORDS << 2)
+                          .order(ByteOrder.nativeOrder());
+            this.top = 0;
+          } // if we need a new chunk
+        node = ((this.chunkCount - 1) << CHUNK_SHIFT) + this.top;
+        this.top += words;
+        this.chunk(node).putInt(offset(node, 2), levels);
+      } // if we need a new record
+    this.chunk(node).putLong(offset(node, 0), key);
+    for (int l = 0; l < levels; l++)
+      this.setNext(node, l, NIL);
+    return node;
+  } // allocate(long, int)
+
+  /**
+   * Find the nodes that precede val at each level.  Fills in update
+   * (if it is non-null) and returns the node that precedes val at
+   * level 0.
+   */
+  int findPredecessors(long val, int[] update)
+  {
+    int current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        int next = this.next(current, l);
+        while ((next != NIL) && (this.key(next) < val))
+          {
+            current = next;
+            next = this.next(current, l);
+          } // while
+        if (update != null)
+          update[l] = current;
+      } // for
+    return current;
+  } // findPredecessors(long, int[])
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   */
+  public void add(long val)
+  {
+    int[] update = new int[this.maxLevel];
+    int next = this.next(this.findPredecessors(val, update), 0);
+    if ((next != NIL) && (this.key(next) == val))
+      return;
+
+    int levels = this.randomLevel();
+    for (int l = this.level + 1; l < levels; l++)
+      update[l] = this.head;
+    if (levels - 1 > this.level)
+      this.level = levels - 1;
+
+    int node = this.allocate(val, levels);
+    for (int l = 0; l < levels; l++)
+      {
+        this.setNext(node, l, this.next(update[l], l));
+        this.setNext(update[l], l, node);
+      } // for
+    this.size++;
+  } // add(long)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(long val)
+  {
+    int next = this.next(this.findPredecessors(val, null), 0);
+    return (next != NIL) && (this.key(next) == val);
+  } // contains(long)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   */
+  public void remove(long val)
+  {
+    int[] update = new int[this.maxLevel];
+    int target = this.next(this.findPredecessors(val, update), 0);
+    if ((target == NIL) || (this.key(target) != val))
+      return;
+
+    int levels = this.height(target);
+    for (int l = 0; l < levels; l++)
+      this.setNext(update[l], l, this.next(target, l));
+    this.setNext(target, 0, this.free[levels]);
+    this.free[levels] = target;
+    while ((this.level > 0) && (this.next(this.head, this.level) == NIL))
+      {
+        this.level--;
+      } // while
+    this.size--;
+  } // remove(long)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    if (this.chunks == null)
+      throw new IllegalStateException("list is closed");
+    return this.size;
+  } // length()
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest without boxing them.
+   */
+  public PrimitiveIterator.OfLong iterator()
+  {
+    return new PrimitiveIterator.OfLong()
+      {
+        // The node whose value we return next.
+        int next = OffHeapLongSkipList.this.next(head, 0);
+
+        // The value we most recently returned.
+        long current;
+
+        // Whether we may remove current.
+        boolean removable = false;
+
+        public boolean hasNext()
+        {
+          return this.next != NIL;
+        } // hasNext()
+
+        public long nextLong()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          this.current = OffHeapLongSkipList.this.key(this.next);
+          this.next = OffHeapLongSkipList.this.next(this.next, 0);
+          this.removable = true;
+          return this.current;
+        } // nextLong()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          this.removable = false;
+          OffHeapLongSkipList.this.remove(this.current);
+        } // remove()
+      }; // new PrimitiveIterator.OfLong
+  } // iterator()
+
+  /**
+   * Release the memory used by the list.  The list may not be used
+   * afterwards.
+   */
+  public void close()
+  {
+    this.chunks = null;
+    this.chunkCount = 0;
+    this.size = 0;
+  } // close()
+} // class OffHeapLongSkipList
@@ -0,0 +1,618 @@
+package taojava.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * Persistent skip lists.  A PersistentSkipList is one version of a
+ * sorted set, and never changes: add and remove return a new version
+ * and leave the old one as it was.  Versions share their nodes.
+ *
+ * We use "fat" links (Driscoll et al.'s fat nodes).  Rather than one
+ * successor, each link of a node keeps a chain of (version, successor)
+ * pairs, newest first.  A new version adds at most one pair per link
+ * it changes, so an update allocates O(log n) expected space rather
+ * than copying the list.  A reader of version v follows, at each link,
+ * the newest pair no newer than v.  Reading the newest version takes
+ * the first pair every time, so it costs the same as a plain skip list.
+ * Each pair also has a jump pointer to an older pair of its chain,
+ * arranged as in Myers' skew-binary lists, so a reader of an older
+ * version reaches its pair in O(log m) steps on a chain of m pairs.
+ *
+ * The family keeps weak references to its versions, so it knows which
+ * ones are still in use.  A pair is needed only if some version in use
+ * reads it, and each pair but the newest is needed by different
+ * versions, so at most k + 1 pairs of a chain are needed when k
+ * versions are in use.  When we add to a chain that is more than
+ * twice as long as that, or than it was when we last pruned it, we
+ * rebuild it without the pairs that no version in use reads.  At
+ * least half of the pairs go each time, so pruning costs O(1)
+ * amortized per update.  Once the collector has noticed that the
+ * versions in between are gone, a chain holds O(k) pairs, and nodes
+ * that only released versions reached drop out of the chains and can
+ * be collected.
+ *
+ * Only the newest version of a family can be updated in place
+ * (partial persistence).  Adding to or removing from an older version
+ * first copies it into a new family, which takes O(n) steps.
+ * Updates to one family are serialized.  Reads take no locks, so any
+ * thread may read or iterate any version while another thread makes
+ * newer ones.  Pruning builds new chains rather than changing old
+ * ones, so a reader partway along a chain is not disturbed.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class PersistentSkipList<T extends Comparable<T>>
+    implements Iterable<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The nodes shared by every version of this family.
+   */
+  final Store<T> store;
+
+  /**
+   * The version this list represents.
+   */
+  final int version;
+
+  /**
+   * The number of values in this version.
+   */
+  final int size;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * One entry in the history of a link: from the given version on
+   * (until a newer entry), the link leads to target.  Entries never
+   * change once made, so readers may share them without locks.
+   */
+  static final class Link<T>
+  {
+    /**
+     * The first version in which the link leads to target.
+     */
+    final int version;
+
+    /**
+     * The node the link leads to, or null for the end of the level.
+     */
+    final Node<T> target;
+
+    /**
+     * The entry for earlier versions, or null if there is none.
+     */
+    final Link<T> older;
+
+    /**
+     * The number of entries in the chain from this one on.
+     */
+    final int length;
+
+    /**
+     * An older entry of the chain, which lets readers skip ahead
+     * without passing the entry they want.  Null if there is none.
+     */
+    final Link<T> jump;
+
+    /**
+     * The length of the chain when it was last pruned.
+     */
+    final int pruned;
+
+    /**
+     * Construct a link entry in front of older.
+     */
+    Link(int version, Node<T> target, Link<T> older)
+    {
+      this(version, target, older,
+           (older == null) ? 1 : older.pruned);
+    } // Link(int, Node<T>, Link<T>)
+
+    /**
+     * Construct a link entry in front of older, in a chain that was
+     * pruned when it had the given length.
+     */
+    Link(int version, Node<T> target, Link<T> older, int pruned)
+    {
+      this.version = version;
+      this.target = target;
+      this.older = older;
+      this.length = (older == null) ? 1 : older.length + 1;
+      this.pruned = pruned;
+      // As in a skew-binary list, jump twice as far as older does when
+      // older and its jump cover spans of the same length.
+      if ((older != null) && (older.jump != null)
+          && (older.length - older.jump.length
+              == older.jump.length - length(older.jump.jump)))
+        this.jump = older.jump.jump;
+      else
+        this.jump = older;
+    } // Link(int, Node<T>, Link<T>, int)
+
+    /**
+     * Get the length of the chain that starts at link, which may be
+     * null.
+     */
+    static int length(Link<?> link)
+    {
+      return (link == null) ? 0 : link.length;
+    } // length(Link<?>)
+  } // class Link<T>
+
+  /**
+   * Nodes for persistent skip lists.  A node's value and height never
+   * change.  Each element of next is the newest entry of the history
+   * of the link at that level.  A writer replaces an element with a
+   * newer entry that points to the one it replaces.  So a reader that
+   * sees either entry still finds every entry for its version.
+   */
+  static final class Node<T>
+  {
+    /**
+     * The value stored in the node.
+     */
+    final T val;
+
+    /**
+     * The newest entry of the link at each level.
+     */
+    final Link<T>[] next;
+
+    /**
+     * Construct a node whose links are the given entries.
+     */
+    Node(T val, Link<T>[] next)
+    {
+      this.val = val;
+      this.next = next;
+    } // Node(T, Link<T>[])
+  } // class Node<T>
+
+  /**
+   * A weak reference to a version, which remembers the version number
+   * so that we can tell which version was released.
+   */
+  static final class Handle<T extends Comparable<T>>
+      extends WeakReference<PersistentSkipList<T>>
+  {
+    /**
+     * The version of the list.
+     */
+    final int version;
+
+    /**
+     * Construct a handle on list, which the collector enqueues on
+     * released once list is unreachable.
+     */
+    Handle(PersistentSkipList<T> list,
+           ReferenceQueue<PersistentSkipList<T>> released)
+    {
+      super(list, released);
+      this.version = list.version;
+    } // Handle(PersistentSkipList<T>, ReferenceQueue<...>)
+  } // class Handle<T>
+
+  /**
+   * The state shared by the versions of one family.
+   */
+  static final class Store<T extends Comparable<T>>
+  {
+    /**
+     * Head of every version.  Its links have every level.
+     */
+    final Node<T> head;
+
+    /**
+     * The source of random levels.  Copies of a family share it, so
+     * we use it only while holding its own lock.
+     */
+    final LevelGenerator levels;
+
+    /**
+     * The newest version.  Only used while holding the lock on the
+     * store.
+     */
+    int latest;
+
+    /**
+     * For each version in use, the number of handles on it.  Only
+     * used while holding the lock on the store, as are handles and
+     * released.
+     */
+    final TreeMap<Integer, Integer> live;
+
+    /**
+     * The handles on the versions of the family.  We keep them here
+     * so that the collector enqueues them when it clears them.
+     */
+    final HashSet<Handle<T>> handles;
+
+    /**
+     * Where the collector puts the handles of released versions.
+     */
+    final ReferenceQueue<PersistentSkipList<T>> released;
+
+    /**
+     * Create a store whose only version (0) is empty.
+     */
+    Store(int maxLevel, LevelGenerator levels)
+    {
+      Link<T>[] next = linkArray(maxLevel);
+      for (int l = 0; l < maxLevel; l++)
+        next[l] = new Link<T>(0, null, null);
+      this.head = new Node<T>(null, next);
+      this.levels = levels;
+      this.latest = 0;
+      this.live = new TreeMap<Integer, Integer>();
+      this.handles = new HashSet<Handle<T>>();
+      this.released = new ReferenceQueue<PersistentSkipList<T>>();
+    } // Store(int, LevelGenerator)
+
+    /**
+     * Note that list is a version in use.
+     */
+    void track(PersistentSkipList<T> list)
+    {
+      this.handles.add(new Handle<T>(list, this.released));
+      this.live.merge(list.version, 1, Integer::sum);
+    } // track(PersistentSkipList<T>)
+
+    /**
+     * Forget the versions the collector has found unreachable.
+     */
+    @SuppressWarnings("unchecked")
+    void expunge()
+    {
+      Handle<T> handle;
+      while ((handle = (Handle<T>) this.released.poll()) != null)
+        {
+          this.handles.remove(handle);
+          if (this.live.merge(handle.version, -1, Integer::sum) == 0)
+            this.live.remove(handle.version);
+        } // while
+    } // expunge()
+
+    /**
+     * Determine if some version in use is at least lo and less than
+     * hi.
+     */
+    boolean inUse(int lo, int hi)
+    {
+      Integer version = this.live.ceilingKey(lo);
+      return (version != null) && (version < hi);
+    } // inUse(int, int)
+
+    /**
+     * Put a new entry (for version v, leading to target) in front of
+     * the link of node at the given level.  If the chain is now more
+     * than twice as long as it can need to be, or as it was when we
+     * last pruned it, drop the entries that no version in use reads.
+     */
+    void push(Node<T> node, int level, int v, Node<T> target)
+    {
+      Link<T> link = new Link<T>(v, target, node.next[level]);
+      int needed = Math.min(link.pruned, this.live.size() + 1);
+      if (link.length > 2 * needed + 2)
+        link = this.prune(link);
+      node.next[level] = link;
+    } // push(Node<T>, int, int, Node<T>)
+
+    /**
+     * Build a copy of the chain that starts at newest, without the
+     * entries that no version in use reads.  An entry is read by the
+     * versions from its own up to (but not including) that of the
+     * next newer entry.  We always keep newest.
+     */
+    Link<T> prune(Link<T> newest)
+    {
+      Link<T>[] kept = linkArray(newest.length);
+      int count = 0;
+      kept[count++] = newest;
+      for (Link<T> link = newest.older, newer = newest; link != null;
+           newer = link, link = link.older)
+        {
+          if (this.inUse(link.version, newer.version))
+            kept[count++] = link;
+        } // for
+      Link<T> chain = null;
+      for (int i = count - 1; i >= 0; i--)
+        chain = new Link<T>(kept[i].version, kept[i].target, chain, count);
+      return chain;
+    } // prune(Link<T>)
+
+    /**
+     * Pick the number of levels for a new node.
+     */
+    int randomLevel()
+    {
+      synchronized (this.levels)
+        {
+          return this.levels.randomLevel(this.head.next.length);
+        } // synchronized
+    } // randomLevel()
+  } // class Store<T>
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list with up to 20 levels.
+   */
+  public PersistentSkipList()
+  {
+    this(20, .5);
+  } // PersistentSkipList()
+
+  /**
+   * Create an empty list with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability.
+   */
+  public PersistentSkipList(int maxLevel, double probability)
+  {
+    this(maxLevel, new GeometricLevels(probability));
+  } // PersistentSkipList(int, double)
+
+  /**
+   * Create an empty list with up to maxLevel levels, whose nodes get
+   * their levels from the given generator.
+   */
+  public PersistentSkipList(int maxLevel, LevelGenerator levels)
+  {
+    this(new Store<T>(maxLevel, levels), 0, 0);
+  } // PersistentSkipList(int, LevelGenerator)
+
+  /**
+   * Create a handle on a version of a family.
+   */
+  PersistentSkipList(Store<T> store, int version, int size)
+  {
+    this.store = store;
+    this.version = version;
+    this.size = size;
+    synchronized (store)
+      {
+        store.track(this);
+      } // synchronized
+  } // PersistentSkipList(Store<T>, int, int)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Make an array of n nodes, all null.  Java makes arrays of generic
+   * types only raw, so we cast one here.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static <T> Node<T>[] nodeArray(int n)
+  {
+    return new Node[n];
+  } // nodeArray(int)
+
+  /**
+   * Make an array of n link entries, all null.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static <T> Link<T>[] linkArray(int n)
+  {
+    return new Link[n];
+  } // linkArray(int)
+
+  /**
+   * Get the entry of link that is current in this version.
+   */
+  Link<T> current(Link<T> link)
+  {
+    while (link.version > this.version)
+      {
+        if ((link.jump != null) && (link.jump.version > this.version))
+          link = link.jump;
+        else
+          link = link.older;
+      } // while
+    return link;
+  } // current(Link<T>)
+
+  /**
+   * Get the node that follows node at the given level in this version.
+   */
+  Node<T> next(Node<T> node, int level)
+  {
+    return this.current(node.next[level]).target;
+  } // next(Node<T>, int)
+
+  /**
+   * Find the nodes that precede val at each level in this version.
+   * Fills in update (if it is non-null) and returns the node that
+   * precedes val at level 0.
+   */
+  Node<T> findPredecessors(T val, Node<T>[] update)
+  {
+    Node<T> current = this.store.head;
+    for (int l = current.next.length - 1; l >= 0; l--)
+      {
+        Node<T> next = this.next(current, l);
+        while ((next != null) && (val.compareTo(next.val) > 0))
+          {
+            current = next;
+            next = this.next(current, l);
+          } // while
+        if (update != null)
+          update[l] = current;
+      } // for
+    return current;
+  } // findPredecessors(T, Node<T>[])
+
+  /**
+   * Copy this version into a new family, in which it is the newest
+   * (and only) version.
+   */
+  PersistentSkipList<T> copy()
+  {
+    Store<T> store = new Store<T>(this.store.head.next.length,
+                                  this.store.levels);
+    // Link each value after the last node at each of its levels.
+    Node<T>[] tails = nodeArray(store.head.next.length);
+    for (int l = 0; l < tails.length; l++)
+      tails[l] = store.head;
+    for (T val : this)
+      {
+        Link<T>[] next = linkArray(store.randomLevel());
+        for (int l = 0; l < next.length; l++)
+          next[l] = new Link<T>(0, null, null);
+        Node<T> node = new Node<T>(val, next);
+        for (int l = 0; l < next.length; l++)
+          {
+            tails[l].next[l] = new Link<T>(0, node, null);
+            tails[l] = node;
+          } // for
+      } // for
+    return new PersistentSkipList<T>(store, 0, this.size);
+  } // copy()
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of this version
+   * from smallest to largest.  The iterator does not support remove,
+   * since versions never change.
+   */
+  public Iterator<T> iterator()
+  {
+    return new Iterator<T>()
+      {
+        // The node whose value we return next.
+        Node<T> next =
+            PersistentSkipList.this.next(PersistentSkipList.this.store.head,
+                                         0);
+
+        public boolean hasNext()
+        {
+          return this.next != null;
+        } // hasNext()
+
+        public T next()
+        {
+          if (this.next == null)
+            throw new NoSuchElementException();
+          T val = this.next.val;
+          this.next = PersistentSkipList.this.next(this.next, 0);
+          return val;
+        } // next()
+      }; // new Iterator<T>
+  } // iterator()
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get the version that also contains val.  Returns this version if
+   * it already contains val (or val is null).
+   */
+  public PersistentSkipList<T> add(T val)
+  {
+    if (val == null)
+      return this;
+    synchronized (this.store)
+      {
+        if (this.store.latest != this.version)
+          return this.copy().add(val);
+
+        this.store.expunge();
+        Node<T>[] update = nodeArray(this.store.head.next.length);
+        Node<T> next = this.next(this.findPredecessors(val, update), 0);
+        if ((next != null) && (val.compareTo(next.val) == 0))
+          return this;
+
+        int v = this.version + 1;
+        Link<T>[] links = linkArray(this.store.randomLevel());
+        for (int l = 0; l < links.length; l++)
+          links[l] = new Link<T>(v, this.next(update[l], l), null);
+        Node<T> node = new Node<T>(val, links);
+        for (int l = 0; l < links.length; l++)
+          this.store.push(update[l], l, v, node);
+        this.store.latest = v;
+        return new PersistentSkipList<T>(this.store, v, this.size + 1);
+      } // synchronized
+  } // add(T)
+
+  /**
+   * Get the version that does not contain val.  Returns this version
+   * if it does not contain val.
+   */
+  public PersistentSkipList<T> remove(T val)
+  {
+    if (val == null)
+      return this;
+    synchronized (this.store)
+      {
+        if (this.store.latest != this.version)
+          return this.copy().remove(val);
+
+        this.store.expunge();
+        Node<T>[] update = nodeArray(this.store.head.next.length);
+        Node<T> target = this.next(this.findPredecessors(val, update), 0);
+        if ((target == null) || (val.compareTo(target.val) != 0))
+          return this;
+
+        int v = this.version + 1;
+        for (int l = 0; l < target.next.length; l++)
+          this.store.push(update[l], l, v, this.next(target, l));
+        this.store.latest = v;
+        return new PersistentSkipList<T>(this.store, v, this.size - 1);
+      } // synchronized
+  } // remove(T)
+
+  /**
+   * Determine if this version contains val.
+   */
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+    Node<T> next = this.next(this.findPredecessors(val, null), 0);
+    return (next != null) && (val.compareTo(next.val) == 0);
+  } // contains(T)
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+    Node<T> current = this.next(this.store.head, 0);
+    for (int pos = 0; pos < i; pos++)
+      current = this.next(current, 0);
+    return current.val;
+  } // get(int)
+
+  /**
+   * Determine the number of elements in this version.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+} // class PersistentSkipList<T>
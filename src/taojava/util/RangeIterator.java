@@ -0,0 +1,137 @@
+package taojava.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterators over the values of a sorted iteration that fall between
+ * two bounds.  Skips any values below the lower bound (so it is
+ * fastest when the underlying iterator already starts near it) and
+ * stops at the first value past the upper bound.  A null bound means
+ * no bound.  Values are compared in their natural order unless we are
+ * given a comparator.  Since we must look ahead to see whether to stop, range
+ * iterators do not support remove.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+class RangeIterator<T extends Comparable<T>>
+    implements Iterator<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The underlying iterator.
+   */
+  Iterator<T> base;
+
+  /**
+   * The order of the values, or null for their natural order.
+   */
+  Comparator<? super T> order;
+
+  /**
+   * The upper bound, or null if there is none.
+   */
+  T hi;
+
+  /**
+   * Whether hi itself is in the range.
+   */
+  boolean hiInclusive;
+
+  /**
+   * The next value to return, or null if there is none.
+   */
+  T next;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an iterator over the values of base between lo and hi.
+   */
+  RangeIterator(Iterator<T> base, T lo, boolean loInclusive, T hi,
+                boolean hiInclusive)
+  {
+    this(base, lo, loInclusive, hi, hiInclusive, null);
+  } // RangeIterator(Iterator<T>, T, boolean, T, boolean)
+
+  /**
+   * Create an iterator over the values of base between lo and hi, in
+   * the given order (null for the natural order).
+   */
+  RangeIterator(Iterator<T> base, T lo, boolean loInclusive, T hi,
+                boolean hiInclusive, Comparator<? super T> order)
+  {
+    this.base = base;
+    this.order = order;
+    this.hi = hi;
+    this.hiInclusive = hiInclusive;
+    this.next = null;
+    while (base.hasNext())
+      {
+        T val = base.next();
+        if ((lo == null) || (this.compare(val, lo) > 0)
+            || (loInclusive && (this.compare(val, lo) == 0)))
+          {
+            this.next = this.bounded(val);
+            break;
+          } // if we've reached the range
+      } // while
+  } // RangeIterator(Iterator<T>, T, boolean, T, boolean, Comparator)
+
+  // +---------+---------------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Compare two values in our order.
+   */
+  int compare(T a, T b)
+  {
+    return (this.order == null) ? a.compareTo(b) : this.order.compare(a, b);
+  } // compare(T, T)
+
+  /**
+   * Return val if it is no larger than the upper bound and null
+   * otherwise.
+   */
+  T bounded(T val)
+  {
+    if (this.hi == null)
+      return val;
+    int order = this.compare(val, this.hi);
+    if ((order < 0) || (this.hiInclusive && (order == 0)))
+      return val;
+    return null;
+  } // bounded(T)
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  public boolean hasNext()
+  {
+    return this.next != null;
+  } // hasNext()
+
+  public T next()
+  {
+    if (this.next == null)
+      throw new NoSuchElementException();
+    T result = this.next;
+    this.next = this.base.hasNext() ? this.bounded(this.base.next()) : null;
+    return result;
+  } // next()
+
+  public void remove()
+  {
+    throw new UnsupportedOperationException();
+  } // remove()
+} // class RangeIterator<T>
@@ -1,7 +1,13 @@
 package taojava.util;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 // Citation : http://michaelnaper.com/samplework/programming/skiplist_java/SkipList.java
 // Albert helped us understand the add function. 
 
@@ -27,7 +33,7 @@ public class SkipList<T extends Comparable<T>>
   /**
    * Head of the SkipList
    */
-  Node head;
+  Node<T> head;
 
   /**
    * The maximum levels in the list
@@ -44,6 +50,29 @@ public class SkipList<T extends Comparable<T>>
    */
   int size;
 
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  /**
+   * The number of times the list has been changed.  Lets cursors
+   * notice that their saved paths may be stale.
+   */
+  int modCount;
+
+  /**
+   * The order of the values, or null for their natural order.
+   */
+  Comparator<? super T> comparator;
+
+  /**
+   * Maps each value to a long sort key, or null if we don't use sort
+   * keys.  Searches compare the keys, which are cached in the nodes,
+   * and compare the values themselves only when the keys are equal.
+   */
+  ToLongFunction<? super T> sortKey;
+
   // +------------------+------------------------------------------------
   // | Internal Classes |
   // +------------------+
@@ -67,14 +96,26 @@ public class SkipList<T extends Comparable<T>>
      */
     Node<T>[] next;
 
+    /**
+     * The number of level-0 steps spanned by each link.  Only
+     * meaningful when the corresponding link is not null.
+     */
+    int[] width;
+
+    /**
+     * The sort key of val, or 0 if the list does not use sort keys.
+     */
+    long key;
+
     /**
      * Constructs a Node
      */
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     public Node(T value, int setLevel)
     {
       this.val = value;
       next = new Node[setLevel + 1];
+      width = new int[setLevel + 1];
 
       for (int i = 0; i <= setLevel; i++)
         {
@@ -94,8 +135,9 @@ public class SkipList<T extends Comparable<T>>
   {
     this.probability = .5;
     this.maxLevel = 20;
-    this.head = new Node(null, 20);
+    this.head = new Node<T>(null, 20);
     this.size = 0;
+    this.levels = new GeometricLevels(this.probability);
   } //SkipList()
 
   /**
@@ -105,8 +147,9 @@ public class SkipList<T extends Comparable<T>>
   {
     this.probability = .5;
     this.maxLevel = level;
-    this.head = new Node(null, maxLevel);
+    this.head = new Node<T>(null, maxLevel);
     this.size = 0;
+    this.levels = new GeometricLevels(this.probability);
   }// SkipList(int)
 
   /**
@@ -116,28 +159,268 @@ public class SkipList<T extends Comparable<T>>
   {
     this.probability = prob;
     this.maxLevel = level;
-    this.head = new Node(null, maxLevel);
+    this.head = new Node<T>(null, maxLevel);
     this.size = 0;
+    this.levels = new GeometricLevels(prob);
   }// SkipList(int, double)
 
+  /**
+   * SkipList Constructor with maxLevel and a generator for the levels
+   * of new nodes (e.g., one with a fixed seed)
+   */
+  public SkipList(int level, LevelGenerator levels)
+  {
+    this.probability = Double.NaN;
+    this.maxLevel = level;
+    this.head = new Node<T>(null, maxLevel);
+    this.size = 0;
+    this.levels = levels;
+  }// SkipList(int, LevelGenerator)
+
+  /**
+   * SkipList constructor for values in the order given by comparator,
+   * rather than their natural order
+   */
+  public SkipList(Comparator<? super T> comparator)
+  {
+    this();
+    this.comparator = comparator;
+  } // SkipList(Comparator<? super T>)
+
+  /**
+   * SkipList constructor for values in the order given by comparator
+   * (or their natural order, if comparator is null), where sortKey
+   * gives each value a long key that agrees with that order: if a has
+   * a smaller key than b, a must come before b.  Searches compare the
+   * keys and only compare values whose keys are equal.
+   */
+  public SkipList(ToLongFunction<? super T> sortKey,
+                  Comparator<? super T> comparator)
+  {
+    this();
+    this.sortKey = sortKey;
+    this.comparator = comparator;
+  } // SkipList(ToLongFunction<? super T>, Comparator<? super T>)
+
   // +-------------------------+-----------------------------------------
   // | Internal Helper Methods |
   // +-------------------------+
   /**
-   * Generates a random level
+   * Generates a random level, up to the number of levels the list
+   * was built with (even if remove has since lowered maxLevel)
    * @return an int, the level
    */
   public int randomLevel()
   {
-    int newLevel = 1;
-    Random value = new Random();
-    while (value.nextDouble() < this.probability)
-      {
-        newLevel++;
-      }// while random is less than the probability
-    return Math.min(newLevel, this.maxLevel);
+    return this.levels.randomLevel(this.head.next.length - 1);
   } // randomLevel()
 
+  /**
+   * Get the sort key of val, or 0 if we don't use sort keys.
+   */
+  long keyOf(T val)
+  {
+    return (this.sortKey == null) ? 0 : this.sortKey.applyAsLong(val);
+  } // keyOf(T)
+
+  /**
+   * Compare two values, ignoring their sort keys.
+   */
+  int compareValues(T a, T b)
+  {
+    if (this.comparator == null)
+      return a.compareTo(b);
+    return this.comparator.compare(a, b);
+  } // compareValues(T, T)
+
+  /**
+   * Compare val, whose sort key is key, with the value in node.  Only
+   * compares the values when the keys are equal.  (Without sort keys,
+   * every key is 0.)
+   */
+  int compare(T val, long key, Node<T> node)
+  {
+    if (key != node.key)
+      return (key < node.key) ? -1 : 1;
+    return this.compareValues(val, node.val);
+  } // compare(T, long, Node)
+
+  /**
+   * Compare two values in the order of the list.
+   */
+  int compare(T a, T b)
+  {
+    long ka = this.keyOf(a);
+    long kb = this.keyOf(b);
+    if (ka != kb)
+      return (ka < kb) ? -1 : 1;
+    return this.compareValues(a, b);
+  } // compare(T, T)
+
+  /**
+   * Build a new node for val, with its sort key.
+   */
+  Node<T> newNode(T val, int level)
+  {
+    Node<T> node = new Node<T>(val, level);
+    node.key = this.keyOf(val);
+    return node;
+  } // newNode(T, int)
+
+  /**
+   * Make an array of n nodes, all null.  Java cannot make an array of
+   * a generic type, so we make a raw one here, once.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  Node<T>[] nodeArray(int n)
+  {
+    return new Node[n];
+  } // nodeArray(int)
+
+  /**
+   * Make an empty list whose values are in the same order as ours.
+   */
+  SkipList<T> emptyCopy()
+  {
+    SkipList<T> copy = new SkipList<T>();
+    copy.comparator = this.comparator;
+    copy.sortKey = this.sortKey;
+    return copy;
+  } // emptyCopy()
+
+  /**
+   * Make sure other orders its values the same way we do.
+   *
+   * @throws IllegalArgumentException
+   *   if it does not
+   */
+  void checkOrder(SkipList<T> other)
+  {
+    if ((this.comparator != other.comparator)
+        || (this.sortKey != other.sortKey))
+      throw new IllegalArgumentException("lists have different orders");
+  } // checkOrder(SkipList<T>)
+
+  /**
+   * Find the last node whose value is less than val (or, if inclusive,
+   * less than or equal to val).  Returns the head if there is no such
+   * node.
+   */
+  Node<T> findBefore(T val, boolean inclusive)
+  {
+    return this.findBefore(val, inclusive, null);
+  } // findBefore(T, boolean)
+
+  /**
+   * Find the last node whose value is less than val (or, if inclusive,
+   * less than or equal to val), filling in update (if it is non-null)
+   * with the last such node at each level.
+   */
+  Node<T> findBefore(T val, boolean inclusive, Node<T>[] update)
+  {
+    int bound = inclusive ? 0 : 1;
+    long key = this.keyOf(val);
+    Node<T> current = this.head;
+    for (int level = this.maxLevel; level >= 0; level--)
+      {
+        while ((current.next[level] != null)
+               && this.compare(val, key, current.next[level]) >= bound)
+          {
+            current = current.next[level];
+          } // while
+        if (update != null)
+          update[level] = current;
+      } // for
+    return current;
+  } // findBefore(T, boolean, Node[])
+
+  /**
+   * Find the last node before val at each level up to maxLevel,
+   * filling in update with those nodes and pos with their positions
+   * (the head is at position 0).  A null val comes after everything.
+   */
+  void findPredecessors(T val, Node<T>[] update, int[] pos)
+  {
+    long key = (val == null) ? 0 : this.keyOf(val);
+    Node<T> current = this.head;
+    int p = 0;
+    for (int level = this.maxLevel; level >= 0; level--)
+      {
+        while ((current.next[level] != null)
+               && ((val == null)
+                   || (this.compare(val, key, current.next[level]) > 0)))
+          {
+            p += current.width[level];
+            current = current.next[level];
+          } // while
+        update[level] = current;
+        pos[level] = p;
+      } // for
+  } // findPredecessors(T, Node[], int[])
+
+  /**
+   * Lower maxLevel past any levels that no longer hold a node.
+   */
+  void shrink()
+  {
+    while ((this.maxLevel > 1) && (this.head.next[this.maxLevel] == null))
+      {
+        this.maxLevel--;
+      } // while
+  } // shrink()
+
+  /**
+   * Link node in after update[level] at each of its levels, and widen
+   * the higher links that now pass over it.  update must hold the
+   * predecessors of node at every level up to maxLevel.
+   */
+  void link(Node<T>[] update, Node<T> node)
+  {
+    // dist is the number of level-0 steps from update[level] to
+    // update[0], which we find by walking the level below.
+    int dist = 0;
+    for (int level = 0; level <= this.maxLevel; level++)
+      {
+        if (level > 0)
+          {
+            for (Node<T> n = update[level]; n != update[level - 1];
+                 n = n.next[level - 1])
+              dist += n.width[level - 1];
+          } // if we need to walk down to update[0]
+        if (level < node.next.length)
+          {
+            node.next[level] = update[level].next[level];
+            node.width[level] = update[level].width[level] - dist;
+            update[level].next[level] = node;
+            update[level].width[level] = dist + 1;
+          } // if node has the level
+        else if (update[level].next[level] != null)
+          {
+            update[level].width[level]++;
+          } // if the link passes over node
+      } // for
+  } // link(Node[], Node)
+
+  /**
+   * Unlink node, whose predecessors at each level up to maxLevel are
+   * in update, and narrow the higher links that passed over it.
+   */
+  void unlink(Node<T>[] update, Node<T> node)
+  {
+    for (int level = 0; level <= this.maxLevel; level++)
+      {
+        if (update[level].next[level] == node)
+          {
+            update[level].width[level] += node.width[level] - 1;
+            update[level].next[level] = node.next[level];
+          } // if the link leads to node
+        else if (update[level].next[level] != null)
+          {
+            update[level].width[level]--;
+          } // if the link passes over node
+      } // for
+  } // unlink(Node[], Node)
+
   // +-----------------------+-------------------------------------------
   // | Methods from Iterable |
   // +-----------------------+
@@ -150,9 +433,8 @@ public class SkipList<T extends Comparable<T>>
   /**
    * Iterators for SkipList
    */
-  @SuppressWarnings("rawtypes")
   public class SkipListIterator
-      implements Iterator
+      implements Iterator<T>
   {
     // +--------+--------------------------------------------------------
     // | Fields |
@@ -161,7 +443,24 @@ public class SkipList<T extends Comparable<T>>
     /**
      * The node iterator points to.
      */
-    Node current;
+    Node<T> current;
+
+    /**
+     * For each level, the last node at that level that comes before
+     * current.  Lets remove unlink current without searching.
+     */
+    Node<T>[] preds;
+
+    /**
+     * The modCount of the list when preds was last valid.
+     */
+    int expectedModCount;
+
+    /**
+     * Whether current may be removed (it was returned by next and has
+     * not been removed since).
+     */
+    boolean removable;
 
     // +--------------+----------------------------------------------------
     // | Constructors |
@@ -171,9 +470,27 @@ public class SkipList<T extends Comparable<T>>
      */
     public SkipListIterator()
     {
+      preds = nodeArray(head.next.length);
+      Arrays.fill(preds, head);
       current = head;
+      expectedModCount = modCount;
+      removable = false;
     } // SkipListIterator()
 
+    /**
+     * Construct an iterator whose first element follows preds[0], where
+     * preds holds the last node before that element at each level.
+     */
+    public SkipListIterator(Node<T>[] preds)
+    {
+      this.preds = nodeArray(head.next.length);
+      Arrays.fill(this.preds, head);
+      System.arraycopy(preds, 0, this.preds, 0, preds.length);
+      current = this.preds[0];
+      expectedModCount = modCount;
+      removable = false;
+    } // SkipListIterator(Node[])
+
     // +--------+--------------------------------------------------------
     // | Methods|
     // +--------+
@@ -191,17 +508,33 @@ public class SkipList<T extends Comparable<T>>
      */
     public T next()
     {
+      for (int l = 0; l < current.next.length; l++)
+        preds[l] = current;
       current = current.next[0];
-      return (T) current.val;
+      removable = true;
+      return current.val;
     } // next()
 
     /**
-     * Remove the current element.
+     * Remove the current element.  Unlinks it from the saved
+     * predecessors, so takes no search.  If the list was changed other
+     * than through this iterator, falls back to removing by value.
      */
-    @SuppressWarnings("unchecked")
     public void remove()
     {
-      SkipList.this.remove((T) this.current.val);
+      if (!removable)
+        throw new IllegalStateException();
+      removable = false;
+      if (expectedModCount != modCount)
+        {
+          SkipList.this.remove(this.current.val);
+          return;
+        } // if the saved predecessors may be stale
+      SkipList.this.unlink(preds, current);
+      shrink();
+      size--;
+      expectedModCount = ++modCount;
+      current = preds[0];
     } // remove()
   } // class SkipListIterator
 
@@ -213,6 +546,170 @@ public class SkipList<T extends Comparable<T>>
     return new SkipListIterator();
   } // iterator()
 
+  /**
+   * Return a SkipListIterator that starts at the first value greater
+   * than or equal to lo.  Finding lo takes O(log n) steps.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    if (lo == null)
+      return new SkipListIterator();
+    Node<T>[] update = this.nodeArray(this.maxLevel + 1);
+    this.findBefore(lo, false, update);
+    return new SkipListIterator(update);
+  } // iterator(T)
+
+  /**
+   * Get the values between lo and hi, as in SortedList, but compared
+   * in the order of this list.
+   */
+  public Iterable<T> subList(final T lo, final boolean loInclusive,
+                             final T hi, final boolean hiInclusive)
+  {
+    return new Iterable<T>()
+      {
+        public Iterator<T> iterator()
+        {
+          return new RangeIterator<T>(SkipList.this.iterator(lo), lo,
+                                      loInclusive, hi, hiInclusive,
+                                      SkipList.this.comparator);
+        } // iterator()
+      }; // new Iterable<T>
+  } // subList(T, boolean, T, boolean)
+
+  /**
+   * Spliterators over a run of the values.  Since each link knows how
+   * many values it spans, we always know exactly how many remain, and
+   * can split at a node on a high level near the middle of the run.
+   */
+  class SkipListSpliterator
+      implements Spliterator<T>
+  {
+    /**
+     * The node whose value we return next.
+     */
+    Node<T> next;
+
+    /**
+     * The position of next.  (The first value is at position 1.)
+     */
+    int pos;
+
+    /**
+     * The position just past the last value we return.
+     */
+    int end;
+
+    /**
+     * The modCount we expect.  If the list changes, we give up.
+     */
+    int expectedModCount;
+
+    /**
+     * Create a spliterator over the values from next (at position pos)
+     * up to, but not including, position end.
+     */
+    SkipListSpliterator(Node<T> next, int pos, int end, int expectedModCount)
+    {
+      this.next = next;
+      this.pos = pos;
+      this.end = end;
+      this.expectedModCount = expectedModCount;
+    } // SkipListSpliterator(Node, int, int, int)
+
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+      if (modCount != this.expectedModCount)
+        throw new ConcurrentModificationException();
+      if (this.pos >= this.end)
+        return false;
+      T val = this.next.val;
+      this.next = this.next.next[0];
+      this.pos++;
+      action.accept(val);
+      return true;
+    } // tryAdvance(Consumer<? super T>)
+
+    public void forEachRemaining(Consumer<? super T> action)
+    {
+      Node<T> current = this.next;
+      for (int i = this.pos; i < this.end; i++)
+        {
+          action.accept(current.val);
+          current = current.next[0];
+        } // for
+      this.next = current;
+      this.pos = this.end;
+      if (modCount != this.expectedModCount)
+        throw new ConcurrentModificationException();
+    } // forEachRemaining(Consumer<? super T>)
+
+    /**
+     * Split off the first part of the run.  We descend from the head
+     * toward the middle and split at the first node we reach in the
+     * second quarter of the run.  That is the highest such node, so
+     * splitting its pieces again finds nodes nearby.
+     */
+    public Spliterator<T> trySplit()
+    {
+      int remaining = this.end - this.pos;
+      if ((remaining < 2) || (modCount != this.expectedModCount))
+        return null;
+      int lo = this.pos + Math.max(1, remaining / 4);
+      int target = this.pos + remaining / 2;
+      Node<T> current = head;
+      int at = 0;
+      for (int level = maxLevel; level >= 0; level--)
+        {
+          while ((current.next[level] != null)
+                 && (at + current.width[level] <= target))
+            {
+              at += current.width[level];
+              current = current.next[level];
+            } // while
+          if (at >= lo)
+            break;
+        } // for
+      SkipListSpliterator prefix =
+          new SkipListSpliterator(this.next, this.pos, at,
+                                  this.expectedModCount);
+      this.next = current;
+      this.pos = at;
+      return prefix;
+    } // trySplit()
+
+    public long estimateSize()
+    {
+      return this.end - this.pos;
+    } // estimateSize()
+
+    public int characteristics()
+    {
+      return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+             | Spliterator.SIZED | Spliterator.SUBSIZED
+             | Spliterator.NONNULL;
+    } // characteristics()
+
+    /**
+     * Get the order of the values (null for their natural order).
+     */
+    public Comparator<? super T> getComparator()
+    {
+      return SkipList.this.comparator;
+    } // getComparator()
+  } // class SkipListSpliterator
+
+  /**
+   * Return a spliterator over the values, from smallest to largest.
+   * Each split takes O(log n) steps and splits off between a quarter
+   * and a half of the remaining values.
+   */
+  public Spliterator<T> spliterator()
+  {
+    return new SkipListSpliterator(this.head.next[0], 1, this.size + 1,
+                                   this.modCount);
+  } // spliterator()
+
   // +------------------------+------------------------------------------
   // | Methods from SimpleSet |
   // +------------------------+
@@ -224,7 +721,6 @@ public class SkipList<T extends Comparable<T>>
    * @post For all lav != val, if contains(lav) held before the call
    *   to add, contains(lav) continues to hold.
    */
-  @SuppressWarnings("unchecked")
   public void add(T val)
   {
     if (val == null)
@@ -232,13 +728,14 @@ public class SkipList<T extends Comparable<T>>
         return;
       } // if value is null, don't add anything
 
-    Node current = this.head;
-    Node[] update = new Node[this.maxLevel + 1];
+    long key = this.keyOf(val);
+    Node<T> current = this.head;
+    Node<T>[] update = this.nodeArray(this.head.next.length);
 
     for (int level = this.maxLevel; level >= 0; level--)
       {
         while ((current.next[level] != null)
-               && val.compareTo((T) current.next[level].val) > 0)
+               && this.compare(val, key, current.next[level]) > 0)
           {
             current = current.next[level];
           } // while, search for the preceding node
@@ -247,7 +744,7 @@ public class SkipList<T extends Comparable<T>>
 
     current = current.next[0];
 
-    if (current != null && val.compareTo((T) current.val) == 0)
+    if (current != null && this.compare(val, key, current) == 0)
       {
         return;
       } // if, the val already exists, then don't add anything
@@ -258,28 +755,24 @@ public class SkipList<T extends Comparable<T>>
 
         if (newLevel > this.maxLevel)
           {
-            for (int level = this.maxLevel + 1; level <= newLevel; level--)
+            for (int level = this.maxLevel + 1; level <= newLevel; level++)
               {
                 update[level] = this.head;
               } // for
             this.maxLevel = newLevel;
           } // if, new level is greater than maxlevel
 
-        current = new Node(val, newLevel);
-
-        for (int level = 0; level <= newLevel; level++)
-          {
-            current.next[level] = update[level].next[level];
-            update[level].next[level] = current;
-          } // for, update the pointers
+        current = new Node<T>(val, newLevel);
+        current.key = key;
+        this.link(update, current);
       } // else
     this.size++;
+    this.modCount++;
   } // add(T val)
 
   /**
    * Determine if the set contains a particular value.
    */
-  @SuppressWarnings("unchecked")
   public boolean contains(T val)
   {
     Node<T> current = this.head;
@@ -290,22 +783,20 @@ public class SkipList<T extends Comparable<T>>
       } // if searching for null return false
     else
       {
+        long key = this.keyOf(val);
         for (int level = this.maxLevel; level >= 0; level--)
           {
             while ((current.next[level] != null)
-                   && val.compareTo((T) current.next[level].val) > 0)
+                   && this.compare(val, key, current.next[level]) > 0)
               {
                 current = current.next[level];
               } // while
           } // for, all the levels
         current = current.next[0];
-        // return val.equals(current.val);
-      } // else if val is not null 
-
-    if (current == null) // if, not found
-      return false;
-    else
-      return val.equals(current.val);
+        if (current == null) // if, not found
+          return false;
+        return this.compare(val, key, current) == 0;
+      } // else if val is not null
   } // contains(T)
 
   /**
@@ -322,13 +813,14 @@ public class SkipList<T extends Comparable<T>>
         return;
       } // if value is null, don't add anything
 
-    Node current = this.head;
-    Node[] update = new Node[this.maxLevel + 1];
+    long key = this.keyOf(val);
+    Node<T> current = this.head;
+    Node<T>[] update = this.nodeArray(this.maxLevel + 1);
 
     for (int level = this.maxLevel; level >= 0; level--)
       {
         while ((current.next[level] != null)
-               && val.compareTo((T) current.next[level].val) > 0)
+               && this.compare(val, key, current.next[level]) > 0)
           {
             current = current.next[level];
           } // while, finding the preceding nodes
@@ -337,21 +829,14 @@ public class SkipList<T extends Comparable<T>>
 
     current = current.next[0];
 
-    if (current != null && val.compareTo((T) current.val) == 0)
+    if (current != null && this.compare(val, key, current) == 0)
       {
-        for (int i = 0; i <= this.maxLevel; i++)
-          {
-            if (update[i].next[i] != current)
-              break;
-            update[i].next[i] = current.next[i];
-          } //for, all the levels update the pointers 
+        this.unlink(update, current);
         current = null;
-        while ((this.maxLevel > 1) && (this.head.next[this.maxLevel] == null))
-          {
-            this.maxLevel--;
-          } // while
+        this.shrink();
 
         this.size--;
+        this.modCount++;
         return;
       } // if, the val exists, then remove it 
     else
@@ -360,33 +845,79 @@ public class SkipList<T extends Comparable<T>>
       } // else, if not found
   }// remove(T)
 
+  /**
+   * Remove every value that satisfies filter, in one pass over the
+   * bottom level.  Each level is relinked from the values we keep, as
+   * in the Appender, so this takes O(n) steps however many we remove.
+   * Returns true if any were removed.
+   */
+  public boolean removeIf(Predicate<? super T> filter)
+  {
+    Node<T>[] tails = this.nodeArray(this.head.next.length);
+    int[] tailPos = new int[tails.length];
+    Arrays.fill(tails, this.head);
+    int kept = 0;
+    Node<T> node = this.head.next[0];
+    while (node != null)
+      {
+        Node<T> next = node.next[0];
+        if (!filter.test(node.val))
+          {
+            kept++;
+            for (int level = 0; level < node.next.length; level++)
+              {
+                tails[level].next[level] = node;
+                tails[level].width[level] = kept - tailPos[level];
+                tails[level] = node;
+                tailPos[level] = kept;
+              } // for
+          } // if we keep the value
+        node = next;
+      } // while
+    for (int level = 0; level < tails.length; level++)
+      tails[level].next[level] = null;
+    this.shrink();
+
+    if (kept == this.size)
+      return false;
+    this.size = kept;
+    this.modCount++;
+    return true;
+  } // removeIf(Predicate<? super T>)
+
   // +--------------------------+----------------------------------------
   // | Methods from SemiIndexed |
   // +--------------------------+
 
   /**
-   * Get the element at index i.
-   * @return null, if the index is out of range (index < 0 || index >= length)
-   *   otherwise it return the val at index i
+   * Get the element at index i.  Sums the widths of the links we
+   * follow, so takes O(log n) steps.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
    */
   public T get(int i)
   {
-    if ((i < 0) || (i > this.size))
-      {
-        return null;
-      } //if index out of bounds
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
 
-    Node current = this.head.next[0];
-    if (current == null)
-      {
-        return null;
-      } // if, list is empty
-
-    for (int pos = 0; pos < i; pos++)
+    // The ith element sits at position i+1.
+    int target = i + 1;
+    int p = 0;
+    Node<T> current = this.head;
+    for (int level = this.maxLevel; level >= 0; level--)
       {
-        current = current.next[0];
-      } // for, loop through to the index
-    return (T) current.val;
+        while ((current.next[level] != null)
+               && (p + current.width[level] <= target))
+          {
+            p += current.width[level];
+            current = current.next[level];
+          } // while
+        if (p == target)
+          break;
+      } // for
+    return current.val;
   } // get(int)
 
   /**
@@ -397,4 +928,768 @@ public class SkipList<T extends Comparable<T>>
     return this.size;
   } // length()
 
+  // +------------------+------------------------------------------------
+  // | Neighbour Queries |
+  // +------------------+
+
+  /**
+   * Get the smallest value in the list, or null if it is empty.
+   */
+  public T first()
+  {
+    Node<T> first = this.head.next[0];
+    return (first == null) ? null : first.val;
+  } // first()
+
+  /**
+   * Get the largest value in the list, or null if it is empty.
+   */
+  public T last()
+  {
+    Node<T> current = this.head;
+    for (int level = this.maxLevel; level >= 0; level--)
+      {
+        while (current.next[level] != null)
+          {
+            current = current.next[level];
+          } // while
+      } // for
+    return current.val;
+  } // last()
+
+  /**
+   * Get the largest value less than or equal to val, or null if there
+   * is none.
+   */
+  public T floor(T val)
+  {
+    return this.findBefore(val, true).val;
+  } // floor(T)
+
+  /**
+   * Get the largest value strictly less than val, or null if there is
+   * none.
+   */
+  public T lower(T val)
+  {
+    return this.findBefore(val, false).val;
+  } // lower(T)
+
+  /**
+   * Get the smallest value greater than or equal to val, or null if
+   * there is none.
+   */
+  public T ceiling(T val)
+  {
+    Node<T> next = this.findBefore(val, false).next[0];
+    return (next == null) ? null : next.val;
+  } // ceiling(T)
+
+  /**
+   * Get the smallest value strictly greater than val, or null if there
+   * is none.
+   */
+  public T higher(T val)
+  {
+    Node<T> next = this.findBefore(val, true).next[0];
+    return (next == null) ? null : next.val;
+  } // higher(T)
+
+  /**
+   * Remove and return the smallest value, or return null if the list
+   * is empty.  The head precedes the first node at every level, so
+   * we unlink it without a search.
+   */
+  public T pollFirst()
+  {
+    Node<T> first = this.head.next[0];
+    if (first == null)
+      return null;
+    Node<T>[] update = this.nodeArray(this.maxLevel + 1);
+    Arrays.fill(update, this.head);
+    this.unlink(update, first);
+    this.shrink();
+    this.size--;
+    this.modCount++;
+    return first.val;
+  } // pollFirst()
+
+  /**
+   * Remove and return the largest value, or return null if the list
+   * is empty.  We stop each level just before its last node, so one
+   * descent finds both the largest value and its predecessors.
+   */
+  public T pollLast()
+  {
+    Node<T>[] update = this.nodeArray(this.maxLevel + 1);
+    Node<T> current = this.head;
+    for (int level = this.maxLevel; level >= 0; level--)
+      {
+        while ((current.next[level] != null)
+               && (current.next[level].next[level] != null))
+          {
+            current = current.next[level];
+          } // while
+        update[level] = current;
+      } // for
+    Node<T> last = current.next[0];
+    if (last == null)
+      return null;
+
+    // At the levels that last does not reach, the predecessor is the
+    // last node at the level, not the one before it.
+    for (int level = 1; level <= this.maxLevel; level++)
+      {
+        Node<T> next = update[level].next[level];
+        if ((next != null) && (next != last))
+          update[level] = next;
+      } // for
+    this.unlink(update, last);
+    this.shrink();
+    this.size--;
+    this.modCount++;
+    return last.val;
+  } // pollLast()
+
+  // +--------------+----------------------------------------------------
+  // | Rank Queries |
+  // +--------------+
+
+  /**
+   * Get the number of values strictly less than val.  Sums the widths
+   * of the links we follow while searching, so takes O(log n) steps.
+   */
+  public int rank(T val)
+  {
+    int rank = 0;
+    long key = this.keyOf(val);
+    Node<T> current = this.head;
+    for (int level = this.maxLevel; level >= 0; level--)
+      {
+        while ((current.next[level] != null)
+               && this.compare(val, key, current.next[level]) > 0)
+          {
+            rank += current.width[level];
+            current = current.next[level];
+          } // while
+      } // for
+    return rank;
+  } // rank(T)
+
+  /**
+   * Get the number of values that are at least lo and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.rank(hi) - this.rank(lo));
+  } // count(T, T)
+
+  // +------------------+------------------------------------------------
+  // | Range Operations |
+  // +------------------+
+
+  /**
+   * Remove every value that is at least lo and less than hi (a null
+   * bound means no bound), and return the number removed.  The values
+   * form one run, so we find its ends and link across it once per
+   * level, in O(log n) steps however long the run is.
+   */
+  public int removeRange(T lo, T hi)
+  {
+    if ((lo != null) && (hi != null) && (this.compare(lo, hi) >= 0))
+      return 0;
+
+    Node<T>[] before = this.nodeArray(this.maxLevel + 1);
+    int[] beforePos = new int[this.maxLevel + 1];
+    if (lo == null)
+      Arrays.fill(before, this.head);
+    else
+      this.findPredecessors(lo, before, beforePos);
+    Node<T>[] last = this.nodeArray(this.maxLevel + 1);
+    int[] lastPos = new int[this.maxLevel + 1];
+    this.findPredecessors(hi, last, lastPos);
+
+    int removed = lastPos[0] - beforePos[0];
+    if (removed == 0)
+      return 0;
+    for (int level = 0; level <= this.maxLevel; level++)
+      {
+        Node<T> after = last[level].next[level];
+        if (after != null)
+          before[level].width[level] =
+              lastPos[level] + last[level].width[level] - removed
+                  - beforePos[level];
+        before[level].next[level] = after;
+      } // for
+    this.shrink();
+    this.size -= removed;
+    this.modCount++;
+    return removed;
+  } // removeRange(T, T)
+
+  /**
+   * Move every value greater than or equal to val into a new list,
+   * which we return.  This list keeps the smaller values.  Cuts each
+   * level once, so takes O(log n) steps.  The new list has the same
+   * number of levels and the same kind of level generator.
+   */
+  public SkipList<T> splitAt(T val)
+  {
+    LevelGenerator levels = this.levels;
+    if (!Double.isNaN(this.probability))
+      levels = new GeometricLevels(this.probability);
+    SkipList<T> rest = new SkipList<T>(this.head.next.length - 1, levels);
+    rest.probability = this.probability;
+    rest.comparator = this.comparator;
+    rest.sortKey = this.sortKey;
+
+    Node<T>[] update = this.nodeArray(this.maxLevel + 1);
+    int[] pos = new int[this.maxLevel + 1];
+    this.findPredecessors(val, update, pos);
+    for (int level = 0; level <= this.maxLevel; level++)
+      {
+        Node<T> first = update[level].next[level];
+        rest.head.next[level] = first;
+        if (first != null)
+          rest.head.width[level] =
+              pos[level] + update[level].width[level] - pos[0];
+        update[level].next[level] = null;
+      } // for
+    rest.maxLevel = this.maxLevel;
+    rest.size = this.size - pos[0];
+    rest.shrink();
+    this.size = pos[0];
+    this.shrink();
+    this.modCount++;
+    return rest;
+  } // splitAt(T)
+
+  /**
+   * Move every value of other onto the end of this list, leaving other
+   * empty.  Links each level once, so takes O(log n) steps.
+   *
+   * @throws IllegalArgumentException
+   *   if some value of other is not greater than every value of this
+   *   list, if other has more levels than this list can hold, or if
+   *   the lists order their values differently
+   */
+  public void join(SkipList<T> other)
+  {
+    this.checkOrder(other);
+    if (other.size == 0)
+      return;
+    T last = this.last();
+    if ((last != null) && (this.compare(last, other.first()) >= 0))
+      throw new IllegalArgumentException("values of the lists overlap");
+    if (other.maxLevel >= this.head.next.length)
+      throw new IllegalArgumentException("other list has too many levels");
+
+    int top = Math.max(this.maxLevel, other.maxLevel);
+    Node<T>[] tails = this.nodeArray(top + 1);
+    int[] pos = new int[top + 1];
+    Arrays.fill(tails, this.head);
+    this.findPredecessors(null, tails, pos);
+    for (int level = 0; level <= other.maxLevel; level++)
+      {
+        Node<T> first = other.head.next[level];
+        if (first != null)
+          {
+            tails[level].next[level] = first;
+            tails[level].width[level] =
+                this.size - pos[level] + other.head.width[level];
+          } // if other has the level
+        other.head.next[level] = null;
+      } // for
+    this.maxLevel = top;
+    this.size += other.size;
+    this.modCount++;
+    other.size = 0;
+    other.shrink();
+    other.modCount++;
+  } // join(SkipList<T>)
+
+  // +-------------------+-----------------------------------------------
+  // | Bulk Construction |
+  // +-------------------+
+
+  /**
+   * Appenders link values onto the end of a new list in one pass.
+   * For each level, we remember the last node at that level, so each
+   * value costs O(1) expected time rather than a full descent.
+   */
+  class Appender
+  {
+    /**
+     * For each level, the last node at that level.
+     */
+    Node<T>[] tails;
+
+    /**
+     * For each level, the position of the last node at that level.
+     * The head is at position 0.
+     */
+    int[] tailPos;
+
+    /**
+     * The highest level used so far.
+     */
+    int top;
+
+    /**
+     * Create an appender for this (empty) list.
+     */
+    Appender()
+    {
+      this.tails = SkipList.this.nodeArray(SkipList.this.head.next.length);
+      Arrays.fill(this.tails, SkipList.this.head);
+      this.tailPos = new int[this.tails.length];
+      this.top = 1;
+    } // Appender()
+
+    /**
+     * Add val after every value already in the list.  Ignores null
+     * and repeats of the last value.
+     *
+     * @throws IllegalArgumentException
+     *   if val is smaller than the last value
+     */
+    void append(T val)
+    {
+      if (val == null)
+        return;
+      Node<T> last = this.tails[0];
+      if (last != SkipList.this.head)
+        {
+          int order = SkipList.this.compare(val, last.val);
+          if (order == 0)
+            return;
+          if (order < 0)
+            throw new IllegalArgumentException(val + " follows " + last.val
+                                               + " but is smaller");
+        } // if there is a last value
+
+      int newLevel = SkipList.this.randomLevel();
+      Node<T> node = SkipList.this.newNode(val, newLevel);
+      int pos = SkipList.this.size + 1;
+      for (int l = 0; l <= newLevel; l++)
+        {
+          this.tails[l].next[l] = node;
+          this.tails[l].width[l] = pos - this.tailPos[l];
+          this.tails[l] = node;
+          this.tailPos[l] = pos;
+        } // for
+      if (newLevel > this.top)
+        this.top = newLevel;
+      SkipList.this.size++;
+    } // append(T)
+
+    /**
+     * Finish building.  Returns the list.
+     */
+    SkipList<T> finish()
+    {
+      SkipList.this.maxLevel = this.top;
+      SkipList.this.modCount++;
+      return SkipList.this;
+    } // finish()
+  } // class Appender
+
+  /**
+   * Build a skip list from values in ascending order, in O(n) time.
+   * Repeated values are kept once.
+   *
+   * @throws IllegalArgumentException
+   *   if the values are not in ascending order
+   */
+  public static <T extends Comparable<T>> SkipList<T>
+    fromSorted(Iterator<T> vals)
+  {
+    SkipList<T>.Appender appender = new SkipList<T>().new Appender();
+    while (vals.hasNext())
+      appender.append(vals.next());
+    return appender.finish();
+  } // fromSorted(Iterator<T>)
+
+  /**
+   * Build a skip list from (non-null) values in any order.  Sorts a
+   * copy of the values in parallel (with fork/join) and then links
+   * them in one pass.
+   */
+  public static <T extends Comparable<T>> SkipList<T> fromUnsorted(T[] vals)
+  {
+    T[] sorted = Arrays.copyOf(vals, vals.length);
+    Arrays.parallelSort(sorted);
+    return fromSorted(Arrays.asList(sorted).iterator());
+  } // fromUnsorted(T[])
+
+  /**
+   * Make an immutable copy of this list, laid out in arrays for fast
+   * reading (see FrozenSortedList).  Takes O(n) time.  Later changes
+   * to this list do not affect the copy.
+   */
+  public FrozenSortedList<T> freeze()
+  {
+    Object[] vals = new Object[this.size];
+    int i = 0;
+    for (Node<T> node = this.head.next[0]; node != null; node = node.next[0])
+      vals[i++] = node.val;
+    return new FrozenSortedList<T>(vals, this.comparator, this.sortKey);
+  } // freeze()
+
+  // +-------------+-----------------------------------------------------
+  // | Set Algebra |
+  // +-------------+
+
+  /**
+   * When one list is at least this many times the size of the other,
+   * intersect and difference seek through the larger list with a
+   * cursor instead of merging.
+   */
+  static final int GALLOP_RATIO = 8;
+
+  /**
+   * Build a new list of the values in a or b (or both), by merging.
+   * Takes O(m + n) time.
+   *
+   * @throws IllegalArgumentException
+   *   if the lists order their values differently (as do intersect
+   *   and difference)
+   */
+  public static <T extends Comparable<T>> SkipList<T> union(SkipList<T> a,
+                                                            SkipList<T> b)
+  {
+    a.checkOrder(b);
+    SkipList<T>.Appender result = a.emptyCopy().new Appender();
+    SkipList<T>.Node<T> x = a.head.next[0];
+    SkipList<T>.Node<T> y = b.head.next[0];
+    while ((x != null) && (y != null))
+      {
+        int order = a.compare(x.val, x.key, y);
+        if (order <= 0)
+          {
+            result.append(x.val);
+            x = x.next[0];
+            if (order == 0)
+              y = y.next[0];
+          } // if x comes first (or they are the same)
+        else
+          {
+            result.append(y.val);
+            y = y.next[0];
+          } // if y comes first
+      } // while
+    for (; x != null; x = x.next[0])
+      result.append(x.val);
+    for (; y != null; y = y.next[0])
+      result.append(y.val);
+    return result.finish();
+  } // union(SkipList<T>, SkipList<T>)
+
+  /**
+   * Build a new list of the values in both a and b.  If the lists are
+   * about the same size, merges them in O(m + n) time.  Otherwise,
+   * seeks each value of the smaller list in the larger one with a
+   * cursor, which takes about O(m log(n/m)) time.
+   */
+  public static <T extends Comparable<T>> SkipList<T>
+    intersect(SkipList<T> a, SkipList<T> b)
+  {
+    a.checkOrder(b);
+    SkipList<T> small = (a.size <= b.size) ? a : b;
+    SkipList<T> large = (a.size <= b.size) ? b : a;
+    SkipList<T>.Appender result = a.emptyCopy().new Appender();
+
+    if (large.size / Math.max(small.size, 1) >= GALLOP_RATIO)
+      {
+        SkipList<T>.Cursor cursor = large.cursor();
+        for (SkipList<T>.Node<T> x = small.head.next[0]; x != null;
+             x = x.next[0])
+          {
+            if (cursor.seek(x.val))
+              result.append(x.val);
+          } // for
+        return result.finish();
+      } // if the sizes are very different
+
+    SkipList<T>.Node<T> x = a.head.next[0];
+    SkipList<T>.Node<T> y = b.head.next[0];
+    while ((x != null) && (y != null))
+      {
+        int order = a.compare(x.val, x.key, y);
+        if (order == 0)
+          {
+            result.append(x.val);
+            x = x.next[0];
+            y = y.next[0];
+          } // if the values match
+        else if (order < 0)
+          {
+            x = x.next[0];
+          } // if x comes first
+        else
+          {
+            y = y.next[0];
+          } // if y comes first
+      } // while
+    return result.finish();
+  } // intersect(SkipList<T>, SkipList<T>)
+
+  /**
+   * Build a new list of the values in a but not in b.  Merges the
+   * lists in O(m + n) time unless b is much larger than a, in which
+   * case it seeks each value of a in b with a cursor.
+   */
+  public static <T extends Comparable<T>> SkipList<T>
+    difference(SkipList<T> a, SkipList<T> b)
+  {
+    a.checkOrder(b);
+    SkipList<T>.Appender result = a.emptyCopy().new Appender();
+
+    if (b.size / Math.max(a.size, 1) >= GALLOP_RATIO)
+      {
+        SkipList<T>.Cursor cursor = b.cursor();
+        for (SkipList<T>.Node<T> x = a.head.next[0]; x != null; x = x.next[0])
+          {
+            if (!cursor.seek(x.val))
+              result.append(x.val);
+          } // for
+        return result.finish();
+      } // if b is much larger
+
+    SkipList<T>.Node<T> x = a.head.next[0];
+    SkipList<T>.Node<T> y = b.head.next[0];
+    while (x != null)
+      {
+        int order = (y == null) ? -1 : a.compare(x.val, x.key, y);
+        if (order < 0)
+          {
+            result.append(x.val);
+            x = x.next[0];
+          } // if x is not in b
+        else
+          {
+            if (order == 0)
+              x = x.next[0];
+            y = y.next[0];
+          } // if x is in b or y comes first
+      } // while
+    return result.finish();
+  } // difference(SkipList<T>, SkipList<T>)
+
+  // +---------+---------------------------------------------------------
+  // | Cursors |
+  // +---------+
+
+  /**
+   * Cursors (fingers) into a SkipList.  A cursor sits just before some
+   * element and remembers the last node before it at every level.  A
+   * later seek to a nearby larger value starts from that path instead
+   * of from the head, so it takes O(log d) steps, where d is the
+   * number of elements between the old position and the new one.
+   * Seeking backwards works the same way from the lowest saved level
+   * that is still before the new value.  Seeking after the list was
+   * changed other than through this cursor starts again from the head.
+   */
+  public class Cursor
+  {
+    // +--------+--------------------------------------------------------
+    // | Fields |
+    // +--------+
+
+    /**
+     * For each level, the last node at that level that comes before
+     * the cursor.
+     */
+    Node<T>[] path;
+
+    /**
+     * The modCount of the list when path was last valid.
+     */
+    int expectedModCount;
+
+    // +--------------+--------------------------------------------------
+    // | Constructors |
+    // +--------------+
+
+    /**
+     * Create a cursor at the start of the list.
+     */
+    Cursor()
+    {
+      this.path = SkipList.this.nodeArray(SkipList.this.head.next.length);
+      this.reset();
+    } // Cursor()
+
+    // +---------+-------------------------------------------------------
+    // | Helpers |
+    // +---------+
+
+    /**
+     * Move the cursor back to the start of the list.
+     */
+    void reset()
+    {
+      for (int l = 0; l < this.path.length; l++)
+        this.path[l] = SkipList.this.head;
+      this.expectedModCount = SkipList.this.modCount;
+    } // reset()
+
+    // +---------+-------------------------------------------------------
+    // | Methods |
+    // +---------+
+
+    /**
+     * Determine if node (from the saved path) comes before val, whose
+     * sort key is key.
+     */
+    boolean before(Node<T> node, T val, long key)
+    {
+      return (node == SkipList.this.head)
+             || (SkipList.this.compare(val, key, node) > 0);
+    } // before(Node, T, long)
+
+    /**
+     * Move the cursor to the first element greater than or equal to
+     * val.  Returns true if that element is val.
+     */
+    public boolean seek(T val)
+    {
+      Node<T> head = SkipList.this.head;
+      int top = SkipList.this.maxLevel;
+      long key = SkipList.this.keyOf(val);
+      if (this.expectedModCount != SkipList.this.modCount)
+        this.reset();
+
+      // When seeking backwards, the saved nodes at the lowest levels
+      // are past val.  Find the lowest level whose saved node is not.
+      int level = 0;
+      while ((level < top) && !this.before(this.path[level], val, key))
+        {
+          level++;
+        } // while
+      if (!this.before(this.path[level], val, key))
+        this.reset();
+
+      // Climb until the next node at the level is at or past val.
+      // Every level at or above that one already has the right node.
+      while ((level < top) && (this.path[level].next[level] != null)
+             && (SkipList.this.compare(val, key,
+                                       this.path[level].next[level]) > 0))
+        {
+          level++;
+        } // while
+
+      // Descend, starting each level from whichever of the current
+      // node and the saved node is further along (ignoring saved
+      // nodes that are past val).
+      Node<T> current = this.path[level];
+      for (int l = level; l >= 0; l--)
+        {
+          Node<T> saved = this.path[l];
+          if ((saved != head) && (saved != current)
+              && this.before(saved, val, key)
+              && ((current == head)
+                  || (SkipList.this.compare(saved.val, saved.key,
+                                            current) > 0)))
+            current = saved;
+          while ((current.next[l] != null)
+                 && (SkipList.this.compare(val, key, current.next[l]) > 0))
+            {
+              current = current.next[l];
+            } // while
+          this.path[l] = current;
+        } // for
+
+      Node<T> next = this.path[0].next[0];
+      return (next != null) && (SkipList.this.compare(val, key, next) == 0);
+    } // seek(T)
+
+    /**
+     * Get the element at the cursor, or null if the cursor is past the
+     * last element.
+     */
+    public T current()
+    {
+      if (this.expectedModCount != SkipList.this.modCount)
+        throw new IllegalStateException("list changed since last seek");
+      Node<T> next = this.path[0].next[0];
+      return (next == null) ? null : next.val;
+    } // current()
+
+    /**
+     * Move the cursor to the next element and return that element, or
+     * null if there is none.
+     */
+    public T next()
+    {
+      if (this.current() == null)
+        return null;
+      Node<T> node = this.path[0].next[0];
+      for (int l = 0; l < node.next.length; l++)
+        this.path[l] = node;
+      return this.current();
+    } // next()
+
+    /**
+     * Add val to the list, leaving the cursor at val.
+     */
+    public void insertHere(T val)
+    {
+      if (val == null)
+        return;
+      if (this.seek(val))
+        return;
+
+      int newLevel = SkipList.this.randomLevel();
+      if (newLevel > SkipList.this.maxLevel)
+        SkipList.this.maxLevel = newLevel;
+      SkipList.this.link(this.path, SkipList.this.newNode(val, newLevel));
+      SkipList.this.size++;
+      this.expectedModCount = ++SkipList.this.modCount;
+    } // insertHere(T)
+
+    /**
+     * Remove the element at the cursor, leaving the cursor at the
+     * element that followed it.
+     */
+    public void removeHere()
+    {
+      if (this.current() == null)
+        return;
+
+      SkipList.this.unlink(this.path, this.path[0].next[0]);
+      SkipList.this.shrink();
+      SkipList.this.size--;
+      this.expectedModCount = ++SkipList.this.modCount;
+    } // removeHere()
+  } // class Cursor
+
+  /**
+   * Get a cursor at the start of the list.
+   */
+  public Cursor cursor()
+  {
+    return new Cursor();
+  } // cursor()
+
+  // +---------------+---------------------------------------------------
+  // | Other Methods |
+  // +---------------+
+
+  /**
+   * Get the level of each node, from smallest value to largest.  Two
+   * lists with the same levels at the same values have the same shape.
+   */
+  public int[] nodeLevels()
+  {
+    int[] result = new int[this.size];
+    Node<T> current = this.head.next[0];
+    for (int i = 0; i < this.size; i++)
+      {
+        result[i] = current.next.length - 1;
+        current = current.next[0];
+      } // for
+    return result;
+  } // nodeLevels()
+
 } // class SkipList<T>
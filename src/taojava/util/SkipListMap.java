@@ -0,0 +1,370 @@
+package taojava.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * Ordered maps implemented with skip lists.  Each node holds a key and
+ * its value, so a lookup finds both with one search.  Iteration visits
+ * the entries from smallest key to largest.  Null keys and null values
+ * are not allowed; as with java.util.Map.compute, computing null
+ * removes the mapping.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class SkipListMap<K extends Comparable<K>, V>
+    implements Iterable<Map.Entry<K, V>>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Head of the map.  Its key and value are null.
+   */
+  Node<K, V> head;
+
+  /**
+   * The maximum number of levels a node may have.
+   */
+  int maxLevel;
+
+  /**
+   * The highest level currently in use.
+   */
+  int level;
+
+  /**
+   * The number of entries in the map.
+   */
+  int size;
+
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * Nodes for skip list maps.  Nodes are also the entries that
+   * iteration returns, so setValue changes the map.
+   */
+  static class Node<K, V>
+      implements Map.Entry<K, V>
+  {
+    /**
+     * The key stored in the node.
+     */
+    final K key;
+
+    /**
+     * The value stored in the node.
+     */
+    V val;
+
+    /**
+     * The links at each level of the node.
+     */
+    Node<K, V>[] next;
+
+    /**
+     * Construct a node with the given number of levels.
+     */
+    Node(K key, V val, int levels)
+    {
+      this.key = key;
+      this.val = val;
+      this.next = nodeArray(levels);
+    } // Node(K, V, int)
+
+    public K getKey()
+    {
+      return this.key;
+    } // getKey()
+
+    public V getValue()
+    {
+      return this.val;
+    } // getValue()
+
+    public V setValue(V val)
+    {
+      if (val == null)
+        throw new NullPointerException();
+      V old = this.val;
+      this.val = val;
+      return old;
+    } // setValue(V)
+
+    public String toString()
+    {
+      return this.key + "=" + this.val;
+    } // toString()
+  } // class Node<K, V>
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty map with up to 20 levels.
+   */
+  public SkipListMap()
+  {
+    this(20, .5);
+  } // SkipListMap()
+
+  /**
+   * Create an empty map with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability.
+   */
+  public SkipListMap(int maxLevel, double probability)
+  {
+    this(maxLevel, new GeometricLevels(probability));
+  } // SkipListMap(int, double)
+
+  /**
+   * Create an empty map with up to maxLevel levels, whose nodes get
+   * their levels from the given generator.
+   */
+  public SkipListMap(int maxLevel, LevelGenerator levels)
+  {
+    this.maxLevel = maxLevel;
+    this.head = new Node<K, V>(null, null, maxLevel);
+    this.level = 0;
+    this.size = 0;
+    this.levels = levels;
+  } // SkipListMap(int, LevelGenerator)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Make an update array of n nodes, all null.  Generic arrays must
+   * be made raw and cast, which we do only here.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static <K, V> Node<K, V>[] nodeArray(int n)
+  {
+    return new Node[n];
+  } // nodeArray(int)
+
+  /**
+   * Generate the number of levels for a new node, between 1 and
+   * maxLevel.
+   */
+  int randomLevel()
+  {
+    return this.levels.randomLevel(this.maxLevel);
+  } // randomLevel()
+
+  /**
+   * Find the nodes that precede key at each level.  Fills in update
+   * (if it is non-null) and returns the node with the given key, or
+   * null if there is none.
+   */
+  Node<K, V> find(K key, Node<K, V>[] update)
+  {
+    Node<K, V> current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (key.compareTo(current.next[l].key) > 0))
+          {
+            current = current.next[l];
+          } // while
+        if (update != null)
+          update[l] = current;
+      } // for
+    current = current.next[0];
+    if ((current != null) && (key.compareTo(current.key) == 0))
+      return current;
+    return null;
+  } // find(K, Node<K, V>[])
+
+  /**
+   * Link a new node for key and val after the nodes in update.
+   */
+  void insert(K key, V val, Node<K, V>[] update)
+  {
+    int levels = this.randomLevel();
+    for (int l = this.level + 1; l < levels; l++)
+      update[l] = this.head;
+    if (levels - 1 > this.level)
+      this.level = levels - 1;
+
+    Node<K, V> node = new Node<K, V>(key, val, levels);
+    for (int l = 0; l < levels; l++)
+      {
+        node.next[l] = update[l].next[l];
+        update[l].next[l] = node;
+      } // for
+    this.size++;
+  } // insert(K, V, Node<K, V>[])
+
+  /**
+   * Unlink node, whose predecessors are in update.
+   */
+  void unlink(Node<K, V> node, Node<K, V>[] update)
+  {
+    for (int l = 0; l < node.next.length; l++)
+      update[l].next[l] = node.next[l];
+    while ((this.level > 0) && (this.head.next[this.level] == null))
+      {
+        this.level--;
+      } // while
+    this.size--;
+  } // unlink(Node<K, V>, Node<K, V>[])
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the entries of the map from
+   * smallest key to largest.
+   */
+  public Iterator<Map.Entry<K, V>> iterator()
+  {
+    return new Iterator<Map.Entry<K, V>>()
+      {
+        // The node we most recently returned.
+        Node<K, V> current = SkipListMap.this.head;
+
+        // Whether we may remove current.
+        boolean removable = false;
+
+        public boolean hasNext()
+        {
+          return this.current.next[0] != null;
+        } // hasNext()
+
+        public Map.Entry<K, V> next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          this.current = this.current.next[0];
+          this.removable = true;
+          return this.current;
+        } // next()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          this.removable = false;
+          SkipListMap.this.remove(this.current.key);
+        } // remove()
+      }; // new Iterator<Map.Entry<K, V>>
+  } // iterator()
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get the value for key, or null if key is not in the map.
+   */
+  public V get(K key)
+  {
+    Node<K, V> node = this.find(key, null);
+    return (node == null) ? null : node.val;
+  } // get(K)
+
+  /**
+   * Determine if key is in the map.
+   */
+  public boolean containsKey(K key)
+  {
+    return this.find(key, null) != null;
+  } // containsKey(K)
+
+  /**
+   * Map key to val.  Returns the old value for key, or null if there
+   * was none.  Replacing a value uses the node the search found, so
+   * either way takes one search.
+   */
+  public V put(K key, V val)
+  {
+    if (val == null)
+      throw new NullPointerException();
+    Node<K, V>[] update = nodeArray(this.maxLevel);
+    Node<K, V> node = this.find(key, update);
+    if (node != null)
+      return node.setValue(val);
+    this.insert(key, val, update);
+    return null;
+  } // put(K, V)
+
+  /**
+   * Map key to val unless key is already in the map.  Returns the
+   * current value for key, or null if there was none.
+   */
+  public V putIfAbsent(K key, V val)
+  {
+    if (val == null)
+      throw new NullPointerException();
+    Node<K, V>[] update = nodeArray(this.maxLevel);
+    Node<K, V> node = this.find(key, update);
+    if (node != null)
+      return node.val;
+    this.insert(key, val, update);
+    return null;
+  } // putIfAbsent(K, V)
+
+  /**
+   * Map key to the result of applying fun to key and its current value
+   * (null if there is none).  If the result is null, removes key.
+   * Returns the new value.
+   */
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> fun)
+  {
+    Node<K, V>[] update = nodeArray(this.maxLevel);
+    Node<K, V> node = this.find(key, update);
+    V val = fun.apply(key, (node == null) ? null : node.val);
+    if (node == null)
+      {
+        if (val != null)
+          this.insert(key, val, update);
+      } // if key was not in the map
+    else if (val == null)
+      {
+        this.unlink(node, update);
+      } // if we should remove key
+    else
+      {
+        node.val = val;
+      } // if we should replace the value
+    return val;
+  } // compute(K, BiFunction)
+
+  /**
+   * Remove key from the map.  Returns its old value, or null if it
+   * was not in the map.
+   */
+  public V remove(K key)
+  {
+    Node<K, V>[] update = nodeArray(this.maxLevel);
+    Node<K, V> node = this.find(key, update);
+    if (node == null)
+      return null;
+    this.unlink(node, update);
+    return node.val;
+  } // remove(K)
+
+  /**
+   * Determine the number of entries in the map.
+   */
+  public int size()
+  {
+    return this.size;
+  } // size()
+} // class SkipListMap<K, V>
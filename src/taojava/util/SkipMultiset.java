@@ -0,0 +1,567 @@
+package taojava.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Sorted multisets implemented with skip lists.  Each distinct value
+ * has one node, which counts its copies, so memory grows with the
+ * number of distinct values rather than with length.  As in
+ * IndexedSkipList, each link records its width, but here the width is
+ * the number of copies it spans, so get and rank account for
+ * multiplicity and still take O(log n) steps.
+ *
+ * Iteration returns each value as many times as it appears.  remove
+ * removes every copy of a value; removeOne removes just one.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class SkipMultiset<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Head of the list.  The head has every level, no copies, and sits
+   * at position 0.
+   */
+  Node<T> head;
+
+  /**
+   * The maximum number of levels a node may have.
+   */
+  int maxLevel;
+
+  /**
+   * The highest level currently in use.
+   */
+  int level;
+
+  /**
+   * The number of copies of all values.
+   */
+  int size;
+
+  /**
+   * The number of distinct values.
+   */
+  int distinct;
+
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * Nodes for skip multisets.
+   */
+  static class Node<T>
+  {
+    /**
+     * The value stored in the node.
+     */
+    T val;
+
+    /**
+     * The number of copies of val.
+     */
+    int count;
+
+    /**
+     * The links at each level of the node.
+     */
+    Node<T>[] next;
+
+    /**
+     * The number of copies spanned by each link, including those of
+     * the node it leads to.  Only meaningful when the corresponding
+     * link is not null.
+     */
+    int[] width;
+
+    /**
+     * Construct a node with the given number of levels.
+     */
+    Node(T val, int count, int levels)
+    {
+      this.val = val;
+      this.count = count;
+      this.next = nodeArray(levels);
+      this.width = new int[levels];
+    } // Node(T, int, int)
+  } // class Node<T>
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty multiset with up to 20 levels.
+   */
+  public SkipMultiset()
+  {
+    this(20, .5);
+  } // SkipMultiset()
+
+  /**
+   * Create an empty multiset with up to maxLevel levels, in which each
+   * node appears at the next level with the given probability.
+   */
+  public SkipMultiset(int maxLevel, double probability)
+  {
+    this(maxLevel, new GeometricLevels(probability));
+  } // SkipMultiset(int, double)
+
+  /**
+   * Create an empty multiset with up to maxLevel levels, whose nodes
+   * get their levels from the given generator.
+   */
+  public SkipMultiset(int maxLevel, LevelGenerator levels)
+  {
+    this.maxLevel = maxLevel;
+    this.head = new Node<T>(null, 0, maxLevel);
+    this.level = 0;
+    this.size = 0;
+    this.distinct = 0;
+    this.levels = levels;
+  } // SkipMultiset(int, LevelGenerator)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Make an array of n nodes, all null.  Java has no generic arrays,
+   * so we make a raw one and cast it here.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static <T> Node<T>[] nodeArray(int n)
+  {
+    return new Node[n];
+  } // nodeArray(int)
+
+  /**
+   * Generate the number of levels for a new node, between 1 and
+   * maxLevel.
+   */
+  int randomLevel()
+  {
+    return this.levels.randomLevel(this.maxLevel);
+  } // randomLevel()
+
+  /**
+   * Find the nodes that precede val at each level.  Fills in update
+   * with those nodes and pos with their positions (the number of
+   * copies up to and including each), and returns the node that
+   * precedes val at level 0.
+   */
+  Node<T> findPredecessors(T val, Node<T>[] update, int[] pos)
+  {
+    Node<T> current = this.head;
+    int p = 0;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (val.compareTo(current.next[l].val) > 0))
+          {
+            p += current.width[l];
+            current = current.next[l];
+          } // while
+        update[l] = current;
+        pos[l] = p;
+      } // for
+    return current;
+  } // findPredecessors(T, Node<T>[], int[])
+
+  /**
+   * Find the node that holds val, or null if there is none.
+   */
+  Node<T> find(T val)
+  {
+    Node<T> current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (val.compareTo(current.next[l].val) > 0))
+          {
+            current = current.next[l];
+          } // while
+      } // for
+    current = current.next[0];
+    if ((current != null) && (val.compareTo(current.val) == 0))
+      return current;
+    return null;
+  } // find(T)
+
+  /**
+   * Remove up to copies copies of val.  Returns the number removed.
+   */
+  int removeCopies(T val, int copies)
+  {
+    if (val == null)
+      return 0;
+
+    Node<T>[] update = nodeArray(this.maxLevel);
+    int[] pos = new int[this.maxLevel];
+    Node<T> target = this.findPredecessors(val, update, pos).next[0];
+    if ((target == null) || (val.compareTo(target.val) != 0))
+      return 0;
+
+    int removed = Math.min(copies, target.count);
+    boolean unlink = (removed == target.count);
+    for (int l = 0; l <= this.level; l++)
+      {
+        if (unlink && (update[l].next[l] == target))
+          {
+            update[l].width[l] += target.width[l] - removed;
+            update[l].next[l] = target.next[l];
+          } // if the link leads to the target
+        else if (update[l].next[l] != null)
+          {
+            update[l].width[l] -= removed;
+          } // if the link spans the target
+      } // for
+    target.count -= removed;
+    if (unlink)
+      {
+        while ((this.level > 0) && (this.head.next[this.level] == null))
+          {
+            this.level--;
+          } // while
+        this.distinct--;
+      } // if we unlinked the target
+    this.size -= removed;
+    return removed;
+  } // removeCopies(T, int)
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of the multiset
+   * from smallest to largest, returning each value as many times as
+   * it appears.  remove removes one copy.
+   */
+  public Iterator<T> iterator()
+  {
+    return this.iteratorFrom(this.head);
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values of the multiset
+   * that are greater than or equal to lo, with multiplicity.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    if (lo == null)
+      return this.iterator();
+    return this.iteratorFrom(this.findPredecessors(lo,
+                                                   nodeArray(this.maxLevel),
+                                                   new int[this.maxLevel]));
+  } // iterator(T)
+
+  /**
+   * Return an iterator whose first value is the one after start.
+   */
+  Iterator<T> iteratorFrom(final Node<T> start)
+  {
+    return new Iterator<T>()
+      {
+        // The node whose value we most recently returned.
+        Node<T> current = start;
+
+        // The number of copies of current's value we have returned.
+        int used = start.count;
+
+        // Whether we may remove a copy of current's value (we returned
+        // one and have not removed since).
+        boolean removable = false;
+
+        public boolean hasNext()
+        {
+          return (this.used < this.current.count)
+                 || (this.current.next[0] != null);
+        } // hasNext()
+
+        public T next()
+        {
+          if (this.used < this.current.count)
+            {
+              this.used++;
+            } // if there are more copies
+          else if (this.current.next[0] != null)
+            {
+              this.current = this.current.next[0];
+              this.used = 1;
+            } // if there are more values
+          else
+            {
+              throw new NoSuchElementException();
+            } // if we're at the end
+          this.removable = true;
+          return this.current.val;
+        } // next()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          this.removable = false;
+          SkipMultiset.this.removeOne(this.current.val);
+          this.used--;
+        } // remove()
+      }; // new Iterator<T>
+  } // iteratorFrom(Node<T>)
+
+  /**
+   * Get a spliterator over the values, with multiplicity.  Unlike the
+   * default, it does not report DISTINCT.
+   */
+  public Spliterator<T> spliterator()
+  {
+    return new SortedSpliterator<T>(Spliterators.spliterator(this.iterator(),
+                                                             this.size, 0),
+                                    Spliterator.NONNULL);
+  } // spliterator()
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add one copy of val.
+   *
+   * @post contains(val)
+   */
+  public void add(T val)
+  {
+    this.add(val, 1);
+  } // add(T)
+
+  /**
+   * Determine if the multiset contains at least one copy of val.
+   */
+  public boolean contains(T val)
+  {
+    return (val != null) && (this.find(val) != null);
+  } // contains(T)
+
+  /**
+   * Remove every copy of val.
+   *
+   * @post !contains(val)
+   */
+  public void remove(T val)
+  {
+    this.removeAll(val);
+  } // remove(T)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i, counting every copy.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+
+    // Skip every node whose copies all come before index i.
+    int p = 0;
+    Node<T> current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while ((current.next[l] != null) && (p + current.width[l] <= i))
+          {
+            p += current.width[l];
+            current = current.next[l];
+          } // while
+      } // for
+    return current.next[0].val;
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the multiset, counting every
+   * copy.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+
+  // +---------------------+---------------------------------------------
+  // | Multiset Operations |
+  // +---------------------+
+
+  /**
+   * Add copies copies of val.
+   *
+   * @throws IllegalArgumentException
+   *   if copies is negative
+   */
+  public void add(T val, int copies)
+  {
+    if (copies < 0)
+      throw new IllegalArgumentException("negative count: " + copies);
+    if ((val == null) || (copies == 0))
+      return;
+
+    Node<T>[] update = nodeArray(this.maxLevel);
+    int[] pos = new int[this.maxLevel];
+    Node<T> pred = this.findPredecessors(val, update, pos);
+    Node<T> node = pred.next[0];
+    if ((node != null) && (val.compareTo(node.val) == 0))
+      {
+        // Every link that reaches or spans node gets wider.
+        node.count += copies;
+        for (int l = 0; l <= this.level; l++)
+          {
+            if (update[l].next[l] != null)
+              update[l].width[l] += copies;
+          } // for
+        this.size += copies;
+        return;
+      } // if val is already here
+
+    int levels = this.randomLevel();
+    if (levels - 1 > this.level)
+      {
+        for (int l = this.level + 1; l < levels; l++)
+          {
+            update[l] = this.head;
+            pos[l] = 0;
+          } // for
+        this.level = levels - 1;
+      } // if the new node is taller than any other
+
+    node = new Node<T>(val, copies, levels);
+    for (int l = 0; l < levels; l++)
+      {
+        node.next[l] = update[l].next[l];
+        if (node.next[l] != null)
+          node.width[l] = pos[l] + update[l].width[l] - pos[0];
+        update[l].next[l] = node;
+        update[l].width[l] = pos[0] + copies - pos[l];
+      } // for each level of the new node
+    for (int l = levels; l <= this.level; l++)
+      {
+        if (update[l].next[l] != null)
+          update[l].width[l] += copies;
+      } // for each level above the new node
+    this.size += copies;
+    this.distinct++;
+  } // add(T, int)
+
+  /**
+   * Get the number of copies of val.
+   */
+  public int count(T val)
+  {
+    if (val == null)
+      return 0;
+    Node<T> node = this.find(val);
+    return (node == null) ? 0 : node.count;
+  } // count(T)
+
+  /**
+   * Remove one copy of val.  Returns true if there was one.
+   */
+  public boolean removeOne(T val)
+  {
+    return this.removeCopies(val, 1) == 1;
+  } // removeOne(T)
+
+  /**
+   * Remove every copy of val.  Returns the number removed.
+   */
+  public int removeAll(T val)
+  {
+    return this.removeCopies(val, Integer.MAX_VALUE);
+  } // removeAll(T)
+
+  /**
+   * Determine the number of distinct values in the multiset.
+   */
+  public int distinct()
+  {
+    return this.distinct;
+  } // distinct()
+
+  // +-----------------------------+-------------------------------------
+  // | Ranks and Neighbour Queries |
+  // +-----------------------------+
+
+  /**
+   * Get the number of elements (counting copies) less than val.
+   */
+  public int rank(T val)
+  {
+    int[] pos = new int[this.maxLevel];
+    this.findPredecessors(val, nodeArray(this.maxLevel), pos);
+    return pos[0];
+  } // rank(T)
+
+  /**
+   * Get the number of elements (counting copies) that are at least lo
+   * and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.rank(hi) - this.rank(lo));
+  } // count(T, T)
+
+  /**
+   * Get the largest value, or null if the multiset is empty.
+   */
+  public T last()
+  {
+    Node<T> current = this.head;
+    for (int l = this.level; l >= 0; l--)
+      {
+        while (current.next[l] != null)
+          {
+            current = current.next[l];
+          } // while
+      } // for
+    return current.val;
+  } // last()
+
+  /**
+   * Remove one copy of the smallest value and return it, or return
+   * null if the multiset is empty.
+   */
+  public T pollFirst()
+  {
+    T first = this.first();
+    this.removeOne(first);
+    return first;
+  } // pollFirst()
+
+  /**
+   * Remove one copy of the largest value and return it, or return null
+   * if the multiset is empty.
+   */
+  public T pollLast()
+  {
+    T last = this.last();
+    this.removeOne(last);
+    return last;
+  } // pollLast()
+} // class SkipMultiset<T>
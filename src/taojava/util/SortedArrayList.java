@@ -2,6 +2,8 @@ package taojava.util;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
 
 /**
  * Sorted lists implemented with Java's array lists.  As one
@@ -99,6 +101,23 @@ public class SortedArrayList<T extends Comparable<T>>
    * smallest to largest.
    */
   public Iterator<T> iterator()
+  {
+    return this.iteratorAt(0);
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values of the list that
+   * are greater than or equal to lo, from smallest to largest.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    return this.iteratorAt((lo == null) ? 0 : this.findIndex(lo));
+  } // iterator(T)
+
+  /**
+   * Return an iterator that starts at the given index.
+   */
+  Iterator<T> iteratorAt(final int index)
   {
     // We use a wrapper/adapter class, even though we currently
     // don't do any adaptations, because we might eventually 
@@ -106,7 +125,7 @@ public class SortedArrayList<T extends Comparable<T>>
     return new Iterator<T>()
       {
         // An underlying iterator.
-        Iterator<T> core = SortedArrayList.this.core.iterator();
+        Iterator<T> core = SortedArrayList.this.core.listIterator(index);
 
         public T next()
         {
@@ -123,7 +142,18 @@ public class SortedArrayList<T extends Comparable<T>>
           core.remove();
         } // remove()
       }; // new Iterator<T>
-  } // iterator()
+  } // iteratorAt(int)
+
+  /**
+   * Get a spliterator over the values, from smallest to largest.  The
+   * array list's own spliterator splits by index, in half each time.
+   */
+  public Spliterator<T> spliterator()
+  {
+    return new SortedSpliterator<T>(this.core.spliterator(),
+                                    Spliterator.DISTINCT
+                                        | Spliterator.NONNULL);
+  } // spliterator()
 
   // +------------------------+------------------------------------------
   // | Methods from SimpleSet |
@@ -170,6 +200,31 @@ public class SortedArrayList<T extends Comparable<T>>
       this.core.remove(index);
   } // remove(T)
 
+  /**
+   * Remove every value that satisfies filter.  The underlying
+   * ArrayList compacts the survivors in one pass.  Returns true if any
+   * were removed.
+   */
+  public boolean removeIf(Predicate<? super T> filter)
+  {
+    return this.core.removeIf(filter);
+  } // removeIf(Predicate<? super T>)
+
+  /**
+   * Remove every value that is at least lo and less than hi (a null
+   * bound means no bound), and return the number removed.  The values
+   * are contiguous, so we shift the rest down once.
+   */
+  public int removeRange(T lo, T hi)
+  {
+    int start = (lo == null) ? 0 : this.findIndex(lo);
+    int end = (hi == null) ? this.core.size() : this.findIndex(hi);
+    if (start >= end)
+      return 0;
+    this.core.subList(start, end).clear();
+    return end - start;
+  } // removeRange(T, T)
+
   // +--------------------------+----------------------------------------
   // | Methods from SemiIndexed |
   // +--------------------------+
@@ -192,4 +247,112 @@ public class SortedArrayList<T extends Comparable<T>>
   {
     return this.core.size();
   } // length()
+
+  // +-------------------+-----------------------------------------------
+  // | Neighbour Queries |
+  // +-------------------+
+
+  /**
+   * Get the value at index, or null if the index is out of range.
+   */
+  T valAt(int index)
+  {
+    if ((index < 0) || (index >= this.core.size()))
+      return null;
+    return this.core.get(index);
+  } // valAt(int)
+
+  /**
+   * Get the smallest value in the list, or null if it is empty.
+   */
+  public T first()
+  {
+    return this.valAt(0);
+  } // first()
+
+  /**
+   * Get the largest value in the list, or null if it is empty.
+   */
+  public T last()
+  {
+    return this.valAt(this.core.size() - 1);
+  } // last()
+
+  /**
+   * Get the largest value less than or equal to val, or null if there
+   * is none.
+   */
+  public T floor(T val)
+  {
+    int index = this.findIndex(val);
+    return this.valAt(this.valAppearsAt(val, index) ? index : index - 1);
+  } // floor(T)
+
+  /**
+   * Get the largest value strictly less than val, or null if there is
+   * none.
+   */
+  public T lower(T val)
+  {
+    return this.valAt(this.findIndex(val) - 1);
+  } // lower(T)
+
+  /**
+   * Get the smallest value greater than or equal to val, or null if
+   * there is none.
+   */
+  public T ceiling(T val)
+  {
+    return this.valAt(this.findIndex(val));
+  } // ceiling(T)
+
+  /**
+   * Get the smallest value strictly greater than val, or null if there
+   * is none.
+   */
+  public T higher(T val)
+  {
+    int index = this.findIndex(val);
+    return this.valAt(this.valAppearsAt(val, index) ? index + 1 : index);
+  } // higher(T)
+
+  /**
+   * Remove and return the smallest value, or return null if the list
+   * is empty.  Shifts every other value, so takes O(n) steps.
+   */
+  public T pollFirst()
+  {
+    return this.core.isEmpty() ? null : this.core.remove(0);
+  } // pollFirst()
+
+  /**
+   * Remove and return the largest value, or return null if the list
+   * is empty.
+   */
+  public T pollLast()
+  {
+    if (this.core.isEmpty())
+      return null;
+    return this.core.remove(this.core.size() - 1);
+  } // pollLast()
+
+  // +--------------+----------------------------------------------------
+  // | Rank Queries |
+  // +--------------+
+
+  /**
+   * Get the number of values strictly less than val.
+   */
+  public int rank(T val)
+  {
+    return this.findIndex(val);
+  } // rank(T)
+
+  /**
+   * Get the number of values that are at least lo and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.findIndex(hi) - this.findIndex(lo));
+  } // count(T, T)
 } // class SortedArrayList<T>
@@ -3,6 +3,7 @@ package taojava.util;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.function.Predicate;
 
 /**
  * Sorted lists implemented with Java's linked lists.  As one
@@ -148,6 +149,16 @@ public class SortedLinkedList<T extends Comparable<T>>
       it.remove();
   } // remove(T)
 
+  /**
+   * Remove every value that satisfies filter.  The underlying
+   * LinkedList unlinks them in one pass.  Returns true if any were
+   * removed.
+   */
+  public boolean removeIf(Predicate<? super T> filter)
+  {
+    return this.core.removeIf(filter);
+  } // removeIf(Predicate<? super T>)
+
   // +--------------------------+----------------------------------------
   // | Methods from SemiIndexed |
   // +--------------------------+
@@ -170,4 +181,42 @@ public class SortedLinkedList<T extends Comparable<T>>
   {
     return this.core.size();
   } // length()
+
+  // +-------------------+-----------------------------------------------
+  // | Neighbour Queries |
+  // +-------------------+
+
+  /**
+   * Get the smallest value in the list, or null if it is empty.
+   */
+  public T first()
+  {
+    return this.core.peekFirst();
+  } // first()
+
+  /**
+   * Get the largest value in the list, or null if it is empty.
+   */
+  public T last()
+  {
+    return this.core.peekLast();
+  } // last()
+
+  /**
+   * Remove and return the smallest value, or return null if the list
+   * is empty.
+   */
+  public T pollFirst()
+  {
+    return this.core.pollFirst();
+  } // pollFirst()
+
+  /**
+   * Remove and return the largest value, or return null if the list
+   * is empty.
+   */
+  public T pollLast()
+  {
+    return this.core.pollLast();
+  } // pollLast()
 } // class SortedArrayList<T>
@@ -1,6 +1,11 @@
 package taojava.util;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Sorted lists - dynamic collections that support insertion, removal,
@@ -16,7 +21,244 @@ public interface SortedList<T extends Comparable<T>>
    * from smallest to largest.
    */
   public Iterator<T> iterator();
-  
+
+  /**
+   * Return an iterator that visits the elements of the list that are
+   * greater than or equal to lo, from smallest to largest.  If lo is
+   * null, visits every element.
+   *
+   * The default skips over the smaller elements one by one;
+   * implementations that can find lo quickly should override it.
+   */
+  public default Iterator<T> iterator(T lo)
+  {
+    return new RangeIterator<T>(this.iterator(), lo, true, null, false);
+  } // iterator(T)
+
+  /**
+   * Get the elements of the list between lo and hi, from smallest to
+   * largest.  Each bound may be inclusive or exclusive; a null bound
+   * means no bound.  The result is a view: iterating it sees the
+   * elements in the list at the time.  Its iterators do not support
+   * remove.
+   */
+  public default Iterable<T> subList(final T lo, final boolean loInclusive,
+                                     final T hi, final boolean hiInclusive)
+  {
+    return new Iterable<T>()
+      {
+        public Iterator<T> iterator()
+        {
+          return new RangeIterator<T>(SortedList.this.iterator(lo), lo,
+                                      loInclusive, hi, hiInclusive);
+        } // iterator()
+      }; // new Iterable<T>
+  } // subList(T, boolean, T, boolean)
+
+  /**
+   * Get the elements of the list that are at least lo and less than
+   * hi, from smallest to largest.
+   */
+  public default Iterable<T> subList(T lo, T hi)
+  {
+    return this.subList(lo, true, hi, false);
+  } // subList(T, T)
+
+  /**
+   * Get the smallest element, or null if the list is empty.
+   */
+  public default T first()
+  {
+    Iterator<T> it = this.iterator();
+    return it.hasNext() ? it.next() : null;
+  } // first()
+
+  /**
+   * Get the largest element, or null if the list is empty.
+   */
+  public default T last()
+  {
+    T last = null;
+    for (T val : this)
+      last = val;
+    return last;
+  } // last()
+
+  /**
+   * Get the largest element less than or equal to val, or null if
+   * there is none.
+   */
+  public default T floor(T val)
+  {
+    T floor = null;
+    for (T lav : this)
+      {
+        if (lav.compareTo(val) > 0)
+          break;
+        floor = lav;
+      } // for
+    return floor;
+  } // floor(T)
+
+  /**
+   * Get the largest element strictly less than val, or null if there
+   * is none.
+   */
+  public default T lower(T val)
+  {
+    T lower = null;
+    for (T lav : this)
+      {
+        if (lav.compareTo(val) >= 0)
+          break;
+        lower = lav;
+      } // for
+    return lower;
+  } // lower(T)
+
+  /**
+   * Get the smallest element greater than or equal to val, or null if
+   * there is none.
+   */
+  public default T ceiling(T val)
+  {
+    Iterator<T> it = this.iterator(val);
+    return it.hasNext() ? it.next() : null;
+  } // ceiling(T)
+
+  /**
+   * Get the smallest element strictly greater than val, or null if
+   * there is none.
+   */
+  public default T higher(T val)
+  {
+    Iterator<T> it = this.iterator(val);
+    while (it.hasNext())
+      {
+        T lav = it.next();
+        if (lav.compareTo(val) > 0)
+          return lav;
+      } // while
+    return null;
+  } // higher(T)
+
+  /**
+   * Remove and return the smallest element, or return null if the
+   * list is empty.
+   */
+  public default T pollFirst()
+  {
+    T first = this.first();
+    if (first != null)
+      this.remove(first);
+    return first;
+  } // pollFirst()
+
+  /**
+   * Remove and return the largest element, or return null if the list
+   * is empty.
+   */
+  public default T pollLast()
+  {
+    T last = this.last();
+    if (last != null)
+      this.remove(last);
+    return last;
+  } // pollLast()
+
+  /**
+   * Get the number of elements strictly less than val.  If val is in
+   * the list, that is its index.
+   */
+  public default int rank(T val)
+  {
+    int rank = 0;
+    for (T lav : this)
+      {
+        if (lav.compareTo(val) >= 0)
+          break;
+        rank++;
+      } // for
+    return rank;
+  } // rank(T)
+
+  /**
+   * Get the number of elements that are at least lo and less than hi.
+   */
+  public default int count(T lo, T hi)
+  {
+    int count = 0;
+    for (T val : this.subList(lo, hi))
+      count++;
+    return count;
+  } // count(T, T)
+
+  /**
+   * Remove every element that satisfies filter.  Returns true if any
+   * were removed.  The default removes through the iterator, one at a
+   * time; implementations should override it with a single pass.
+   */
+  public default boolean removeIf(Predicate<? super T> filter)
+  {
+    boolean removed = false;
+    Iterator<T> it = this.iterator();
+    while (it.hasNext())
+      {
+        if (filter.test(it.next()))
+          {
+            it.remove();
+            removed = true;
+          } // if
+      } // while
+    return removed;
+  } // removeIf(Predicate<? super T>)
+
+  /**
+   * Remove every element that is at least lo and less than hi (a null
+   * bound means no bound), and return the number removed.
+   */
+  public default int removeRange(T lo, T hi)
+  {
+    int before = this.length();
+    this.removeIf((val) -> ((lo == null) || (val.compareTo(lo) >= 0))
+                           && ((hi == null) || (val.compareTo(hi) < 0)));
+    return before - this.length();
+  } // removeRange(T, T)
+
+  /**
+   * Get a spliterator over the elements, from smallest to largest.  It
+   * reports SORTED, DISTINCT, ORDERED, SIZED, and NONNULL.
+   *
+   * The default splits by copying runs of the iterator into arrays;
+   * implementations that can find a middle element quickly should
+   * override it.
+   */
+  public default Spliterator<T> spliterator()
+  {
+    return new SortedSpliterator<T>(Spliterators.spliterator(this.iterator(),
+                                                             this.length(),
+                                                             0),
+                                    Spliterator.DISTINCT
+                                        | Spliterator.NONNULL);
+  } // spliterator()
+
+  /**
+   * Get a sequential stream of the elements, from smallest to largest.
+   */
+  public default Stream<T> stream()
+  {
+    return StreamSupport.stream(this.spliterator(), false);
+  } // stream()
+
+  /**
+   * Get a parallel stream of the elements.  How well it parallelizes
+   * depends on how well the spliterator splits.
+   */
+  public default Stream<T> parallelStream()
+  {
+    return StreamSupport.stream(this.spliterator(), true);
+  } // parallelStream()
+
   /**
    * Add an element.  It is up to the implementer whether or not the
    * list can have more than one copy of the same value.
@@ -0,0 +1,104 @@
+package taojava.util;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterators over the values of a sorted list.  Wraps another
+ * spliterator (which does the traversal and the splitting) and adds
+ * the SORTED characteristic, along with any others the list can
+ * promise, to it and to the pieces it splits into.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+class SortedSpliterator<T>
+    implements Spliterator<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The underlying spliterator.
+   */
+  Spliterator<T> base;
+
+  /**
+   * The characteristics we add to those of base.
+   */
+  int extra;
+
+  /**
+   * The order of the values, or null for their natural order.
+   */
+  Comparator<? super T> order;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a spliterator that reports the characteristics of base,
+   * plus SORTED, ORDERED, and extra.
+   */
+  SortedSpliterator(Spliterator<T> base, int extra)
+  {
+    this(base, extra, null);
+  } // SortedSpliterator(Spliterator<T>, int)
+
+  /**
+   * Create a spliterator like the one above, whose values are in the
+   * order given by order (null for their natural order).
+   */
+  SortedSpliterator(Spliterator<T> base, int extra,
+                    Comparator<? super T> order)
+  {
+    this.base = base;
+    this.extra = extra | Spliterator.SORTED | Spliterator.ORDERED;
+    this.order = order;
+  } // SortedSpliterator(Spliterator<T>, int, Comparator<? super T>)
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  public boolean tryAdvance(Consumer<? super T> action)
+  {
+    return this.base.tryAdvance(action);
+  } // tryAdvance(Consumer<? super T>)
+
+  public void forEachRemaining(Consumer<? super T> action)
+  {
+    this.base.forEachRemaining(action);
+  } // forEachRemaining(Consumer<? super T>)
+
+  public Spliterator<T> trySplit()
+  {
+    Spliterator<T> prefix = this.base.trySplit();
+    if (prefix == null)
+      return null;
+    return new SortedSpliterator<T>(prefix, this.extra, this.order);
+  } // trySplit()
+
+  public long estimateSize()
+  {
+    return this.base.estimateSize();
+  } // estimateSize()
+
+  public int characteristics()
+  {
+    return this.base.characteristics() | this.extra;
+  } // characteristics()
+
+  /**
+   * Get the comparator for the order of the values (null for their
+   * natural order).
+   */
+  public Comparator<? super T> getComparator()
+  {
+    return this.order;
+  } // getComparator()
+} // class SortedSpliterator<T>
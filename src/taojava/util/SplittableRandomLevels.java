@@ -0,0 +1,70 @@
+package taojava.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Levels drawn from a per-list SplittableRandom.  Given the same seed,
+ * the same sequence of calls produces the same levels, so skip lists
+ * built the same way have the same shape.  Not safe for use by more
+ * than one thread at a time.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class SplittableRandomLevels
+    implements LevelGenerator
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The probability of moving up a level.
+   */
+  double probability;
+
+  /**
+   * The source of randomness.
+   */
+  SplittableRandom random;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a generator with an unpredictable seed.
+   */
+  public SplittableRandomLevels(double probability)
+  {
+    this.probability = probability;
+    this.random = new SplittableRandom();
+  } // SplittableRandomLevels(double)
+
+  /**
+   * Create a generator with a fixed seed.
+   */
+  public SplittableRandomLevels(double probability, long seed)
+  {
+    this.probability = probability;
+    this.random = new SplittableRandom(seed);
+  } // SplittableRandomLevels(double, long)
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Generate a random level between 1 and max (inclusive).
+   */
+  public int randomLevel(int max)
+  {
+    int level = 1;
+    while ((level < max) && (this.random.nextDouble() < this.probability))
+      {
+        level++;
+      } // while
+    return level;
+  } // randomLevel(int)
+} // class SplittableRandomLevels
@@ -0,0 +1,55 @@
+package taojava.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Levels drawn from the calling thread's ThreadLocalRandom.  Safe to
+ * share among threads, since they never contend for a seed, but not
+ * reproducible.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class ThreadLocalRandomLevels
+    implements LevelGenerator
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The probability of moving up a level.
+   */
+  double probability;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a generator.
+   */
+  public ThreadLocalRandomLevels(double probability)
+  {
+    this.probability = probability;
+  } // ThreadLocalRandomLevels(double)
+
+  // +---------+---------------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Generate a random level between 1 and max (inclusive).
+   */
+  public int randomLevel(int max)
+  {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int level = 1;
+    while ((level < max) && (random.nextDouble() < this.probability))
+      {
+        level++;
+      } // while
+    return level;
+  } // randomLevel(int)
+} // class ThreadLocalRandomLevels
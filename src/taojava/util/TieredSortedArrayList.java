@@ -0,0 +1,482 @@
+package taojava.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+// Citation: Goodrich and Kloss, "Tiered Vectors: Efficient Dynamic
+//   Arrays for Rank-Based Sequences" (WADS 1999).
+
+/**
+ * Sorted lists implemented with tiered vectors.  The values sit in
+ * tiers of c slots each, where c is a power of two near the square
+ * root of the length.  Every tier but the last is full, and each is a
+ * circular buffer, so the ith value is at offset i mod c of tier i / c
+ * (counted from the start of that tier) and get takes O(1) steps.
+ *
+ * To add a value, we shift the rest of its tier over by one, which
+ * pushes the last value of the tier out.  That value goes on the
+ * front of the next tier, which pushes its last value out, and so
+ * on.  Since the tiers are circular, pushing a value on the front of a
+ * full tier and taking one off the back just moves the start of the
+ * tier back a slot.  So add takes O(c) steps in its own tier and O(1)
+ * in each later tier, or O(sqrt n) in all, rather than the O(n) of
+ * SortedArrayList.  remove works the same way in reverse.  Searches
+ * are binary searches, as in SortedArrayList.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class TieredSortedArrayList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +-----------+-------------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The smallest number of slots in a tier.
+   */
+  static final int MIN_TIER = 16;
+
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * The tiers.  Tiers past the last one in use are null.
+   */
+  Object[][] tiers;
+
+  /**
+   * The slot of the first value of each tier.
+   */
+  int[] starts;
+
+  /**
+   * The number of slots in each tier, a power of two.
+   */
+  int tierSize;
+
+  /**
+   * log2(tierSize).
+   */
+  int shift;
+
+  /**
+   * tierSize - 1.
+   */
+  int mask;
+
+  /**
+   * The number of values in the list.
+   */
+  int size;
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new sorted list.
+   */
+  public TieredSortedArrayList()
+  {
+    this.size = 0;
+    this.rebuild(MIN_TIER);
+  } // TieredSortedArrayList()
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Lay the values out again in tiers of tierSize slots.
+   */
+  void rebuild(int tierSize)
+  {
+    Object[] vals = new Object[this.size];
+    for (int i = 0; i < this.size; i++)
+      vals[i] = this.get(i);
+    this.layOut(vals, tierSize);
+  } // rebuild(int)
+
+  /**
+   * Lay out the first size values of vals in tiers of tierSize slots.
+   */
+  void layOut(Object[] vals, int tierSize)
+  {
+    this.tierSize = tierSize;
+    this.shift = Integer.numberOfTrailingZeros(tierSize);
+    this.mask = tierSize - 1;
+    int count = Math.max(2, 2 * (this.size >>> this.shift) + 1);
+    this.tiers = new Object[count][];
+    this.starts = new int[count];
+    for (int t = 0; t <= (this.size - 1) >> this.shift; t++)
+      {
+        this.tiers[t] = new Object[tierSize];
+        int length = Math.min(tierSize, this.size - (t << this.shift));
+        System.arraycopy(vals, t << this.shift, this.tiers[t], 0, length);
+      } // for
+  } // layOut(Object[], int)
+
+  /**
+   * Get the slot of index i of the list in its tier.
+   */
+  int slot(int i)
+  {
+    return (this.starts[i >>> this.shift] + i) & this.mask;
+  } // slot(int)
+
+  /**
+   * Determine if val appears at the given index.
+   */
+  boolean valAppearsAt(T val, int index)
+  {
+    return (index < this.size) && (val.compareTo(this.get(index)) == 0);
+  } // valAppearsAt(T, int)
+
+  /**
+   * Find the index of val.  If val is not in the list, returns the
+   * index of where val should go (either the index of the first value
+   * greater than val, if there is such an index, or length, if there
+   * is no such index).
+   */
+  int findIndex(T val)
+  {
+    int lb = 0;
+    int ub = this.size;
+    while (lb < ub)
+      {
+        int mid = (lb + ub) >>> 1;
+        int order = val.compareTo(this.get(mid));
+        if (order == 0)
+          return mid;
+        else if (order > 0)
+          lb = mid + 1;
+        else
+          ub = mid;
+      } // while
+    return lb;
+  } // findIndex(T)
+
+  /**
+   * Put val at the given index, moving the later values up one.
+   */
+  void insertAt(int index, T val)
+  {
+    if (this.size >= 2 * this.tierSize * this.tierSize)
+      this.rebuild(2 * this.tierSize);
+    int last = this.size >>> this.shift;
+    if (last == this.tiers.length)
+      {
+        int count = 2 * this.tiers.length;
+        this.tiers = Arrays.copyOf(this.tiers, count);
+        this.starts = Arrays.copyOf(this.starts, count);
+      } // if we need room for more tiers
+    if (this.tiers[last] == null)
+      {
+        this.tiers[last] = new Object[this.tierSize];
+        this.starts[last] = 0;
+      } // if the last tier is new
+
+    // Shift the rest of the first tier up, keeping the value that
+    // falls off the end.
+    int t = index >>> this.shift;
+    Object[] tier = this.tiers[t];
+    int start = this.starts[t];
+    int end = (t == last) ? (this.size & this.mask) : this.mask;
+    Object carry = tier[(start + end) & this.mask];
+    for (int k = end; k > (index & this.mask); k--)
+      tier[(start + k) & this.mask] = tier[(start + k - 1) & this.mask];
+    tier[(start + index) & this.mask] = val;
+
+    // Push each carry on the front of the next tier.  A full tier's
+    // last slot is just before its first, so the new first value
+    // takes the place of the last one, which we carry on.
+    for (int u = t + 1; u <= last; u++)
+      {
+        int front = (this.starts[u] - 1) & this.mask;
+        Object next = this.tiers[u][front];
+        this.tiers[u][front] = carry;
+        this.starts[u] = front;
+        carry = next;
+      } // for
+    this.size++;
+  } // insertAt(int, T)
+
+  /**
+   * Remove the value at the given index, moving the later values down
+   * one.
+   */
+  void removeAt(int index)
+  {
+    int last = (this.size - 1) >>> this.shift;
+
+    // Shift the rest of the first tier down.
+    int t = index >>> this.shift;
+    Object[] tier = this.tiers[t];
+    int start = this.starts[t];
+    int end = (t == last) ? ((this.size - 1) & this.mask) : this.mask;
+    for (int k = index & this.mask; k < end; k++)
+      tier[(start + k) & this.mask] = tier[(start + k + 1) & this.mask];
+    tier[(start + end) & this.mask] = null;
+
+    // Fill the last slot of each tier with the first value of the
+    // next one.
+    for (int u = t + 1; u <= last; u++)
+      {
+        Object[] prev = this.tiers[u - 1];
+        prev[(this.starts[u - 1] + this.mask) & this.mask] =
+            this.tiers[u][this.starts[u]];
+        this.tiers[u][this.starts[u]] = null;
+        this.starts[u] = (this.starts[u] + 1) & this.mask;
+      } // for
+    this.size--;
+    if ((this.size & this.mask) == 0)
+      this.tiers[last] = null;
+    if ((this.tierSize > MIN_TIER)
+        && (8 * this.size < this.tierSize * this.tierSize))
+      this.rebuild(this.tierSize / 2);
+  } // removeAt(int)
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return this.iteratorAt(0);
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values of the list that
+   * are greater than or equal to lo, from smallest to largest.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    return this.iteratorAt((lo == null) ? 0 : this.findIndex(lo));
+  } // iterator(T)
+
+  /**
+   * Return an iterator that starts at the given index.
+   */
+  Iterator<T> iteratorAt(final int index)
+  {
+    return new Iterator<T>()
+      {
+        // The index of the next value.
+        int i = index;
+
+        // Whether we may remove the value before i.
+        boolean removable = false;
+
+        public boolean hasNext()
+        {
+          return this.i < TieredSortedArrayList.this.size;
+        } // hasNext()
+
+        public T next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          this.removable = true;
+          return TieredSortedArrayList.this.get(this.i++);
+        } // next()
+
+        public void remove()
+        {
+          if (!this.removable)
+            throw new IllegalStateException();
+          TieredSortedArrayList.this.removeAt(--this.i);
+          this.removable = false;
+        } // remove()
+      }; // new Iterator<T>
+  } // iteratorAt(int)
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to add, contains(lav) continues to hold.
+   */
+  public void add(T val)
+  {
+    int index = this.findIndex(val);
+    if (!this.valAppearsAt(val, index))
+      this.insertAt(index, val);
+  } // add(T)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(T val)
+  {
+    return this.valAppearsAt(val, this.findIndex(val));
+  } // contains(T)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to remove, contains(lav) continues to hold.
+   */
+  public void remove(T val)
+  {
+    int index = this.findIndex(val);
+    if (this.valAppearsAt(val, index))
+      this.removeAt(index);
+  } // remove(T)
+
+  /**
+   * Remove every value that satisfies filter.  We copy the survivors
+   * out in one pass and lay them out in new tiers, rather than closing
+   * each gap on its own.  Returns true if any were removed.
+   */
+  public boolean removeIf(Predicate<? super T> filter)
+  {
+    Object[] kept = new Object[this.size];
+    int count = 0;
+    for (int i = 0; i < this.size; i++)
+      {
+        T val = this.get(i);
+        if (!filter.test(val))
+          kept[count++] = val;
+      } // for
+    if (count == this.size)
+      return false;
+    int tierSize = MIN_TIER;
+    while (2 * tierSize * tierSize <= count)
+      tierSize *= 2;
+    this.size = count;
+    this.layOut(kept, tierSize);
+    return true;
+  } // removeIf(Predicate<? super T>)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+    return (T) this.tiers[i >>> this.shift][this.slot(i)];
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+
+  // +-------------------+-----------------------------------------------
+  // | Neighbour Queries |
+  // +-------------------+
+
+  /**
+   * Get the value at index, or null if the index is out of range.
+   */
+  T valAt(int index)
+  {
+    if ((index < 0) || (index >= this.size))
+      return null;
+    return this.get(index);
+  } // valAt(int)
+
+  /**
+   * Get the smallest value in the list, or null if it is empty.
+   */
+  public T first()
+  {
+    return this.valAt(0);
+  } // first()
+
+  /**
+   * Get the largest value in the list, or null if it is empty.
+   */
+  public T last()
+  {
+    return this.valAt(this.size - 1);
+  } // last()
+
+  /**
+   * Get the largest value less than or equal to val, or null if there
+   * is none.
+   */
+  public T floor(T val)
+  {
+    int index = this.findIndex(val);
+    return this.valAt(this.valAppearsAt(val, index) ? index : index - 1);
+  } // floor(T)
+
+  /**
+   * Get the largest value strictly less than val, or null if there is
+   * none.
+   */
+  public T lower(T val)
+  {
+    return this.valAt(this.findIndex(val) - 1);
+  } // lower(T)
+
+  /**
+   * Get the smallest value greater than or equal to val, or null if
+   * there is none.
+   */
+  public T ceiling(T val)
+  {
+    return this.valAt(this.findIndex(val));
+  } // ceiling(T)
+
+  /**
+   * Get the smallest value strictly greater than val, or null if there
+   * is none.
+   */
+  public T higher(T val)
+  {
+    int index = this.findIndex(val);
+    return this.valAt(this.valAppearsAt(val, index) ? index + 1 : index);
+  } // higher(T)
+
+  // +--------------+----------------------------------------------------
+  // | Rank Queries |
+  // +--------------+
+
+  /**
+   * Get the number of values strictly less than val.
+   */
+  public int rank(T val)
+  {
+    return this.findIndex(val);
+  } // rank(T)
+
+  /**
+   * Get the number of values that are at least lo and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.findIndex(hi) - this.findIndex(lo));
+  } // count(T, T)
+} // class TieredSortedArrayList<T>
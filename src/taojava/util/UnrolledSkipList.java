@@ -0,0 +1,642 @@
+package taojava.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unrolled skip lists.  Each node is a block that holds a short sorted
+ * array of values, and the skip levels link only the blocks, keyed by
+ * their first values.  A scan of the bottom level reads values from
+ * consecutive array slots rather than chasing one node per value, and
+ * the links and level arrays cost one block's worth of space rather
+ * than one node's worth per value.
+ *
+ * A block that fills up splits in half.  A block that falls below a
+ * quarter full merges with the next block, or borrows values from it
+ * if the two would not fit in three quarters of a block, so every
+ * block but the last stays at least a quarter full.  As in
+ * IndexedSkipList, each link records its width (here, the number of
+ * values from the start of its block to the start of the block it
+ * leads to, or to the end of the list), so get and rank descend the
+ * levels too.
+ *
+ * @author Samuel A. Rebelsky
+ * @author Ameer Shujjah
+ * @author Yazan Kittaneh
+ */
+public class UnrolledSkipList<T extends Comparable<T>>
+    implements SortedList<T>
+{
+  // +--------+----------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /**
+   * Head of the list.  The head has every level and never holds any
+   * values.
+   */
+  Block<T> head;
+
+  /**
+   * The most values a block may hold.
+   */
+  int blockSize;
+
+  /**
+   * The maximum number of levels a block may have.
+   */
+  int maxLevel;
+
+  /**
+   * The number of values in the list.
+   */
+  int size;
+
+  /**
+   * The source of random levels.
+   */
+  LevelGenerator levels;
+
+  // +------------------+------------------------------------------------
+  // | Internal Classes |
+  // +------------------+
+
+  /**
+   * Blocks of values.
+   */
+  static class Block<T>
+  {
+    // +--------+--------------------------------------------------------
+    // | Fields |
+    // +--------+
+
+    /**
+     * The values, in order, in vals[0] .. vals[count-1].
+     */
+    Object[] vals;
+
+    /**
+     * The number of values in the block.
+     */
+    int count;
+
+    /**
+     * The links at each level of the block.
+     */
+    Block<T>[] next;
+
+    /**
+     * The number of values between the start of this block and the
+     * start of the block each link leads to (or the end of the list,
+     * if the link is null).
+     */
+    int[] width;
+
+    // +--------------+--------------------------------------------------
+    // | Constructors |
+    // +--------------+
+
+    /**
+     * Construct an empty block with room for size values and the
+     * given number of levels.
+     */
+    Block(int size, int levels)
+    {
+      this.vals = new Object[size];
+      this.count = 0;
+      this.next = blockArray(levels);
+      this.width = new int[levels];
+    } // Block(int, int)
+
+    // +---------+-------------------------------------------------------
+    // | Methods |
+    // +---------+
+
+    /**
+     * Get the value at index i of the block.
+     */
+    @SuppressWarnings("unchecked")
+    T val(int i)
+    {
+      return (T) this.vals[i];
+    } // val(int)
+  } // class Block<T>
+
+  // +--------------+----------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an empty list with blocks of 32 values.
+   */
+  public UnrolledSkipList()
+  {
+    this(32);
+  } // UnrolledSkipList()
+
+  /**
+   * Create an empty list with blocks of up to blockSize values.
+   *
+   * @throws IllegalArgumentException
+   *   if blockSize is less than 4
+   */
+  public UnrolledSkipList(int blockSize)
+  {
+    this(blockSize, 20, new GeometricLevels(.5));
+  } // UnrolledSkipList(int)
+
+  /**
+   * Create an empty list with blocks of up to blockSize values and up
+   * to maxLevel levels, whose blocks get their levels from the given
+   * generator.
+   *
+   * @throws IllegalArgumentException
+   *   if blockSize is less than 4
+   */
+  public UnrolledSkipList(int blockSize, int maxLevel, LevelGenerator levels)
+  {
+    if (blockSize < 4)
+      throw new IllegalArgumentException("blocks must hold at least 4 values");
+    this.blockSize = blockSize;
+    this.maxLevel = maxLevel;
+    this.head = new Block<T>(0, maxLevel);
+    this.size = 0;
+    this.levels = levels;
+  } // UnrolledSkipList(int, int, LevelGenerator)
+
+  // +-------------------------+-----------------------------------------
+  // | Internal Helper Methods |
+  // +-------------------------+
+
+  /**
+   * Make an array of n blocks, all null.  This is the one place we
+   * make a raw array of blocks.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static <T> Block<T>[] blockArray(int n)
+  {
+    return new Block[n];
+  } // blockArray(int)
+
+  /**
+   * Create a block with a random number of levels.
+   */
+  Block<T> newBlock()
+  {
+    return new Block<T>(this.blockSize,
+                        this.levels.randomLevel(this.maxLevel));
+  } // newBlock()
+
+  /**
+   * Find the index of the first value in block that is at least val
+   * (or block.count, if there is none).
+   */
+  static <T extends Comparable<T>> int search(Block<T> block, T val)
+  {
+    int lb = 0;
+    int ub = block.count;
+    while (lb < ub)
+      {
+        int mid = (lb + ub) >>> 1;
+        if (val.compareTo(block.val(mid)) > 0)
+          lb = mid + 1;
+        else
+          ub = mid;
+      } // while
+    return lb;
+  } // search(Block<T>, T)
+
+  /**
+   * Find the last block whose first value is at most val, or the head
+   * if there is none.
+   */
+  Block<T> findBlock(T val)
+  {
+    Block<T> current = this.head;
+    for (int l = this.maxLevel - 1; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (val.compareTo(current.next[l].val(0)) >= 0))
+          current = current.next[l];
+      } // for
+    return current;
+  } // findBlock(T)
+
+  /**
+   * Find, at each level, the last block whose first value is at most
+   * val (if inclusive) or less than val (if not).  Fills in update
+   * with those blocks and pos with the positions of their first
+   * values, and returns the block found at level 0.
+   */
+  Block<T> findPredecessors(T val, Block<T>[] update, int[] pos,
+                            boolean inclusive)
+  {
+    int stop = inclusive ? 0 : 1;
+    Block<T> current = this.head;
+    int p = 0;
+    for (int l = this.maxLevel - 1; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (val.compareTo(current.next[l].val(0)) >= stop))
+          {
+            p += current.width[l];
+            current = current.next[l];
+          } // while
+        update[l] = current;
+        pos[l] = p;
+      } // for
+    return current;
+  } // findPredecessors(T, Block<T>[], int[], boolean)
+
+  /**
+   * Link block in after the blocks in update, whose first values are
+   * at the positions in pos.  The first value of block will be at
+   * position start.  Does not change the number of values.
+   */
+  void link(Block<T> block, Block<T>[] update, int[] pos, int start)
+  {
+    for (int l = 0; l < block.next.length; l++)
+      {
+        block.next[l] = update[l].next[l];
+        block.width[l] = pos[l] + update[l].width[l] - start;
+        update[l].next[l] = block;
+        update[l].width[l] = start - pos[l];
+      } // for
+  } // link(Block<T>, Block<T>[], int[], int)
+
+  /**
+   * Unlink block, whose predecessors are in update.  Its values must
+   * already be gone (or have moved to the block before it).
+   */
+  void unlink(Block<T> block, Block<T>[] update)
+  {
+    for (int l = 0; l < block.next.length; l++)
+      {
+        update[l].width[l] += block.width[l];
+        update[l].next[l] = block.next[l];
+      } // for
+  } // unlink(Block<T>, Block<T>[])
+
+  /**
+   * Refill block if it has fallen below a quarter full, by merging the
+   * next block into it or by borrowing values from the next block.
+   */
+  void refill(Block<T> block)
+  {
+    Block<T> next = block.next[0];
+    if ((4 * block.count >= this.blockSize) || (next == null))
+      return;
+    Block<T>[] update = blockArray(this.maxLevel);
+    int[] pos = new int[this.maxLevel];
+    this.findPredecessors(next.val(0), update, pos, false);
+    if (4 * (block.count + next.count) <= 3 * this.blockSize)
+      {
+        System.arraycopy(next.vals, 0, block.vals, block.count, next.count);
+        block.count += next.count;
+        this.unlink(next, update);
+      } // if the blocks fit in one
+    else
+      {
+        int moved = (next.count - block.count) / 2;
+        System.arraycopy(next.vals, 0, block.vals, block.count, moved);
+        block.count += moved;
+        next.count -= moved;
+        System.arraycopy(next.vals, moved, next.vals, 0, next.count);
+        for (int i = next.count; i < next.count + moved; i++)
+          next.vals[i] = null;
+        for (int l = 0; l < next.next.length; l++)
+          {
+            update[l].width[l] += moved;
+            next.width[l] -= moved;
+          } // for
+      } // if we borrow from the next block
+  } // refill(Block<T>)
+
+  // +-----------------------+-------------------------------------------
+  // | Methods from Iterable |
+  // +-----------------------+
+
+  /**
+   * Return an iterator that steps through the values of the list from
+   * smallest to largest.
+   */
+  public Iterator<T> iterator()
+  {
+    return this.iteratorAt(this.head, 0);
+  } // iterator()
+
+  /**
+   * Return an iterator that steps through the values of the list that
+   * are greater than or equal to lo, from smallest to largest.
+   */
+  public Iterator<T> iterator(T lo)
+  {
+    if (lo == null)
+      return this.iterator();
+    Block<T> block = this.findBlock(lo);
+    return this.iteratorAt(block, search(block, lo));
+  } // iterator(T)
+
+  /**
+   * Return an iterator whose first value is at index i of block (or
+   * in the blocks after it).  Since remove may move values between
+   * blocks, the iterator's remove finds its place again afterwards.
+   */
+  Iterator<T> iteratorAt(final Block<T> start, final int i)
+  {
+    return new Iterator<T>()
+      {
+        // The block of the next value.
+        Block<T> block = start;
+
+        // The index of the next value in block.
+        int index = i;
+
+        // The value we most recently returned.
+        T current = null;
+
+        public boolean hasNext()
+        {
+          return (this.index < this.block.count)
+                 || (this.block.next[0] != null);
+        } // hasNext()
+
+        public T next()
+        {
+          if (!this.hasNext())
+            throw new NoSuchElementException();
+          if (this.index >= this.block.count)
+            {
+              this.block = this.block.next[0];
+              this.index = 0;
+            } // if we've finished the block
+          this.current = this.block.val(this.index++);
+          return this.current;
+        } // next()
+
+        public void remove()
+        {
+          if (this.current == null)
+            throw new IllegalStateException();
+          T following = null;
+          if (this.index < this.block.count)
+            following = this.block.val(this.index);
+          else if (this.block.next[0] != null)
+            following = this.block.next[0].val(0);
+          UnrolledSkipList.this.remove(this.current);
+          this.current = null;
+          if (following == null)
+            {
+              // The block was the last one, so nothing follows it.
+              this.index = this.block.count;
+            } // if we removed the last value
+          else
+            {
+              this.block = UnrolledSkipList.this.findBlock(following);
+              this.index = search(this.block, following);
+            } // if there are more values
+        } // remove()
+      }; // new Iterator<T>
+  } // iteratorAt(Block<T>, int)
+
+  // +------------------------+------------------------------------------
+  // | Methods from SimpleSet |
+  // +------------------------+
+
+  /**
+   * Add a value to the set.
+   *
+   * @post contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to add, contains(lav) continues to hold.
+   */
+  public void add(T val)
+  {
+    if (val == null)
+      return;
+
+    Block<T>[] update = blockArray(this.maxLevel);
+    int[] pos = new int[this.maxLevel];
+    Block<T> block = this.findPredecessors(val, update, pos, true);
+    if (block == this.head)
+      {
+        // Val goes at the very front, so in the first block, if there
+        // is one.
+        block = this.head.next[0];
+        if (block == null)
+          {
+            block = this.newBlock();
+            this.link(block, update, pos, 0);
+          } // if the list is empty
+        for (int l = 0; l < block.next.length; l++)
+          {
+            update[l] = block;
+            pos[l] = 0;
+          } // for
+      } // if val is smaller than every first value
+
+    int index = search(block, val);
+    if ((index < block.count) && (val.compareTo(block.val(index)) == 0))
+      return;
+
+    if (block.count == this.blockSize)
+      {
+        Block<T> upper = this.newBlock();
+        int half = this.blockSize / 2;
+        upper.count = this.blockSize - half;
+        System.arraycopy(block.vals, half, upper.vals, 0, upper.count);
+        for (int j = half; j < this.blockSize; j++)
+          block.vals[j] = null;
+        block.count = half;
+        int start = pos[0] + half;
+        this.link(upper, update, pos, start);
+        if (index > half)
+          {
+            block = upper;
+            index -= half;
+            for (int l = 0; l < upper.next.length; l++)
+              {
+                update[l] = upper;
+                pos[l] = start;
+              } // for
+          } // if val goes in the upper half
+      } // if the block is full
+
+    System.arraycopy(block.vals, index, block.vals, index + 1,
+                     block.count - index);
+    block.vals[index] = val;
+    block.count++;
+    for (int l = 0; l < this.maxLevel; l++)
+      update[l].width[l]++;
+    this.size++;
+  } // add(T)
+
+  /**
+   * Determine if the set contains a particular value.
+   */
+  public boolean contains(T val)
+  {
+    if (val == null)
+      return false;
+    Block<T> block = this.findBlock(val);
+    int index = search(block, val);
+    return (index < block.count) && (val.compareTo(block.val(index)) == 0);
+  } // contains(T)
+
+  /**
+   * Remove an element from the set.
+   *
+   * @post !contains(val)
+   * @post For all lav != val, if contains(lav) held before the call
+   *   to remove, contains(lav) continues to hold.
+   */
+  public void remove(T val)
+  {
+    if (val == null)
+      return;
+
+    Block<T>[] update = blockArray(this.maxLevel);
+    int[] pos = new int[this.maxLevel];
+    Block<T> block = this.findPredecessors(val, update, pos, true);
+    int index = search(block, val);
+    if ((index == block.count) || (val.compareTo(block.val(index)) != 0))
+      return;
+
+    // If we're about to empty the block, find the blocks before it
+    // while we can still search for its first value.
+    Block<T>[] before = null;
+    if (block.count == 1)
+      {
+        before = blockArray(this.maxLevel);
+        this.findPredecessors(val, before, pos, false);
+      } // if the block will be empty
+
+    block.count--;
+    System.arraycopy(block.vals, index + 1, block.vals, index,
+                     block.count - index);
+    block.vals[block.count] = null;
+    for (int l = 0; l < this.maxLevel; l++)
+      update[l].width[l]--;
+    this.size--;
+    if (before != null)
+      this.unlink(block, before);
+    else
+      this.refill(block);
+  } // remove(T)
+
+  // +--------------------------+----------------------------------------
+  // | Methods from SemiIndexed |
+  // +--------------------------+
+
+  /**
+   * Get the element at index i.
+   *
+   * @throws IndexOutOfBoundsException
+   *   if the index is out of range (index < 0 || index >= length)
+   */
+  public T get(int i)
+  {
+    if ((i < 0) || (i >= this.size))
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: "
+                                          + this.size);
+    Block<T> current = this.head;
+    int p = 0;
+    for (int l = this.maxLevel - 1; l >= 0; l--)
+      {
+        while ((current.next[l] != null) && (p + current.width[l] <= i))
+          {
+            p += current.width[l];
+            current = current.next[l];
+          } // while
+      } // for
+    return current.val(i - p);
+  } // get(int)
+
+  /**
+   * Determine the number of elements in the collection.
+   */
+  public int length()
+  {
+    return this.size;
+  } // length()
+
+  // +-------------------+-----------------------------------------------
+  // | Neighbour Queries |
+  // +-------------------+
+
+  /**
+   * Get the largest value in the list, or null if it is empty.
+   */
+  public T last()
+  {
+    return (this.size == 0) ? null : this.get(this.size - 1);
+  } // last()
+
+  /**
+   * Get the largest value less than or equal to val, or null if there
+   * is none.
+   */
+  public T floor(T val)
+  {
+    if (this.contains(val))
+      return val;
+    return this.lower(val);
+  } // floor(T)
+
+  /**
+   * Get the largest value strictly less than val, or null if there is
+   * none.
+   */
+  public T lower(T val)
+  {
+    int rank = this.rank(val);
+    return (rank == 0) ? null : this.get(rank - 1);
+  } // lower(T)
+
+  // +--------------+----------------------------------------------------
+  // | Rank Queries |
+  // +--------------+
+
+  /**
+   * Get the number of values strictly less than val.
+   */
+  public int rank(T val)
+  {
+    Block<T> current = this.head;
+    int p = 0;
+    for (int l = this.maxLevel - 1; l >= 0; l--)
+      {
+        while ((current.next[l] != null)
+               && (val.compareTo(current.next[l].val(0)) >= 0))
+          {
+            p += current.width[l];
+            current = current.next[l];
+          } // while
+      } // for
+    return p + search(current, val);
+  } // rank(T)
+
+  /**
+   * Get the number of values that are at least lo and less than hi.
+   */
+  public int count(T lo, T hi)
+  {
+    return Math.max(0, this.rank(hi) - this.rank(lo));
+  } // count(T, T)
+
+  // +---------------+---------------------------------------------------
+  // | Other Methods |
+  // +---------------+
+
+  /**
+   * Get the number of blocks.
+   */
+  public int blocks()
+  {
+    int blocks = 0;
+    for (Block<T> current = this.head.next[0]; current != null;
+         current = current.next[0])
+      blocks++;
+    return blocks;
+  } // blocks()
+} // class UnrolledSkipList<T>